@@ -4,11 +4,12 @@ import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
-import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.reactive.config.CorsRegistry;
@@ -16,6 +17,10 @@ import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.config.ResourceHandlerRegistry;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
 @Configuration
 @EnableWebFlux
 @EnableR2dbcRepositories(basePackages = "site.linkverse.back.repository")
@@ -26,6 +31,20 @@ public class AppConfig extends AbstractR2dbcConfiguration implements WebFluxConf
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * db/migration 아래의 스키마 스크립트 중 아직 실행하지 않은 스크립트를 파일명 순서대로 실행 (MigrationPopulator)
+     */
+    @Bean
+    public ConnectionFactoryInitializer schemaInitializer(ConnectionFactory connectionFactory) throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql");
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(connectionFactory);
+        initializer.setDatabasePopulator(new MigrationPopulator(scripts));
+        return initializer;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
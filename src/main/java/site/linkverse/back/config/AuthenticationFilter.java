@@ -9,7 +9,7 @@ import org.springframework.web.reactive.function.server.HandlerFunction;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
-import site.linkverse.back.repository.UserRepository;
+import site.linkverse.back.service.UserSummaryService;
 
 import java.util.Map;
 
@@ -18,7 +18,7 @@ import java.util.Map;
 public class AuthenticationFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
 
     @Override
     public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
@@ -32,7 +32,7 @@ public class AuthenticationFilter implements HandlerFilterFunction<ServerRespons
             String userIdStr = jwtUtil.extractUserId(token);
             Long userId = Long.parseLong(userIdStr);
 
-            return userRepository.findById(userId)
+            return userSummaryService.getUser(userId)
                     .flatMap(user -> {
                         // 인증된 사용자 정보를 request attributes에 추가
                         request.attributes().put("userId", userId);
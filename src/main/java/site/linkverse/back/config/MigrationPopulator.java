@@ -0,0 +1,51 @@
+package site.linkverse.back.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.r2dbc.connection.init.DatabasePopulator;
+import org.springframework.r2dbc.connection.init.ScriptUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+/**
+ * db/migration 스크립트 실행
+ *
+ * 실행한 스크립트 파일명을 schema_migrations 에 기록하고, 기록이 없는 스크립트만 주어진 순서대로 실행한다.
+ * 중복 제거 DELETE 처럼 테이블 전체를 훑는 스크립트가 기동할 때마다 다시 실행되지 않게 한다.
+ * (기록을 남기기 전부터 있던 DB 에서는 처음 한 번 모든 스크립트가 다시 실행되므로 스크립트는 계속 재실행 가능하게 작성한다)
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class MigrationPopulator implements DatabasePopulator {
+    private final Resource[] scripts;
+
+    @Override
+    public Mono<Void> populate(Connection connection) {
+        return execute(connection, "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                "script VARCHAR(255) NOT NULL PRIMARY KEY, " +
+                "applied_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP)")
+            .thenMany(Flux.from(connection.createStatement("SELECT script FROM schema_migrations").execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get("script", String.class))))
+            .collect(Collectors.toSet())
+            .flatMapMany(applied -> Flux.fromArray(scripts).filter(script -> !applied.contains(script.getFilename())))
+            .concatMap(script -> ScriptUtils.executeSqlScript(connection, script)
+                .then(Flux.from(connection.createStatement("INSERT INTO schema_migrations (script) VALUES (?)")
+                        .bind(0, script.getFilename())
+                        .execute())
+                    .flatMap(Result::getRowsUpdated)
+                    .then())
+                .doOnSuccess(done -> log.info("스키마 스크립트 실행: {}", script.getFilename())))
+            .then();
+    }
+
+    private static Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+            .flatMap(Result::getRowsUpdated)
+            .then();
+    }
+}
\ No newline at end of file
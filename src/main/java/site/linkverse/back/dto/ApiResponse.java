@@ -19,4 +19,6 @@ public class ApiResponse<T> {
     private Integer size;
     private Long totalElements;
     private Integer totalPages;
+    private String nextCursor;
+    private Long snapshot;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package site.linkverse.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import site.linkverse.back.enums.LikeTargetType;
+
+/**
+ * 좋아요/좋아요 취소 후 상태 (요청한 사용자의 좋아요 여부 + 대상의 좋아요 수)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeStateDto {
+    private Long targetId;
+    private LikeTargetType targetType;
+    private boolean liked;
+    private long likesCount;
+}
\ No newline at end of file
@@ -5,9 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import site.linkverse.back.enums.NotificationReferenceType;
 import site.linkverse.back.enums.NotificationType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -21,7 +23,10 @@ public class NotificationDto {
     private UserDto sender;
     private NotificationType notificationType;
     private Long referenceId;
+    private NotificationReferenceType referenceType;
     private String content;
+    private int actorCount;
+    private List<Long> recentActorIds;
     private boolean isRead;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
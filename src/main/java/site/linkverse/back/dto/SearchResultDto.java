@@ -0,0 +1,24 @@
+package site.linkverse.back.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 통합 검색 결과 (시간 안에 끝나지 않은 섹션은 null 이고 timedOut 에 섹션 이름이 들어간다)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchResultDto {
+    private List<UserDto> users;
+    private List<PostDto> posts;
+    private List<String> hashtags;
+    private List<String> timedOut;
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package site.linkverse.back.enums;
+
+public enum NotificationReferenceType {
+    POST, COMMENT, USER
+}
\ No newline at end of file
@@ -0,0 +1,352 @@
+package site.linkverse.back.graph;
+
+import java.util.Arrays;
+
+/**
+ * 정렬된 사용자 ID 집합 (변경하지 않는 값, with / without 은 새 목록을 돌려준다)
+ *
+ * PACK_THRESHOLD 개 미만은 long[] 그대로, 그 이상은 BLOCK_SIZE 개씩 묶어 블록 첫 ID 와 이후 ID 의 차이(varint)로 저장한다.
+ * - contains: 블록 첫 ID 를 이진 탐색한 뒤 블록 하나(최대 BLOCK_SIZE 개)만 풀어서 확인한다
+ * - 압축한 목록을 바꿀 때마다 다시 압축하지 않고 추가/삭제분을 작은 정렬 배열에 모았다가 MAX_OVERLAY 개가 넘으면 합친다
+ */
+public final class AdjacencyList {
+    static final int PACK_THRESHOLD = 256;
+    static final int BLOCK_SIZE = 128;
+    static final int MAX_OVERLAY = 64;
+
+    private static final long[] NO_IDS = new long[0];
+    public static final AdjacencyList EMPTY = new AdjacencyList(NO_IDS);
+
+    // 압축하지 않은 목록 (압축한 목록이면 null)
+    private final long[] ids;
+
+    // 압축한 목록: 블록 첫 ID, 블록의 data 시작 위치, 블록 첫 ID 이후 ID 들의 차이(varint), 압축한 ID 수
+    private final long[] blockFirsts;
+    private final int[] blockOffsets;
+    private final byte[] data;
+    private final int packedSize;
+    // 압축한 뒤 추가/삭제한 ID (정렬)
+    private final long[] added;
+    private final long[] removed;
+
+    private AdjacencyList(long[] ids) {
+        this.ids = ids;
+        this.blockFirsts = null;
+        this.blockOffsets = null;
+        this.data = null;
+        this.packedSize = 0;
+        this.added = NO_IDS;
+        this.removed = NO_IDS;
+    }
+
+    private AdjacencyList(long[] blockFirsts, int[] blockOffsets, byte[] data, int packedSize, long[] added, long[] removed) {
+        this.ids = null;
+        this.blockFirsts = blockFirsts;
+        this.blockOffsets = blockOffsets;
+        this.data = data;
+        this.packedSize = packedSize;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * @param sortedIds 오름차순, 중복 없음 (배열을 그대로 쓸 수 있으므로 호출한 쪽에서 바꾸지 않는다)
+     */
+    public static AdjacencyList of(long[] sortedIds) {
+        if (sortedIds.length == 0) {
+            return EMPTY;
+        }
+        if (sortedIds.length < PACK_THRESHOLD) {
+            return new AdjacencyList(sortedIds);
+        }
+        int blocks = (sortedIds.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] firsts = new long[blocks];
+        int[] offsets = new int[blocks];
+        byte[] buffer = new byte[sortedIds.length * 2];
+        int position = 0;
+        for (int block = 0; block < blocks; block++) {
+            int start = block * BLOCK_SIZE;
+            int end = Math.min(start + BLOCK_SIZE, sortedIds.length);
+            firsts[block] = sortedIds[start];
+            offsets[block] = position;
+            for (int i = start + 1; i < end; i++) {
+                if (buffer.length - position < 10) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                long delta = sortedIds[i] - sortedIds[i - 1];
+                while ((delta & ~0x7FL) != 0) {
+                    buffer[position++] = (byte) ((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                buffer[position++] = (byte) delta;
+            }
+        }
+        return new AdjacencyList(firsts, offsets, Arrays.copyOf(buffer, position), sortedIds.length, NO_IDS, NO_IDS);
+    }
+
+    public int size() {
+        return ids != null ? ids.length : packedSize + added.length - removed.length;
+    }
+
+    public boolean isPacked() {
+        return ids == null;
+    }
+
+    public boolean contains(long id) {
+        if (ids != null) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+        if (Arrays.binarySearch(added, id) >= 0) {
+            return true;
+        }
+        return packedContains(id) && Arrays.binarySearch(removed, id) < 0;
+    }
+
+    /**
+     * 오름차순 ID 배열 (압축한 목록은 풀어서 새로 만든다)
+     */
+    public long[] toArray() {
+        if (ids != null) {
+            return ids.clone();
+        }
+        long[] base = unpack();
+        if (added.length == 0 && removed.length == 0) {
+            return base;
+        }
+        long[] result = new long[size()];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < base.length || j < added.length) {
+            long next;
+            if (j == added.length || (i < base.length && base[i] < added[j])) {
+                next = base[i++];
+                if (Arrays.binarySearch(removed, next) >= 0) {
+                    continue;
+                }
+            } else {
+                next = added[j++];
+            }
+            result[k++] = next;
+        }
+        return result;
+    }
+
+    /**
+     * 오름차순으로 from 번째부터 to 번째 전까지 (압축한 목록은 필요한 블록만 푼다)
+     */
+    public long[] range(int from, int to) {
+        to = Math.min(to, size());
+        if (from >= to) {
+            return NO_IDS;
+        }
+        if (ids != null) {
+            return Arrays.copyOfRange(ids, from, to);
+        }
+        if (added.length > 0 || removed.length > 0) {
+            return Arrays.copyOfRange(toArray(), from, to);
+        }
+        long[] result = new long[to - from];
+        int block = from / BLOCK_SIZE;
+        int index = block * BLOCK_SIZE;
+        int position = blockOffsets[block];
+        long value = blockFirsts[block];
+        int count = 0;
+        while (true) {
+            if (index >= from) {
+                result[count++] = value;
+                if (count == result.length) {
+                    return result;
+                }
+            }
+            index++;
+            if (index % BLOCK_SIZE == 0) {
+                block++;
+                position = blockOffsets[block];
+                value = blockFirsts[block];
+                continue;
+            }
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+        }
+    }
+
+    public AdjacencyList with(long id) {
+        if (contains(id)) {
+            return this;
+        }
+        if (ids != null) {
+            return of(insert(ids, id));
+        }
+        int removedAt = Arrays.binarySearch(removed, id);
+        if (removedAt >= 0) {
+            return overlay(added, delete(removed, removedAt));
+        }
+        return overlay(insert(added, id), removed);
+    }
+
+    public AdjacencyList without(long id) {
+        if (!contains(id)) {
+            return this;
+        }
+        if (ids != null) {
+            return ids.length == 1 ? EMPTY : new AdjacencyList(delete(ids, Arrays.binarySearch(ids, id)));
+        }
+        int addedAt = Arrays.binarySearch(added, id);
+        if (addedAt >= 0) {
+            return overlay(delete(added, addedAt), removed);
+        }
+        return overlay(added, insert(removed, id));
+    }
+
+    /**
+     * candidates 중 목록에 있는 ID (candidates 순서 유지)
+     */
+    public long[] retain(long[] candidates) {
+        long[] result = new long[candidates.length];
+        int count = 0;
+        for (long candidate : candidates) {
+            if (contains(candidate)) {
+                result[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 두 목록의 교집합 (오름차순)
+     * 크기 차이가 크면 작은 쪽을 풀어서 큰 쪽에서 하나씩 찾고, 비슷하면 둘 다 풀어서 병합한다
+     */
+    public long[] intersect(AdjacencyList other) {
+        AdjacencyList small = size() <= other.size() ? this : other;
+        AdjacencyList large = small == this ? other : this;
+        if (small.size() == 0) {
+            return NO_IDS;
+        }
+        if ((long) small.size() * 32 < large.size()) {
+            return large.retain(small.toArray());
+        }
+        long[] a = small.toArray();
+        long[] b = large.toArray();
+        long[] result = new long[a.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 목록이 차지하는 대략적인 메모리 (객체/배열 헤더 포함, 바이트)
+     */
+    public long bytes() {
+        long bytes = 16 + 4 * 8;
+        if (ids != null) {
+            return bytes + arrayBytes(ids.length, 8);
+        }
+        return bytes + arrayBytes(blockFirsts.length, 8) + arrayBytes(blockOffsets.length, 4) + arrayBytes(data.length, 1)
+            + arrayBytes(added.length, 8) + arrayBytes(removed.length, 8);
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    private AdjacencyList overlay(long[] newAdded, long[] newRemoved) {
+        AdjacencyList result = new AdjacencyList(blockFirsts, blockOffsets, data, packedSize, newAdded, newRemoved);
+        if (newAdded.length + newRemoved.length > MAX_OVERLAY) {
+            return of(result.toArray());
+        }
+        // 크게 줄어든 목록은 압축하지 않은 배열로 바꾼다
+        if (result.size() < PACK_THRESHOLD / 2) {
+            return of(result.toArray());
+        }
+        return result;
+    }
+
+    private boolean packedContains(long id) {
+        int block = Arrays.binarySearch(blockFirsts, id);
+        if (block >= 0) {
+            return true;
+        }
+        block = -block - 2;
+        if (block < 0) {
+            return false;
+        }
+        int position = blockOffsets[block];
+        int end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : data.length;
+        long value = blockFirsts[block];
+        while (position < end) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            if (value >= id) {
+                return value == id;
+            }
+        }
+        return false;
+    }
+
+    private long[] unpack() {
+        long[] result = new long[packedSize];
+        int count = 0;
+        int position = 0;
+        for (int block = 0; block < blockFirsts.length; block++) {
+            int end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : data.length;
+            long value = blockFirsts[block];
+            result[count++] = value;
+            while (position < end) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                value += delta;
+                result[count++] = value;
+            }
+        }
+        return result;
+    }
+
+    private static long[] insert(long[] sorted, long id) {
+        int at = -Arrays.binarySearch(sorted, id) - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, at);
+        result[at] = id;
+        System.arraycopy(sorted, at, result, at + 1, sorted.length - at);
+        return result;
+    }
+
+    private static long[] delete(long[] sorted, int at) {
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, at);
+        System.arraycopy(sorted, at + 1, result, at, sorted.length - at - 1);
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package site.linkverse.back.graph;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 팔로우 관계 메모리 그래프
+ *
+ * 사용자별 팔로잉(정방향) / 팔로워(역방향) 목록을 AdjacencyList 로 들고 있다 (정렬된 long[], 큰 목록은 블록 단위로 압축).
+ * 기동 시 follows 를 팔로워 순, 팔로잉 순으로 한 번씩 읽어 만들고, 이후에는 FollowService 의 팔로우/언팔로우로 갱신한다.
+ * 로드가 끝나기 전(isReady() == false)에는 호출하는 쪽에서 DB 를 조회한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SocialGraph {
+    // 사용자 하나당 맵 항목에 드는 대략적인 메모리 (ConcurrentHashMap 노드 + Long 키)
+    private static final long ENTRY_BYTES = 48;
+
+    private final DatabaseClient databaseClient;
+    private final MeterRegistry meterRegistry;
+
+    // 목록은 바꾸지 않는 값이라 읽을 때는 잠그지 않는다. 변경은 this 로 동기화해 두 방향을 함께 바꾼다
+    private volatile Map<Long, AdjacencyList> following = new ConcurrentHashMap<>();
+    private volatile Map<Long, AdjacencyList> followers = new ConcurrentHashMap<>();
+    private final AtomicLong edges = new AtomicLong();
+    private volatile boolean ready = false;
+    // 로드 중에 들어온 변경 (로드 결과에 다시 적용한다)
+    private List<Change> changesDuringLoad = new ArrayList<>();
+
+    private record Change(long followerId, long followingId, boolean follow) {
+    }
+
+    private record Edge(long owner, long member) {
+    }
+
+    /**
+     * 메모리 사용량 (bytes 는 목록과 맵 항목의 추정치)
+     */
+    public record MemoryReport(int users, long edges, long packedLists, long bytes, double megabytesPerMillionEdges) {
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("social.graph.edges", edges, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("social.graph.users", this, graph -> graph.following.size()).register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Map<Long, AdjacencyList> loadedFollowing = new ConcurrentHashMap<>();
+        Map<Long, AdjacencyList> loadedFollowers = new ConcurrentHashMap<>();
+
+        load("SELECT follower_id AS owner, following_id AS member FROM follows ORDER BY follower_id, following_id", loadedFollowing)
+            .then(load("SELECT following_id AS owner, follower_id AS member FROM follows ORDER BY following_id, follower_id", loadedFollowers))
+            .doOnSuccess(ignored -> loaded(loadedFollowing, loadedFollowers))
+            .subscribe(null, error -> log.error("팔로우 그래프 로드 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 읽어 온 목록으로 바꾸고 로드 중에 들어온 변경을 다시 적용한다
+     */
+    void loaded(Map<Long, AdjacencyList> loadedFollowing, Map<Long, AdjacencyList> loadedFollowers) {
+        synchronized (this) {
+            following = loadedFollowing;
+            followers = loadedFollowers;
+            edges.set(loadedFollowing.values().stream().mapToLong(AdjacencyList::size).sum());
+            changesDuringLoad.forEach(this::apply);
+            changesDuringLoad = null;
+            ready = true;
+        }
+        MemoryReport report = memoryReport();
+        log.info("팔로우 그래프 로드 완료: 사용자 {}명, 관계 {}개, 약 {}MB (관계 100만 개당 {}MB)",
+            report.users(), report.edges(), report.bytes() / (1024 * 1024),
+            String.format("%.1f", report.megabytesPerMillionEdges()));
+    }
+
+    private Mono<Void> load(String sql, Map<Long, AdjacencyList> target) {
+        Grouper grouper = new Grouper(target);
+        return databaseClient.sql(sql)
+            .map((row, metadata) -> new Edge(row.get("owner", Long.class), row.get("member", Long.class)))
+            .all()
+            .doOnNext(grouper::accept)
+            .then(Mono.fromRunnable(grouper::finish));
+    }
+
+    // owner 순으로 정렬된 행을 owner 별 목록으로 묶는다
+    private static final class Grouper {
+        private final Map<Long, AdjacencyList> target;
+        private long[] members = new long[16];
+        private int count = 0;
+        private long owner = -1;
+
+        Grouper(Map<Long, AdjacencyList> target) {
+            this.target = target;
+        }
+
+        void accept(Edge edge) {
+            if (edge.owner() != owner) {
+                finish();
+                owner = edge.owner();
+            }
+            // 중복 행은 한 번만 넣는다
+            if (count > 0 && members[count - 1] == edge.member()) {
+                return;
+            }
+            if (count == members.length) {
+                members = Arrays.copyOf(members, count * 2);
+            }
+            members[count++] = edge.member();
+        }
+
+        void finish() {
+            if (count > 0) {
+                target.put(owner, AdjacencyList.of(Arrays.copyOf(members, count)));
+            }
+            count = 0;
+        }
+    }
+
+    public void follow(Long followerId, Long followingId) {
+        change(new Change(followerId, followingId, true));
+    }
+
+    public void unfollow(Long followerId, Long followingId) {
+        change(new Change(followerId, followingId, false));
+    }
+
+    private synchronized void change(Change change) {
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(change);
+        }
+        apply(change);
+    }
+
+    private void apply(Change change) {
+        AdjacencyList current = following.getOrDefault(change.followerId(), AdjacencyList.EMPTY);
+        AdjacencyList updated = change.follow() ? current.with(change.followingId()) : current.without(change.followingId());
+        if (updated != current) {
+            edges.addAndGet(updated.size() - current.size());
+            put(following, change.followerId(), updated);
+        }
+
+        // 로드 중에는 두 방향을 다른 시점에 읽으므로 정방향이 그대로여도 역방향은 따로 맞춘다
+        AdjacencyList reverse = followers.getOrDefault(change.followingId(), AdjacencyList.EMPTY);
+        AdjacencyList updatedReverse = change.follow() ? reverse.with(change.followerId()) : reverse.without(change.followerId());
+        if (updatedReverse != reverse) {
+            put(followers, change.followingId(), updatedReverse);
+        }
+    }
+
+    private static void put(Map<Long, AdjacencyList> map, long userId, AdjacencyList list) {
+        if (list.size() == 0) {
+            map.remove(userId);
+        } else {
+            map.put(userId, list);
+        }
+    }
+
+    /**
+     * O(log n)
+     */
+    public boolean isFollowing(Long followerId, Long followingId) {
+        return following.getOrDefault(followerId, AdjacencyList.EMPTY).contains(followingId);
+    }
+
+    /**
+     * candidates 중 followerId 가 팔로우하는 사용자
+     */
+    public Set<Long> followedAmong(Long followerId, Collection<Long> candidates) {
+        AdjacencyList list = following.get(followerId);
+        if (list == null) {
+            return Collections.emptySet();
+        }
+        Set<Long> result = new HashSet<>();
+        for (Long candidate : candidates) {
+            if (list.contains(candidate)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    public int followingCount(Long userId) {
+        return following.getOrDefault(userId, AdjacencyList.EMPTY).size();
+    }
+
+    public int followerCount(Long userId) {
+        return followers.getOrDefault(userId, AdjacencyList.EMPTY).size();
+    }
+
+    /**
+     * 팔로잉 ID (오름차순)
+     */
+    public long[] followingOf(Long userId) {
+        return following.getOrDefault(userId, AdjacencyList.EMPTY).toArray();
+    }
+
+    /**
+     * 팔로워 ID (오름차순)
+     */
+    public long[] followersOf(Long userId) {
+        return followers.getOrDefault(userId, AdjacencyList.EMPTY).toArray();
+    }
+
+    /**
+     * 두 사용자가 함께 팔로우하는 사용자 (오름차순)
+     */
+    public long[] commonFollowing(Long userId, Long otherId) {
+        return following.getOrDefault(userId, AdjacencyList.EMPTY)
+            .intersect(following.getOrDefault(otherId, AdjacencyList.EMPTY));
+    }
+
+    /**
+     * viewerId 가 팔로우하는 사용자 중 userId 를 팔로우하는 사용자 (오름차순)
+     */
+    public long[] followingWhoFollow(Long viewerId, Long userId) {
+        return following.getOrDefault(viewerId, AdjacencyList.EMPTY)
+            .intersect(followers.getOrDefault(userId, AdjacencyList.EMPTY));
+    }
+
+    /**
+     * 팔로워가 threshold 명 이상인 사용자
+     */
+    public Set<Long> usersWithFollowersAtLeast(long threshold) {
+        Set<Long> result = new HashSet<>();
+        followers.forEach((userId, list) -> {
+            if (list.size() >= threshold) {
+                result.add(userId);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 사용자 수/관계 수와 추정 메모리 (모든 목록을 훑으므로 자주 부르지 않는다)
+     */
+    public MemoryReport memoryReport() {
+        Map<Long, AdjacencyList> forward = following;
+        Map<Long, AdjacencyList> reverse = followers;
+        long bytes = 0;
+        long packed = 0;
+        for (Map<Long, AdjacencyList> map : List.of(forward, reverse)) {
+            for (AdjacencyList list : map.values()) {
+                bytes += ENTRY_BYTES + list.bytes();
+                if (list.isPacked()) {
+                    packed++;
+                }
+            }
+        }
+        Set<Long> users = new HashSet<>(forward.keySet());
+        users.addAll(reverse.keySet());
+        long edgeCount = edges.get();
+        double megabytesPerMillionEdges = edgeCount == 0 ? 0 : bytes * 1_000_000.0 / edgeCount / (1024 * 1024);
+        return new MemoryReport(users.size(), edgeCount, packed, bytes, megabytesPerMillionEdges);
+    }
+}
\ No newline at end of file
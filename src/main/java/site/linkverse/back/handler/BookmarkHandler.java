@@ -10,6 +10,7 @@ import site.linkverse.back.dto.ApiResponse;
 import site.linkverse.back.dto.BookmarkDto;
 import site.linkverse.back.dto.CollectionDto;
 import site.linkverse.back.service.BookmarkService;
+import site.linkverse.back.util.PageCursor;
 
 import java.util.List;
 
@@ -63,6 +64,29 @@ public class BookmarkHandler {
                     .build()
             ));
     }
+
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값)
+    public Mono<ServerResponse> getUserBookmarksByCursor(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> bookmarkService.getUserBookmarks(userId, PageCursor.decode(cursor), size))
+            .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                ApiResponse.<List<BookmarkDto>>builder()
+                    .success(true)
+                    .data(result.getItems())
+                    .size(size)
+                    .nextCursor(result.getNextCursor())
+                    .build()
+            ))
+            .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build()
+            ));
+    }
     
     public Mono<ServerResponse> createCollection(ServerRequest request) {
         Long userId = (Long) request.attributes().get("userId");
@@ -11,6 +11,7 @@ import site.linkverse.back.dto.CommentCreateDto;
 import site.linkverse.back.dto.CommentDto;
 import site.linkverse.back.dto.CommentUpdateDto;
 import site.linkverse.back.service.CommentService;
+import site.linkverse.back.util.PageCursor;
 
 import java.util.List;
 
@@ -56,6 +57,30 @@ public class CommentHandler {
                     .build()
             ));
     }
+
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값)
+    public Mono<ServerResponse> getPostCommentsByCursor(ServerRequest request) {
+        Long postId = Long.parseLong(request.pathVariable("postId"));
+        Long userId = (Long) request.attributes().get("userId");
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> commentService.getPostComments(postId, userId, PageCursor.decode(cursor), size))
+            .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                ApiResponse.<List<CommentDto>>builder()
+                    .success(true)
+                    .data(result.getItems())
+                    .size(size)
+                    .nextCursor(result.getNextCursor())
+                    .build()
+            ))
+            .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build()
+            ));
+    }
     
     public Mono<ServerResponse> updateComment(ServerRequest request) {
         Long commentId = Long.parseLong(request.pathVariable("id"));
@@ -8,8 +8,11 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.dto.ApiResponse;
 import site.linkverse.back.dto.LikeDto;
+import site.linkverse.back.dto.LikeStateDto;
+import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.enums.LikeTargetType;
 import site.linkverse.back.service.LikeService;
+import site.linkverse.back.util.PageCursor;
 
 import java.util.List;
 
@@ -45,6 +48,38 @@ public class LikeHandler {
                 ));
     }
 
+    public Mono<ServerResponse> like(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        Long targetId = Long.parseLong(request.pathVariable("targetId"));
+        LikeTargetType targetType = LikeTargetType.valueOf(request.pathVariable("targetType"));
+
+        return likeStateResponse(likeService.like(userId, targetId, targetType));
+    }
+
+    public Mono<ServerResponse> unlike(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        Long targetId = Long.parseLong(request.pathVariable("targetId"));
+        LikeTargetType targetType = LikeTargetType.valueOf(request.pathVariable("targetType"));
+
+        return likeStateResponse(likeService.unlike(userId, targetId, targetType));
+    }
+
+    private Mono<ServerResponse> likeStateResponse(Mono<LikeStateDto> state) {
+        return state
+                .flatMap(likeState -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                        ApiResponse.<LikeStateDto>builder()
+                                .success(true)
+                                .data(likeState)
+                                .build()
+                ))
+                .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                        ApiResponse.builder()
+                                .success(false)
+                                .message(e.getMessage())
+                                .build()
+                ));
+    }
+
     public Mono<ServerResponse> getLikes(ServerRequest request) {
         Long targetId = Long.parseLong(request.pathVariable("targetId"));
         LikeTargetType targetType = LikeTargetType.valueOf(request.pathVariable("targetType"));
@@ -62,4 +97,52 @@ public class LikeHandler {
                                 .build()
                 ));
     }
+
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값)
+    public Mono<ServerResponse> getLikesByCursor(ServerRequest request) {
+        Long targetId = Long.parseLong(request.pathVariable("targetId"));
+        LikeTargetType targetType = LikeTargetType.valueOf(request.pathVariable("targetType"));
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> likeService.getLikes(targetId, targetType, PageCursor.decode(cursor), size))
+                .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                        ApiResponse.<List<LikeDto>>builder()
+                                .success(true)
+                                .data(result.getItems())
+                                .size(size)
+                                .nextCursor(result.getNextCursor())
+                                .build()
+                ))
+                .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                        ApiResponse.builder()
+                                .success(false)
+                                .message(e.getMessage())
+                                .build()
+                ));
+    }
+
+    // 좋아요한 사용자 중 내가 팔로우하는 사용자 (게시물 상세의 "OO님 외 N명이 좋아합니다" 표시용)
+    public Mono<ServerResponse> getFollowedLikers(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        Long targetId = Long.parseLong(request.pathVariable("targetId"));
+        LikeTargetType targetType = LikeTargetType.valueOf(request.pathVariable("targetType"));
+        int size = Integer.parseInt(request.queryParam("size").orElse("3"));
+
+        return likeService.getFollowedLikers(userId, targetId, targetType, size)
+                .collectList()
+                .flatMap(users -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                        ApiResponse.<List<UserDto>>builder()
+                                .success(true)
+                                .data(users)
+                                .size(size)
+                                .build()
+                ))
+                .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                        ApiResponse.builder()
+                                .success(false)
+                                .message(e.getMessage())
+                                .build()
+                ));
+    }
 }
\ No newline at end of file
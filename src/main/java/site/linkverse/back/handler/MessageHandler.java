@@ -11,6 +11,7 @@ import site.linkverse.back.dto.MessageCreateDto;
 import site.linkverse.back.dto.MessageDto;
 import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.service.MessageService;
+import site.linkverse.back.util.PageCursor;
 
 import java.util.HashMap;
 import java.util.List;
@@ -110,6 +111,36 @@ public class MessageHandler {
                 });
     }
 
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값)
+    public Mono<ServerResponse> getConversationByCursor(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        Long otherUserId = Long.parseLong(request.pathVariable("otherUserId"));
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> messageService.getConversation(userId, otherUserId, PageCursor.decode(cursor), size))
+                .flatMap(result -> {
+                    Map<String, Object> responseData = new HashMap<>();
+                    responseData.put("messages", result.getItems());
+                    responseData.put("otherUserOnline", dmWebSocketHandler.isUserOnline(otherUserId));
+
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                            ApiResponse.<Map<String, Object>>builder()
+                                    .success(true)
+                                    .data(responseData)
+                                    .size(size)
+                                    .nextCursor(result.getNextCursor())
+                                    .build()
+                    );
+                })
+                .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                        ApiResponse.builder()
+                                .success(false)
+                                .message(e.getMessage())
+                                .build()
+                ));
+    }
+
     public Mono<ServerResponse> getRecentConversations(ServerRequest request) {
         Long userId = (Long) request.attributes().get("userId");
         int page = Integer.parseInt(request.queryParam("page").orElse("0"));
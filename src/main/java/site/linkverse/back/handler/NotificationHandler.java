@@ -12,6 +12,7 @@ import site.linkverse.back.dto.PostDto;
 import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.service.NotificationService;
 import site.linkverse.back.service.SearchService;
+import site.linkverse.back.util.PageCursor;
 
 import java.util.List;
 @Component
@@ -36,6 +37,29 @@ public class NotificationHandler {
             ));
     }
 
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값)
+    public Mono<ServerResponse> getUserNotificationsByCursor(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> notificationService.getUserNotifications(userId, PageCursor.decode(cursor), size))
+            .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                ApiResponse.<List<NotificationDto>>builder()
+                    .success(true)
+                    .data(result.getItems())
+                    .size(size)
+                    .nextCursor(result.getNextCursor())
+                    .build()
+            ))
+            .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build()
+            ));
+    }
+
     public Mono<ServerResponse> countUnreadNotifications(ServerRequest request) {
         Long userId = (Long) request.attributes().get("userId");
 
@@ -1,23 +1,38 @@
 package site.linkverse.back.handler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.dto.ApiResponse;
 import site.linkverse.back.dto.PostCreateDto;
 import site.linkverse.back.dto.PostDto;
 import site.linkverse.back.dto.PostUpdateDto;
 import site.linkverse.back.service.PostService;
+import site.linkverse.back.util.FeedCursor;
+import site.linkverse.back.util.PageCursor;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 public class PostHandler {
+    // 스트리밍 Recommend 피드의 snapshot (다음 페이지 요청에 ?snapshot= 으로 넘긴다)
+    private static final String FEED_SNAPSHOT_HEADER = "X-Feed-Snapshot";
+
     private final PostService postService;
+    private final MeterRegistry meterRegistry;
     
     public Mono<ServerResponse> createPost(ServerRequest request) {
         Long userId = (Long) request.attributes().get("userId");
@@ -58,12 +73,14 @@ public class PostHandler {
             ));
     }
 
+    // 다음 페이지는 응답의 snapshot 을 그대로 넘겨 조회한다 (?page=1&snapshot=...)
     public Mono<ServerResponse> getFeedPosts(ServerRequest request) {
         Long userId = (Long) request.attributes().get("userId");
         int page = Integer.parseInt(request.queryParam("page").orElse("0"));
         int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        long snapshot = feedSnapshot(request);
 
-        return postService.getFeedPosts(userId, page, size)
+        return postService.getFeedPosts(userId, page, size, snapshot)
                 .collectList()
                 .flatMap(posts -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
                         ApiResponse.<List<PostDto>>builder()
@@ -71,10 +88,39 @@ public class PostHandler {
                                 .data(posts)
                                 .page(page)
                                 .size(size)
+                                .snapshot(snapshot)
                                 .build()
                 ));
     }
 
+    // 첫 페이지는 지금 시각 (epoch 밀리초)
+    private static long feedSnapshot(ServerRequest request) {
+        return request.queryParam("snapshot").map(Long::parseLong).orElseGet(System::currentTimeMillis);
+    }
+
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값). 페이지 번호 조회와 같은 Recommend 순서이고 커서에 snapshot 이 들어 있다
+    public Mono<ServerResponse> getFeedPostsByCursor(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> postService.getFeedPosts(userId, FeedCursor.decode(cursor), size))
+            .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                ApiResponse.<List<PostDto>>builder()
+                    .success(true)
+                    .data(result.getItems())
+                    .size(size)
+                    .nextCursor(result.getNextCursor())
+                    .build()
+            ))
+            .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build()
+            ));
+    }
+
     public Mono<ServerResponse> getFollowingFeedPosts(ServerRequest request) {
         Long userId = (Long) request.attributes().get("userId");
         int page = Integer.parseInt(request.queryParam("page").orElse("0"));
@@ -91,6 +137,29 @@ public class PostHandler {
                                 .build()
                 ));
     }
+
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값)
+    public Mono<ServerResponse> getFollowingFeedPostsByCursor(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> postService.getFollowingFeedPosts(userId, PageCursor.decode(cursor), size))
+            .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                ApiResponse.<List<PostDto>>builder()
+                    .success(true)
+                    .data(result.getItems())
+                    .size(size)
+                    .nextCursor(result.getNextCursor())
+                    .build()
+            ))
+            .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build()
+            ));
+    }
     
     public Mono<ServerResponse> getUserPosts(ServerRequest request) {
         Long targetUserId = Long.parseLong(request.pathVariable("userId"));
@@ -109,6 +178,30 @@ public class PostHandler {
                     .build()
             ));
     }
+
+    // 커서 기반 조회 (?cursor=, 첫 페이지는 빈 값)
+    public Mono<ServerResponse> getUserPostsByCursor(ServerRequest request) {
+        Long targetUserId = Long.parseLong(request.pathVariable("userId"));
+        Long currentUserId = (Long) request.attributes().get("userId");
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        String cursor = request.queryParam("cursor").orElse("");
+
+        return Mono.defer(() -> postService.getUserPosts(targetUserId, currentUserId, PageCursor.decode(cursor), size))
+            .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                ApiResponse.<List<PostDto>>builder()
+                    .success(true)
+                    .data(result.getItems())
+                    .size(size)
+                    .nextCursor(result.getNextCursor())
+                    .build()
+            ))
+            .onErrorResume(e -> ServerResponse.badRequest().bodyValue(
+                ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build()
+            ));
+    }
     
     public Mono<ServerResponse> getHashtagPosts(ServerRequest request) {
         String hashtag = request.pathVariable("hashtag");
@@ -185,4 +278,89 @@ public class PostHandler {
                     .build()
             ));
     }
+
+    // 스트리밍 응답 (Accept: application/x-ndjson 또는 text/event-stream)
+    public Mono<ServerResponse> streamFeedPosts(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        int page = Integer.parseInt(request.queryParam("page").orElse("0"));
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        long snapshot = feedSnapshot(request);
+
+        return streamPosts(request, "feed", postService.streamFeedPosts(userId, page, size, snapshot),
+            headers -> headers.set(FEED_SNAPSHOT_HEADER, String.valueOf(snapshot)));
+    }
+
+    public Mono<ServerResponse> streamFollowingFeedPosts(ServerRequest request) {
+        Long userId = (Long) request.attributes().get("userId");
+        int page = Integer.parseInt(request.queryParam("page").orElse("0"));
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+
+        return streamPosts(request, "following", postService.streamFollowingFeedPosts(userId, page, size));
+    }
+
+    public Mono<ServerResponse> streamUserPosts(ServerRequest request) {
+        Long targetUserId = Long.parseLong(request.pathVariable("userId"));
+        Long currentUserId = (Long) request.attributes().get("userId");
+        int page = Integer.parseInt(request.queryParam("page").orElse("0"));
+        int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+
+        return streamPosts(request, "user-posts", postService.streamUserPosts(targetUserId, currentUserId, page, size));
+    }
+
+    private Mono<ServerResponse> streamPosts(ServerRequest request, String endpoint, Flux<PostDto> posts) {
+        return streamPosts(request, endpoint, posts, headers -> {
+        });
+    }
+
+    private Mono<ServerResponse> streamPosts(ServerRequest request, String endpoint, Flux<PostDto> posts,
+                                             Consumer<HttpHeaders> headers) {
+        Flux<PostDto> timedPosts = recordStreamLatency(endpoint, posts);
+
+        boolean eventStream = request.headers().accept().stream()
+            .anyMatch(type -> !type.isWildcardType() && type.isCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+        if (!eventStream) {
+            return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .headers(headers)
+                .body(timedPosts, PostDto.class);
+        }
+
+        // 게시물마다 post 이벤트, 마지막에 done 이벤트 (클라이언트가 재연결하지 않고 닫을 수 있도록)
+        Flux<ServerSentEvent<PostDto>> events = timedPosts
+            .map(post -> ServerSentEvent.builder(post)
+                .id(String.valueOf(post.getId()))
+                .event("post")
+                .build())
+            .concatWith(Mono.just(ServerSentEvent.<PostDto>builder().event("done").build()));
+        return ServerResponse.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .header("Cache-Control", "no-cache")
+            .headers(headers)
+            .body(BodyInserters.fromServerSentEvents(events));
+    }
+
+    // 요청 후 첫 게시물까지의 시간과 게시물 사이 간격을 기록한다
+    private Flux<PostDto> recordStreamLatency(String endpoint, Flux<PostDto> posts) {
+        Timer firstItem = Timer.builder("feed.stream.first-item")
+            .description("스트리밍 피드 요청 후 첫 게시물을 내보내기까지의 시간")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        Timer item = Timer.builder("feed.stream.item")
+            .description("스트리밍 피드에서 이전 게시물 이후 다음 게시물을 내보내기까지의 시간")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong previous = new AtomicLong(start);
+            return posts.doOnNext(post -> {
+                long now = System.nanoTime();
+                long last = previous.getAndSet(now);
+                if (last == start) {
+                    firstItem.record(now - start, TimeUnit.NANOSECONDS);
+                }
+                item.record(now - last, TimeUnit.NANOSECONDS);
+            });
+        });
+    }
 }
\ No newline at end of file
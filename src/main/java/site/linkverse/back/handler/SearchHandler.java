@@ -8,8 +8,10 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.dto.ApiResponse;
 import site.linkverse.back.dto.PostDto;
+import site.linkverse.back.dto.SearchResultDto;
 import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.service.SearchService;
+import site.linkverse.back.service.UnifiedSearchService;
 
 import java.util.List;
 
@@ -17,13 +19,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SearchHandler {
     private final SearchService searchService;
+    private final UnifiedSearchService unifiedSearchService;
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        String keyword = request.queryParam("keyword").orElse("");
+        Long userId = (Long) request.attributes().get("userId");
+        int size = Integer.parseInt(request.queryParam("size").orElse("10"));
+        boolean fuzzy = Boolean.parseBoolean(request.queryParam("fuzzy").orElse("false"));
+
+        return unifiedSearchService.search(keyword, userId, size, fuzzy)
+                .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
+                        ApiResponse.<SearchResultDto>builder()
+                                .success(true)
+                                .data(result)
+                                .size(size)
+                                .build()
+                ));
+    }
 
     public Mono<ServerResponse> searchUsers(ServerRequest request) {
         String keyword = request.queryParam("keyword").orElse("");
         int page = Integer.parseInt(request.queryParam("page").orElse("0"));
         int size = Integer.parseInt(request.queryParam("size").orElse("20"));
+        boolean fuzzy = Boolean.parseBoolean(request.queryParam("fuzzy").orElse("false"));
 
-        return searchService.searchUsers(keyword, page, size)
+        return searchService.searchUsers(keyword, page, size, fuzzy)
                 .collectList()
                 .flatMap(users -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
                         ApiResponse.<List<UserDto>>builder()
@@ -56,8 +76,9 @@ public class SearchHandler {
     public Mono<ServerResponse> searchHashtags(ServerRequest request) {
         String keyword = request.queryParam("keyword").orElse("");
         int limit = Integer.parseInt(request.queryParam("limit").orElse("10"));
+        boolean fuzzy = Boolean.parseBoolean(request.queryParam("fuzzy").orElse("false"));
 
-        return searchService.searchHashtags(keyword, limit)
+        return searchService.searchHashtags(keyword, limit, fuzzy)
                 .collectList()
                 .flatMap(hashtags -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(
                         ApiResponse.<List<String>>builder()
@@ -0,0 +1,24 @@
+package site.linkverse.back.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("comment_stats")
+public class CommentStats {
+    @Id
+    @Column("comment_id")
+    private Long commentId;
+    @Column("likes_count")
+    private long likesCount;
+    @Column("replies_count")
+    private long repliesCount;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
+import site.linkverse.back.enums.NotificationReferenceType;
 import site.linkverse.back.enums.NotificationType;
 
 import java.time.LocalDateTime;
@@ -27,8 +28,14 @@ public class Notification {
     private NotificationType notificationType;
     @Column("reference_id")
     private Long referenceId; // 관련 객체의 ID (게시물, 댓글 등)
+    @Column("reference_type")
+    private NotificationReferenceType referenceType; // referenceId 가 가리키는 대상 (묶기 전에 만든 알림은 null)
     @Column("content")
     private String content;
+    @Column("actor_count")
+    private int actorCount; // 묶인 알림을 보낸 사용자 수
+    @Column("recent_actor_ids")
+    private String recentActorIds; // 최근 사용자 ID (최근 순, 쉼표로 구분)
     @Column("is_read")
     private boolean isRead;
     @Column("created_at")
@@ -0,0 +1,19 @@
+package site.linkverse.back.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Column;
+
+/**
+ * post_hashtags 와 hashtags 조인 결과 매핑용
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostHashtagName {
+    @Column("post_id")
+    private Long postId;
+    @Column("name")
+    private String name;
+}
@@ -0,0 +1,24 @@
+package site.linkverse.back.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("post_stats")
+public class PostStats {
+    @Id
+    @Column("post_id")
+    private Long postId;
+    @Column("likes_count")
+    private long likesCount;
+    @Column("comments_count")
+    private long commentsCount;
+}
@@ -1,19 +1,34 @@
 package site.linkverse.back.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.model.Bookmark;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 @Repository
 public interface BookmarkRepository extends R2dbcRepository<Bookmark, Long> {
     Mono<Bookmark> findByUserIdAndPostId(Long userId, Long postId);
     Mono<Boolean> existsByUserIdAndPostId(Long userId, Long postId);
     Flux<Bookmark> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query("SELECT * FROM bookmarks WHERE user_id = :userId " +
+           "AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) " +
+           "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Bookmark> findByUserIdBefore(Long userId, LocalDateTime createdAt, Long id, int limit);
     Flux<Bookmark> findByUserIdAndCollectionIdOrderByCreatedAtDesc(Long userId, Long collectionId, Pageable pageable);
     Mono<Void> deleteByUserIdAndPostId(Long userId, Long postId);
     Mono<Long> countByUserIdAndCollectionId(Long userId, Long collectionId);
 
+    @Query("SELECT post_id FROM bookmarks WHERE user_id = :userId AND post_id IN (:postIds)")
+    Flux<Long> findBookmarkedPostIds(Long userId, Collection<Long> postIds);
+
+    // 사용자별 북마크 목록 (EngagementIndexService 적재용)
+    @Query("SELECT post_id FROM bookmarks WHERE user_id = :userId LIMIT :limit")
+    Flux<Long> findAllBookmarkedPostIds(Long userId, int limit);
+
 }
\ No newline at end of file
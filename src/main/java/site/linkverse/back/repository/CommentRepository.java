@@ -8,9 +8,15 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.model.Comment;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface CommentRepository extends R2dbcRepository<Comment, Long> {
   Flux<Comment> findByPostIdAndParentIdIsNullOrderByCreatedAtAsc(Long postId, Pageable pageable);
+  @Query("SELECT * FROM comments WHERE post_id = :postId AND parent_id IS NULL AND is_deleted = false " +
+         "AND (created_at > :createdAt OR (created_at = :createdAt AND id > :id)) " +
+         "ORDER BY created_at ASC, id ASC LIMIT :limit")
+  Flux<Comment> findTopLevelAfter(Long postId, LocalDateTime createdAt, Long id, int limit);
   Flux<Comment> findByParentIdOrderByCreatedAtAsc(Long parentId);
   Mono<Long> countByPostId(Long postId);
   Mono<Long> countByParentId(Long parentId);
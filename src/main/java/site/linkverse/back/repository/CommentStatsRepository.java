@@ -0,0 +1,13 @@
+package site.linkverse.back.repository;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import site.linkverse.back.model.CommentStats;
+
+import java.util.Collection;
+
+@Repository
+public interface CommentStatsRepository extends R2dbcRepository<CommentStats, Long> {
+    Flux<CommentStats> findByCommentIdIn(Collection<Long> commentIds);
+}
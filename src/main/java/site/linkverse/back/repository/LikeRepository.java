@@ -1,6 +1,7 @@
 package site.linkverse.back.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -8,6 +9,9 @@ import reactor.core.publisher.Mono;
 import site.linkverse.back.enums.LikeTargetType;
 import site.linkverse.back.model.Like;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 @Repository
 public interface LikeRepository extends R2dbcRepository<Like, Long> {
     Mono<Like> findByUserIdAndTargetIdAndTargetType(Long userId, Long targetId, LikeTargetType targetType);
@@ -15,4 +19,22 @@ public interface LikeRepository extends R2dbcRepository<Like, Long> {
     Mono<Long> countByTargetIdAndTargetType(Long targetId, LikeTargetType targetType);
     Mono<Void> deleteByUserIdAndTargetIdAndTargetType(Long userId, Long targetId, LikeTargetType targetType);
     Flux<Like> findByTargetIdAndTargetTypeOrderByCreatedAtDesc(Long targetId, LikeTargetType targetType, Pageable pageable);
+
+    // 좋아요한 사용자 목록 (커서 이전, idx_likes_target_created 만 읽는다)
+    @Query("SELECT id, user_id, target_id, target_type, created_at FROM likes " +
+           "WHERE target_type = :targetType AND target_id = :targetId " +
+           "AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) " +
+           "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Like> findLikersBefore(String targetType, Long targetId, LocalDateTime createdAt, Long id, int limit);
+
+    @Query("SELECT target_id FROM likes " +
+           "WHERE user_id = :userId AND target_type = 'POST' AND target_id IN (:postIds)")
+    Flux<Long> findLikedPostIds(Long userId, Collection<Long> postIds);
+
+    // 사용자별 좋아요 목록 (EngagementIndexService 적재용)
+    @Query("SELECT target_id FROM likes WHERE user_id = :userId AND target_type = 'POST' LIMIT :limit")
+    Flux<Long> findAllLikedPostIds(Long userId, int limit);
+
+    @Query("SELECT target_id FROM likes WHERE user_id = :userId AND target_type = 'COMMENT' LIMIT :limit")
+    Flux<Long> findAllLikedCommentIds(Long userId, int limit);
 }
\ No newline at end of file
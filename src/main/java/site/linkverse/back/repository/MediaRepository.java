@@ -6,8 +6,11 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.model.Media;
 
+import java.util.Collection;
+
 @Repository
 public interface MediaRepository extends R2dbcRepository<Media, Long> {
     Flux<Media> findByPostId(Long postId);
+    Flux<Media> findByPostIdInOrderByIdAsc(Collection<Long> postIds);
     Mono<Void> deleteByPostId(Long postId);
 }
\ No newline at end of file
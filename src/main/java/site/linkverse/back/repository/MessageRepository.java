@@ -8,6 +8,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.model.Message;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,6 +18,13 @@ public interface MessageRepository extends R2dbcRepository<Message, Long> {
            "(sender_id = :otherUserId AND receiver_id = :userId)) " +
            "ORDER BY created_at DESC")
     Flux<Message> findConversation(Long userId, Long otherUserId, Pageable pageable);
+
+    @Query("SELECT * FROM messages WHERE " +
+           "((sender_id = :userId AND receiver_id = :otherUserId) OR " +
+           "(sender_id = :otherUserId AND receiver_id = :userId)) " +
+           "AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) " +
+           "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Message> findConversationBefore(Long userId, Long otherUserId, LocalDateTime createdAt, Long id, int limit);
     
     Flux<Message> findByGroupIdOrderByCreatedAtDesc(Long groupId, Pageable pageable);
     
@@ -6,14 +6,24 @@ import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import site.linkverse.back.enums.NotificationReferenceType;
+import site.linkverse.back.enums.NotificationType;
 import site.linkverse.back.model.Notification;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends R2dbcRepository<Notification, Long> {
     Flux<Notification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query("SELECT * FROM notifications WHERE user_id = :userId " +
+           "AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) " +
+           "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Notification> findByUserIdBefore(Long userId, LocalDateTime createdAt, Long id, int limit);
     Mono<Long> countByUserIdAndIsReadFalse(Long userId);
+    // 같은 대상에 대한 읽지 않은 최근 알림 (알림 묶기, 게시물 42 와 댓글 42 는 다른 대상)
+    Mono<Notification> findFirstByUserIdAndNotificationTypeAndReferenceTypeAndReferenceIdAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+        Long userId, NotificationType notificationType, NotificationReferenceType referenceType, Long referenceId, LocalDateTime since);
     @Query("UPDATE notifications SET is_read = true WHERE id IN (:ids)")
     Mono<Void> updateReadStatusByIds(List<Long> ids);
 }
\ No newline at end of file
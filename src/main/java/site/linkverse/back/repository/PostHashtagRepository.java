@@ -1,13 +1,24 @@
 package site.linkverse.back.repository;
 
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.model.PostHashtag;
+import site.linkverse.back.model.PostHashtagName;
+
+import java.util.Collection;
 
 @Repository
 public interface PostHashtagRepository extends R2dbcRepository<PostHashtag, Long> {
     Flux<PostHashtag> findByPostId(Long postId);
     Mono<Void> deleteByPostId(Long postId);
+    Flux<PostHashtag> findByPostIdInOrderByIdAsc(Collection<Long> postIds);
+
+    @Query("SELECT ph.post_id, h.name FROM post_hashtags ph " +
+           "JOIN hashtags h ON h.id = ph.hashtag_id " +
+           "WHERE ph.post_id IN (:postIds) " +
+           "ORDER BY ph.id")
+    Flux<PostHashtagName> findNamesByPostIds(Collection<Long> postIds);
 }
\ No newline at end of file
@@ -5,33 +5,102 @@ import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import site.linkverse.back.enums.VisibilityType;
 import site.linkverse.back.model.Post;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PostRepository extends R2dbcRepository<Post, Long> {
-    Flux<Post> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    // 조회하는 사용자(:viewerId)가 볼 수 있는 게시글: 전체 공개, 본인 글, 팔로우 중인 작성자의 친구 공개 글
+    String VISIBLE_TO_VIEWER = "(p.visibility = 'PUBLIC' OR p.user_id = :viewerId " +
+            "OR (p.visibility = 'FRIENDS' AND EXISTS (SELECT 1 FROM follows f " +
+            "WHERE f.follower_id = :viewerId AND f.following_id = p.user_id))) ";
+
+    // 특정 작성자의 게시글 (프로필 게시글 목록)
+    @Query("SELECT p.* FROM posts p " +
+            "WHERE p.user_id = :userId AND p.is_deleted = false AND " + VISIBLE_TO_VIEWER +
+            "ORDER BY p.created_at DESC, p.id DESC " +
+            "LIMIT :limit OFFSET :offset")
+    Flux<Post> findByUserId(Long userId, Long viewerId, int limit, long offset);
 
     // 팔로잉 사용자 + 본인 게시글 (Following 탭용)
     @Query("SELECT p.* FROM posts p " +
-            "LEFT JOIN follows f ON p.user_id = f.following_id " +
-            "WHERE f.follower_id = :userId OR p.user_id = :userId " +
-            "ORDER BY p.created_at DESC")
-    Flux<Post> findFeedPosts(Long userId, Pageable pageable);
+            "WHERE p.is_deleted = false " +
+            "AND (p.user_id = :userId OR (p.visibility <> 'PRIVATE' " +
+            "     AND p.user_id IN (SELECT following_id FROM follows WHERE follower_id = :userId))) " +
+            "ORDER BY p.created_at DESC, p.id DESC " +
+            "LIMIT :limit OFFSET :offset")
+    Flux<Post> findFeedPosts(Long userId, int limit, long offset);
+
+    // 팔로잉 피드 테이블에 배포된 게시글 (Following 탭용)
+    // 피드에는 팔로우 중인 작성자와 본인 글만 있으므로 비공개 글만 제외하면 된다
+    @Query("SELECT p.* FROM timelines t " +
+            "JOIN posts p ON p.id = t.post_id " +
+            "WHERE t.user_id = :userId " +
+            "AND p.is_deleted = false AND (p.visibility <> 'PRIVATE' OR p.user_id = :userId) " +
+            "ORDER BY t.created_at DESC, t.post_id DESC " +
+            "LIMIT :limit OFFSET :offset")
+    Flux<Post> findTimelinePosts(Long userId, int limit, long offset);
+
+    // 커서 이전의 팔로잉 피드 게시글
+    @Query("SELECT p.* FROM timelines t " +
+            "JOIN posts p ON p.id = t.post_id " +
+            "WHERE t.user_id = :userId " +
+            "AND (t.created_at < :createdAt OR (t.created_at = :createdAt AND t.post_id < :id)) " +
+            "AND p.is_deleted = false AND (p.visibility <> 'PRIVATE' OR p.user_id = :userId) " +
+            "ORDER BY t.created_at DESC, t.post_id DESC " +
+            "LIMIT :limit")
+    Flux<Post> findTimelinePostsBefore(Long userId, LocalDateTime createdAt, Long id, int limit);
+
+    // 커서 이전의 특정 작성자 게시글 (프로필 게시글 목록 / 팔로워 수가 많은 작성자의 피드 병합용)
+    @Query("SELECT p.* FROM posts p " +
+            "WHERE p.user_id = :userId AND p.is_deleted = false AND " + VISIBLE_TO_VIEWER +
+            "AND (p.created_at < :createdAt OR (p.created_at = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit")
+    Flux<Post> findByUserIdBefore(Long userId, Long viewerId, LocalDateTime createdAt, Long id, int limit);
 
     // 모든 공개 게시글 (Recommend 탭용)
     Flux<Post> findAllByVisibilityAndIsDeletedOrderByCreatedAtDesc(
             VisibilityType visibility, boolean isDeleted, Pageable pageable);
 
-    @Query("SELECT p.* FROM posts p " +
+    // 특정 시각 이전의 공개 게시글 (Recommend 탭, 순위 계산 전)
+    @Query("SELECT * FROM posts WHERE visibility = 'PUBLIC' AND is_deleted = false AND created_at < :before " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit OFFSET :offset")
+    Flux<Post> findPublicOlderThan(LocalDateTime before, int limit, long offset);
+
+    // 순위 계산 시각 이전 공개 게시글 중 순위 목록에 없는 게시글 (Recommend 탭에서 순위 목록 뒤에 이어 붙임)
+    // 순위 계산 기간 안의 나머지 게시글이 먼저, 기간 이전 게시글이 이어서 나온다
+    @Query("SELECT * FROM posts WHERE visibility = 'PUBLIC' AND is_deleted = false AND created_at < :before " +
+            "AND id NOT IN (:excludedIds) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit OFFSET :offset")
+    Flux<Post> findPublicOlderThanExcluding(LocalDateTime before, List<Long> excludedIds, int limit, long offset);
+
+    // 순위 계산 이후 작성된 공개 게시글 (Recommend 탭에서 순위 목록 앞에 붙임)
+    @Query("SELECT * FROM posts WHERE visibility = 'PUBLIC' AND is_deleted = false " +
+            "AND created_at >= :after AND created_at < :before " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit OFFSET :offset")
+    Flux<Post> findPublicBetween(LocalDateTime after, LocalDateTime before, int limit, long offset);
+
+    @Query("SELECT COUNT(*) FROM posts WHERE visibility = 'PUBLIC' AND is_deleted = false " +
+            "AND created_at >= :after AND created_at < :before")
+    Mono<Long> countPublicBetween(LocalDateTime after, LocalDateTime before);
+
+    // 정규화 이전에 저장된 같은 이름의 해시태그가 여러 개일 수 있어 DISTINCT 로 중복 제거
+    @Query("SELECT DISTINCT p.* FROM posts p " +
             "JOIN post_hashtags ph ON p.id = ph.post_id " +
-            "JOIN hashtags h ON ph.hashtag_id = h.id " +
-            "WHERE h.name = :hashtag " +
-            "ORDER BY p.created_at DESC")
-    Flux<Post> findByHashtag(String hashtag, Pageable pageable);
+            "WHERE ph.hashtag_id IN (:hashtagIds) AND p.is_deleted = false AND " + VISIBLE_TO_VIEWER +
+            "ORDER BY p.created_at DESC, p.id DESC " +
+            "LIMIT :limit OFFSET :offset")
+    Flux<Post> findByHashtagIds(Collection<Long> hashtagIds, Long viewerId, int limit, long offset);
 
-    @Query("SELECT * FROM posts WHERE content LIKE :keyword ORDER BY created_at DESC")
-    Flux<Post> searchByKeyword(String keyword, Pageable pageable);
+    @Query("SELECT p.* FROM posts p " +
+            "WHERE p.content LIKE :keyword AND p.is_deleted = false AND " + VISIBLE_TO_VIEWER +
+            "ORDER BY p.created_at DESC, p.id DESC " +
+            "LIMIT :limit OFFSET :offset")
+    Flux<Post> searchByKeyword(String keyword, Long viewerId, int limit, long offset);
 }
\ No newline at end of file
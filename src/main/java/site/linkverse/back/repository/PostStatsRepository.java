@@ -0,0 +1,13 @@
+package site.linkverse.back.repository;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import site.linkverse.back.model.PostStats;
+
+import java.util.Collection;
+
+@Repository
+public interface PostStatsRepository extends R2dbcRepository<PostStats, Long> {
+    Flux<PostStats> findByPostIdIn(Collection<Long> postIds);
+}
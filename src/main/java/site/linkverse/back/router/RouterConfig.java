@@ -48,6 +48,7 @@ public class RouterConfig {
                 .andRoute(POST("/api/auth/login"), userHandler::login)
                 .andRoute(GET("/api/users/{id}").and(accept(MediaType.APPLICATION_JSON)), userHandler::getUserInfo)
                 .andRoute(GET("/api/users/search").and(accept(MediaType.APPLICATION_JSON)), userHandler::searchUsers)
+                .andRoute(GET("/api/likes/{targetType}/{targetId}").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), likeHandler::getLikesByCursor)
                 .andRoute(GET("/api/likes/{targetType}/{targetId}").and(accept(MediaType.APPLICATION_JSON)), likeHandler::getLikes)
                 .andRoute(GET("/api/users/{userId}/followers").and(accept(MediaType.APPLICATION_JSON)), followHandler::getFollowers)
                 .andRoute(GET("/api/users/{userId}/following").and(accept(MediaType.APPLICATION_JSON)), followHandler::getFollowing)
@@ -61,31 +62,45 @@ public class RouterConfig {
                 .andRoute(PUT("/api/users/{id}/password").and(accept(MediaType.APPLICATION_JSON)), userHandler::updatePassword)
                 .andRoute(POST("/api/posts").and(accept(MediaType.APPLICATION_JSON)), postHandler::createPost)
                 .andRoute(GET("/api/posts/{id}").and(accept(MediaType.APPLICATION_JSON)), postHandler::getPost)
+                .andRoute(GET("/api/feed").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), postHandler::getFeedPostsByCursor)
                 .andRoute(GET("/api/feed").and(accept(MediaType.APPLICATION_JSON)), postHandler::getFeedPosts) // 전체 공개 게시글
+                .andRoute(GET("/api/feed").and(accept(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM)), postHandler::streamFeedPosts)
+                .andRoute(GET("/api/feed/following").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), postHandler::getFollowingFeedPostsByCursor)
                 .andRoute(GET("/api/feed/following").and(accept(MediaType.APPLICATION_JSON)), postHandler::getFollowingFeedPosts) // 팔로잉 피드
+                .andRoute(GET("/api/feed/following").and(accept(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM)), postHandler::streamFollowingFeedPosts)
+                .andRoute(GET("/api/users/{userId}/posts").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), postHandler::getUserPostsByCursor)
                 .andRoute(GET("/api/users/{userId}/posts").and(accept(MediaType.APPLICATION_JSON)), postHandler::getUserPosts)
+                .andRoute(GET("/api/users/{userId}/posts").and(accept(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM)), postHandler::streamUserPosts)
                 .andRoute(GET("/api/hashtags/{hashtag}/posts").and(accept(MediaType.APPLICATION_JSON)), postHandler::getHashtagPosts)
                 .andRoute(PUT("/api/posts/{id}").and(accept(MediaType.APPLICATION_JSON)), postHandler::updatePost)
                 .andRoute(DELETE("/api/posts/{id}").and(accept(MediaType.APPLICATION_JSON)), postHandler::deletePost)
                 .andRoute(GET("/api/posts/search").and(accept(MediaType.APPLICATION_JSON)), postHandler::searchPosts)
                 .andRoute(POST("/api/comments").and(accept(MediaType.APPLICATION_JSON)), commentHandler::createComment)
+                .andRoute(GET("/api/posts/{postId}/comments").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), commentHandler::getPostCommentsByCursor)
                 .andRoute(GET("/api/posts/{postId}/comments").and(accept(MediaType.APPLICATION_JSON)), commentHandler::getPostComments)
                 .andRoute(PUT("/api/comments/{id}").and(accept(MediaType.APPLICATION_JSON)), commentHandler::updateComment)
                 .andRoute(DELETE("/api/comments/{id}").and(accept(MediaType.APPLICATION_JSON)), commentHandler::deleteComment)
                 .andRoute(POST("/api/likes/{targetType}/{targetId}").and(accept(MediaType.APPLICATION_JSON)), likeHandler::toggleLike)
+                .andRoute(PUT("/api/likes/{targetType}/{targetId}").and(accept(MediaType.APPLICATION_JSON)), likeHandler::like)
+                .andRoute(DELETE("/api/likes/{targetType}/{targetId}").and(accept(MediaType.APPLICATION_JSON)), likeHandler::unlike)
+                .andRoute(GET("/api/likes/{targetType}/{targetId}/following").and(accept(MediaType.APPLICATION_JSON)), likeHandler::getFollowedLikers)
                 .andRoute(POST("/api/bookmarks/{postId}").and(accept(MediaType.APPLICATION_JSON)), bookmarkHandler::toggleBookmark)
+                .andRoute(GET("/api/bookmarks").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), bookmarkHandler::getUserBookmarksByCursor)
                 .andRoute(GET("/api/bookmarks").and(accept(MediaType.APPLICATION_JSON)), bookmarkHandler::getUserBookmarks)
                 .andRoute(POST("/api/collections").and(accept(MediaType.APPLICATION_JSON)), bookmarkHandler::createCollection)
                 .andRoute(GET("/api/collections").and(accept(MediaType.APPLICATION_JSON)), bookmarkHandler::getUserCollections)
                 .andRoute(POST("/api/follow/{followingId}").and(accept(MediaType.APPLICATION_JSON)), followHandler::toggleFollow)
                 .andRoute(POST("/api/messages").and(accept(MediaType.APPLICATION_JSON)), messageHandler::sendMessage)
+                .andRoute(GET("/api/messages/users/{otherUserId}").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), messageHandler::getConversationByCursor)
                 .andRoute(GET("/api/messages/users/{otherUserId}").and(accept(MediaType.APPLICATION_JSON)), messageHandler::getConversation)
                 .andRoute(GET("/api/messages/recent").and(accept(MediaType.APPLICATION_JSON)), messageHandler::getRecentConversations)
                 .andRoute(PUT("/api/messages/read").and(accept(MediaType.APPLICATION_JSON)), messageHandler::markAsRead)
+                .andRoute(GET("/api/notifications").and(queryParam("cursor", cursor -> true)).and(accept(MediaType.APPLICATION_JSON)), notificationHandler::getUserNotificationsByCursor)
                 .andRoute(GET("/api/notifications").and(accept(MediaType.APPLICATION_JSON)), notificationHandler::getUserNotifications)
                 .andRoute(GET("/api/notifications/unread/count").and(accept(MediaType.APPLICATION_JSON)), notificationHandler::countUnreadNotifications)
                 .andRoute(PUT("/api/notifications/read").and(accept(MediaType.APPLICATION_JSON)), notificationHandler::markAsRead)
                 .andRoute(GET("/api/search/posts").and(accept(MediaType.APPLICATION_JSON)), searchHandler::searchPosts)
+                .andRoute(GET("/api/search").and(accept(MediaType.APPLICATION_JSON)), searchHandler::search) // 사용자/게시물/해시태그 통합 검색
                 .andRoute(POST("/api/security/block").and(accept(MediaType.APPLICATION_JSON)), securityHandler::blockUser)
                 .andRoute(DELETE("/api/security/block/{blockedId}").and(accept(MediaType.APPLICATION_JSON)), securityHandler::unblockUser)
                 .andRoute(GET("/api/security/blocked").and(accept(MediaType.APPLICATION_JSON)), securityHandler::getBlockedUsers)
@@ -0,0 +1,19 @@
+package site.linkverse.back.search;
+
+import java.util.List;
+
+/**
+ * 색인할 게시물 (작성자/공개 범위는 검색 결과를 조회하는 사용자 기준으로 거르기 위해 함께 저장)
+ */
+public record IndexedPost(DocInfo doc, List<String> tokens) {
+
+    public static final byte PUBLIC = 0;
+    public static final byte FRIENDS = 1;
+    public static final byte PRIVATE = 2;
+
+    /**
+     * 세그먼트 문서 표의 한 행 (length 는 토큰 수)
+     */
+    public record DocInfo(long postId, long authorId, long createdAtSeconds, int length, byte visibility) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,755 @@
+package site.linkverse.back.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import site.linkverse.back.enums.VisibilityType;
+import site.linkverse.back.graph.SocialGraph;
+import site.linkverse.back.model.Post;
+import site.linkverse.back.search.IndexedPost.DocInfo;
+import site.linkverse.back.search.Segment.PostingList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 게시물 전문 검색 색인
+ *
+ * 게시물 본문을 SearchTokenizer 로 나눈 역색인을 세그먼트 파일(search.posts.index-dir)로 저장하고 메모리 매핑해서 읽는다.
+ * - 작성/수정/삭제는 메모리 버퍼에 모았다가 search.posts.flush-docs 개가 되면 새 세그먼트로 쓴다
+ *   (기존 세그먼트에 있던 문서는 삭제 표시만 하고, 세그먼트가 search.posts.max-segments 개를 넘으면 작은 것부터 합친다)
+ * - 세그먼트 쓰기와 병합은 잠금 밖에서 하고 세그먼트 목록만 바꿔 끼우므로 검색과 반영을 막지 않는다
+ * - 검색어의 모든 용어가 들어간 문서만 찾고 (AND), 단어 안의 bigram 과 따옴표로 묶은 구절은 연속 위치인지 확인한다
+ * - 순위는 BM25 에 작성 시각 가중치(반감기 search.posts.recency-half-life-hours)를 곱한 점수
+ * - 공개 범위는 검색하는 사용자 기준으로 거른다 (전체 공개 / 본인 / 팔로우 중인 작성자의 친구 공개)
+ *
+ * 기동 시 저장된 세그먼트를 열고 마지막으로 반영한 updated_at 이후 변경분을 posts 에서 다시 읽는다.
+ * 세그먼트가 없으면 posts 전체로 새로 만든다. 준비되기 전에는 검색을 처리하지 않는다 (호출하는 쪽에서 LIKE 검색).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchIndex {
+
+    @Value("${search.posts.index-dir:data/search/posts}")
+    private String indexDir;
+
+    @Value("${search.posts.flush-docs:1000}")
+    private int flushDocs;
+
+    @Value("${search.posts.build-segment-docs:50000}")
+    private int buildSegmentDocs;
+
+    @Value("${search.posts.max-segments:10}")
+    private int maxSegments;
+
+    @Value("${search.posts.merge-max-docs:500000}")
+    private int mergeMaxDocs;
+
+    @Value("${search.posts.bm25-k1:1.2}")
+    private double k1;
+
+    @Value("${search.posts.bm25-b:0.75}")
+    private double b;
+
+    @Value("${search.posts.recency-weight:0.5}")
+    private double recencyWeight;
+
+    @Value("${search.posts.recency-half-life-hours:72}")
+    private double recencyHalfLifeHours;
+
+    // 커밋 순서와 updated_at 순서가 어긋날 수 있어 변경분을 다시 읽을 때 이만큼 앞에서부터 읽는다
+    @Value("${search.posts.catch-up-margin-seconds:300}")
+    private long catchUpMarginSeconds;
+
+    private static final String MANIFEST = "manifest.properties";
+    private static final Pattern QUOTED = Pattern.compile("\"([^\"]*)\"");
+
+    private final DatabaseClient databaseClient;
+    private final MeterRegistry meterRegistry;
+    private final SocialGraph socialGraph;
+
+    private Path directory;
+    // 세그먼트 목록은 바꾸지 않는 List 로 통째로 바꾼다 (바꿀 때만 this 로 동기화)
+    private volatile List<Segment> segments = List.of();
+    // 검색이 읽는 목록 (세그먼트 + 버퍼), 버퍼나 세그먼트 목록이 바뀌면 null 로 두고 다음 검색 때 다시 만든다
+    private volatile List<Segment> searchable;
+    // 아직 세그먼트로 쓰지 않은 문서 (게시물 ID -> 문서), this 로 동기화
+    private final Map<Long, IndexedPost> buffer = new HashMap<>();
+    private int flushThreshold;
+    // 반영한 변경 중 가장 늦은 updated_at (세그먼트를 쓸 때 manifest 에 저장), this 로 동기화
+    private LocalDateTime appliedWatermark;
+    // 세그먼트 쓰기/병합은 한 번에 하나씩 (nextGeneration 도 이 잠금 안에서만 바꾼다)
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private long nextGeneration = 1;
+    // 병합 중인 세그먼트와 병합하는 동안 그 세그먼트에서 지운 게시물 ID (병합 결과에서도 지운다), this 로 동기화
+    private Set<Segment> merging = Set.of();
+    private final List<Long> deletedWhileMerging = new ArrayList<>();
+    private volatile boolean ready;
+    private Timer queryTimer;
+
+    private record ParsedQuery(List<byte[]> terms, List<int[]> phrases) {
+    }
+
+    private record Hit(long postId, double score) {
+    }
+
+    @PostConstruct
+    public void init() {
+        directory = Path.of(indexDir);
+        flushThreshold = flushDocs;
+        queryTimer = Timer.builder("search.posts.query")
+            .description("게시물 전문 검색 색인 조회 시간")
+            .register(meterRegistry);
+        Gauge.builder("search.posts.segments", this, index -> index.segments.size())
+            .description("게시물 검색 색인 세그먼트 수")
+            .register(meterRegistry);
+        Gauge.builder("search.posts.docs", this, index -> index.segments.stream().mapToLong(Segment::liveDocCount).sum())
+            .description("게시물 검색 색인 세그먼트에 저장된 게시물 수")
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void openOnStartup() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Mono.fromCallable(this::openExisting)
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(watermark -> watermark
+                .map(since -> catchUp(since.minusSeconds(catchUpMarginSeconds)))
+                .orElseGet(() -> rebuild(startedAt)))
+            .doOnSuccess(ignored -> {
+                ready = true;
+                log.info("게시물 검색 색인 준비 완료: 세그먼트 {}개", segments.size());
+            })
+            .subscribe(null, error -> log.error("게시물 검색 색인 준비 실패: {}", error.getMessage()));
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("게시물 검색 색인 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 게시물 작성/수정/삭제 반영 (삭제된 게시물은 색인에서 제거)
+     */
+    public Mono<Void> indexPost(Post post) {
+        return Mono.fromRunnable(() -> apply(List.of(post)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorResume(error -> {
+                log.error("게시물 검색 색인 반영 실패: postId={}, {}", post.getId(), error.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * 검색어와 일치하는 게시물 ID (점수순, page/size 구간)
+     * 색인이 준비되지 않았거나 색인으로 처리할 수 없는 검색어(한 글자 한글 등)면 empty
+     */
+    public Mono<List<Long>> search(String query, Long viewerId, int page, int size) {
+        if (!ready || query == null) {
+            return Mono.empty();
+        }
+        ParsedQuery parsed = parse(query);
+        if (parsed == null) {
+            return Mono.empty();
+        }
+
+        // 친구 공개 게시물을 볼 수 있는지 (팔로우 여부는 SocialGraph, 그래프 로드 전에는 팔로잉 목록을 조회)
+        Mono<LongPredicate> following = viewerId == null
+            ? Mono.just(authorId -> false)
+            : socialGraph.isReady()
+                ? Mono.just(authorId -> socialGraph.isFollowing(viewerId, authorId))
+                : databaseClient.sql("SELECT following_id FROM follows WHERE follower_id = :viewerId")
+                    .bind("viewerId", viewerId)
+                    .map((row, metadata) -> row.get("following_id", Long.class))
+                    .all()
+                    .collect(Collectors.toSet())
+                    .map(followingIds -> followingIds::contains);
+
+        int from = page * size;
+        return following
+            .publishOn(Schedulers.boundedElastic())
+            .map(follows -> queryTimer.record(() -> execute(parsed, viewerId, follows, from + size)))
+            .map(hits -> hits.size() <= from ? List.<Long>of() : hits.subList(from, Math.min(hits.size(), from + size)));
+    }
+
+    private List<Long> execute(ParsedQuery query, Long viewerId, LongPredicate follows, int topK) {
+        List<Segment> current = snapshot();
+        long docCount = 0;
+        long totalLength = 0;
+        for (Segment segment : current) {
+            docCount += segment.liveDocCount();
+            totalLength += segment.liveLength();
+        }
+        if (docCount == 0 || topK <= 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / docCount);
+
+        int termCount = query.terms().size();
+        double[] idf = new double[termCount];
+        for (int i = 0; i < termCount; i++) {
+            long docFreq = 0;
+            for (Segment segment : current) {
+                int term = segment.findTerm(query.terms().get(i));
+                if (term >= 0) {
+                    docFreq += segment.docFreq(term);
+                }
+            }
+            idf[i] = Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::postId));
+        for (Segment segment : current) {
+            searchSegment(segment, query, idf, averageLength, viewerId, follows, now, top, topK);
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::postId).reversed());
+        return hits.stream().map(Hit::postId).toList();
+    }
+
+    private void searchSegment(Segment segment, ParsedQuery query, double[] idf, double averageLength,
+                               Long viewerId, LongPredicate follows, long now, PriorityQueue<Hit> top, int topK) {
+        int termCount = query.terms().size();
+        PostingList[] lists = new PostingList[termCount];
+        for (int i = 0; i < termCount; i++) {
+            int term = segment.findTerm(query.terms().get(i));
+            if (term < 0) {
+                return;
+            }
+            lists[i] = segment.postings(term);
+        }
+
+        // 문서 수가 가장 적은 용어를 기준으로 나머지 목록을 따라가며 교집합을 구한다
+        int driver = 0;
+        for (int i = 1; i < termCount; i++) {
+            if (lists[i].docs().length < lists[driver].docs().length) {
+                driver = i;
+            }
+        }
+        int[] cursors = new int[termCount];
+
+        documents:
+        for (int k = 0; k < lists[driver].docs().length; k++) {
+            int doc = lists[driver].docs()[k];
+            cursors[driver] = k;
+            for (int i = 0; i < termCount; i++) {
+                if (i == driver) {
+                    continue;
+                }
+                int[] docs = lists[i].docs();
+                while (cursors[i] < docs.length && docs[cursors[i]] < doc) {
+                    cursors[i]++;
+                }
+                if (cursors[i] == docs.length) {
+                    return;
+                }
+                if (docs[cursors[i]] != doc) {
+                    continue documents;
+                }
+            }
+
+            if (!segment.isLive(doc) || !isVisible(segment, doc, viewerId, follows)) {
+                continue;
+            }
+            for (int[] phrase : query.phrases()) {
+                if (!matchesPhrase(lists, cursors, phrase)) {
+                    continue documents;
+                }
+            }
+
+            double lengthNorm = k1 * (1 - b + b * segment.length(doc) / averageLength);
+            double score = 0;
+            for (int i = 0; i < termCount; i++) {
+                int freq = lists[i].freqs()[cursors[i]];
+                score += idf[i] * freq * (k1 + 1) / (freq + lengthNorm);
+            }
+            double ageHours = Math.max(0, now - segment.createdAtSeconds(doc)) / 3600.0;
+            score *= 1 + recencyWeight * Math.pow(0.5, ageHours / recencyHalfLifeHours);
+
+            Hit hit = new Hit(segment.postId(doc), score);
+            if (top.size() < topK) {
+                top.add(hit);
+            } else if (top.comparator().compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+    }
+
+    private boolean isVisible(Segment segment, int doc, Long viewerId, LongPredicate follows) {
+        byte visibility = segment.visibility(doc);
+        if (visibility == IndexedPost.PUBLIC) {
+            return true;
+        }
+        long authorId = segment.authorId(doc);
+        if (viewerId != null && authorId == viewerId) {
+            return true;
+        }
+        return visibility == IndexedPost.FRIENDS && follows.test(authorId);
+    }
+
+    // 구절의 j 번째 용어가 첫 용어 위치 + j 에 있는지
+    private boolean matchesPhrase(PostingList[] lists, int[] cursors, int[] phrase) {
+        PostingList first = lists[phrase[0]];
+        int index = cursors[phrase[0]];
+        int start = first.positionStarts()[index];
+        for (int p = start; p < start + first.freqs()[index]; p++) {
+            int position = first.positions()[p];
+            boolean matched = true;
+            for (int j = 1; j < phrase.length && matched; j++) {
+                matched = lists[phrase[j]].hasPosition(cursors[phrase[j]], position + j);
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 따옴표로 묶은 부분은 구절, 나머지는 띄어쓰기 단위 단어 (단어 안의 bigram 도 연속 위치여야 한다)
+     * 한 글자 한글/한자 토큰은 bigram 색인으로 찾을 수 없어 null
+     */
+    private static ParsedQuery parse(String query) {
+        List<List<String>> units = new ArrayList<>();
+        StringBuilder rest = new StringBuilder();
+        Matcher matcher = QUOTED.matcher(query);
+        int last = 0;
+        while (matcher.find()) {
+            rest.append(query, last, matcher.start()).append(' ');
+            units.add(SearchTokenizer.tokenize(matcher.group(1)));
+            last = matcher.end();
+        }
+        rest.append(query.substring(last));
+        for (String word : rest.toString().split("\\s+")) {
+            units.add(SearchTokenizer.tokenize(word));
+        }
+
+        Map<String, Integer> termIndexes = new LinkedHashMap<>();
+        List<int[]> phrases = new ArrayList<>();
+        for (List<String> unit : units) {
+            int[] phrase = new int[unit.size()];
+            for (int i = 0; i < unit.size(); i++) {
+                String token = unit.get(i);
+                if (SearchTokenizer.isSingleCjkCharacter(token)) {
+                    return null;
+                }
+                phrase[i] = termIndexes.computeIfAbsent(token, key -> termIndexes.size());
+            }
+            if (phrase.length > 1) {
+                phrases.add(phrase);
+            }
+        }
+        if (termIndexes.isEmpty()) {
+            return null;
+        }
+        List<byte[]> terms = termIndexes.keySet().stream()
+            .map(term -> term.getBytes(StandardCharsets.UTF_8))
+            .toList();
+        return new ParsedQuery(terms, phrases);
+    }
+
+    // 디스크 세그먼트 + 버퍼 (바뀐 것이 없으면 잠그지 않는다)
+    private List<Segment> snapshot() {
+        List<Segment> current = searchable;
+        return current != null ? current : buildSnapshot();
+    }
+
+    private synchronized List<Segment> buildSnapshot() {
+        if (searchable == null) {
+            if (buffer.isEmpty()) {
+                searchable = segments;
+            } else {
+                List<Segment> current = new ArrayList<>(segments);
+                current.add(new Segment(0, SegmentWriter.encode(buffer.values())));
+                searchable = List.copyOf(current);
+            }
+        }
+        return searchable;
+    }
+
+    // 버퍼가 가득 차면 세그먼트로 쓴다 (다른 스레드가 쓰는 중이면 그쪽에 맡기고 돌아간다)
+    private void apply(List<Post> posts) {
+        if (applyToBuffer(posts) && flushLock.tryLock()) {
+            try {
+                flushLocked();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private synchronized boolean applyToBuffer(List<Post> posts) {
+        for (Post post : posts) {
+            buffer.remove(post.getId());
+            for (Segment segment : segments) {
+                int doc = segment.findDoc(post.getId());
+                if (doc >= 0 && segment.liveDocs().delete(doc, segment.length(doc)) && merging.contains(segment)) {
+                    deletedWhileMerging.add(post.getId());
+                }
+            }
+            if (!post.isDeleted()) {
+                buffer.put(post.getId(), toIndexed(post));
+            }
+            if (post.getUpdatedAt() != null
+                && (appliedWatermark == null || post.getUpdatedAt().isAfter(appliedWatermark))) {
+                appliedWatermark = post.getUpdatedAt();
+            }
+        }
+        searchable = null;
+        return buffer.size() >= flushThreshold;
+    }
+
+    private static IndexedPost toIndexed(Post post) {
+        List<String> tokens = SearchTokenizer.tokenize(post.getContent());
+        byte visibility = switch (post.getVisibility() != null ? post.getVisibility() : VisibilityType.PUBLIC) {
+            case PUBLIC -> IndexedPost.PUBLIC;
+            case FRIENDS -> IndexedPost.FRIENDS;
+            case PRIVATE -> IndexedPost.PRIVATE;
+        };
+        long createdAt = post.getCreatedAt() != null
+            ? post.getCreatedAt().atZone(ZoneId.systemDefault()).toEpochSecond()
+            : System.currentTimeMillis() / 1000;
+        return new IndexedPost(new DocInfo(post.getId(), post.getUserId(), createdAt, tokens.size(), visibility), tokens);
+    }
+
+    /**
+     * 버퍼를 새 세그먼트로 쓰고, 삭제 표시와 manifest 를 저장한다
+     */
+    private void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 버퍼는 떠 온 뒤 잠금 밖에서 쓰고, 세그먼트 목록에 넣을 때 버퍼에서 뺀다 (쓰는 동안에는 버퍼에서 검색된다)
+    private void flushLocked() {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Map<Long, IndexedPost> flushing;
+            LocalDateTime watermark;
+            synchronized (this) {
+                flushing = new HashMap<>(buffer);
+                watermark = appliedWatermark;
+            }
+            if (!flushing.isEmpty()) {
+                long generation = nextGeneration++;
+                writeSegment(generation, SegmentWriter.encode(flushing.values()));
+                Segment written = openSegment(generation);
+                synchronized (this) {
+                    flushing.forEach((postId, post) -> {
+                        if (buffer.get(postId) == post) {
+                            buffer.remove(postId);
+                        } else {
+                            // 쓰는 동안 다시 수정/삭제된 게시물은 새 세그먼트에서 지운다 (새 내용은 버퍼에 있다)
+                            int doc = written.findDoc(postId);
+                            written.liveDocs().delete(doc, written.length(doc));
+                        }
+                    });
+                    List<Segment> updated = new ArrayList<>(segments);
+                    updated.add(written);
+                    segments = List.copyOf(updated);
+                    searchable = null;
+                }
+            }
+            for (Segment segment : segments) {
+                if (segment.liveDocs().isDirty()) {
+                    segment.liveDocs().save(deletesPath(segment.generation()));
+                }
+            }
+            writeManifest(watermark);
+            merge(watermark);
+        } catch (IOException e) {
+            throw new UncheckedIOException("게시물 검색 색인 저장 실패", e);
+        }
+    }
+
+    /**
+     * 세그먼트가 너무 많으면 문서 수가 적은 세그먼트부터 합친다 (삭제된 문서는 이때 실제로 빠진다)
+     * 합친 세그먼트는 잠금 밖에서 만들고, 만드는 동안 지운 게시물은 목록을 바꿀 때 합친 세그먼트에서도 지운다
+     */
+    private void merge(LocalDateTime watermark) throws IOException {
+        while (segments.size() > maxSegments) {
+            List<Segment> bySize = new ArrayList<>(segments);
+            bySize.sort(Comparator.comparingInt(Segment::liveDocCount));
+            int mergeCount = Math.max(2, segments.size() - maxSegments + 1);
+            List<Segment> selected = new ArrayList<>();
+            long selectedDocs = 0;
+            for (Segment segment : bySize) {
+                if (selected.size() >= mergeCount
+                    || (selected.size() >= 2 && selectedDocs + segment.liveDocCount() > mergeMaxDocs)) {
+                    break;
+                }
+                selected.add(segment);
+                selectedDocs += segment.liveDocCount();
+            }
+
+            long generation = nextGeneration++;
+            Segment merged;
+            try {
+                synchronized (this) {
+                    merging = Set.copyOf(selected);
+                }
+                writeSegment(generation, mergeSegments(selected));
+                merged = openSegment(generation);
+                synchronized (this) {
+                    for (Long postId : deletedWhileMerging) {
+                        int doc = merged.findDoc(postId);
+                        if (doc >= 0) {
+                            merged.liveDocs().delete(doc, merged.length(doc));
+                        }
+                    }
+                    List<Segment> updated = new ArrayList<>(segments);
+                    updated.removeAll(selected);
+                    updated.add(merged);
+                    segments = List.copyOf(updated);
+                    searchable = null;
+                }
+            } finally {
+                synchronized (this) {
+                    merging = Set.of();
+                    deletedWhileMerging.clear();
+                }
+            }
+            writeManifest(watermark);
+
+            // 진행 중인 검색은 이미 매핑한 버퍼를 계속 읽으므로 파일만 지운다
+            for (Segment segment : selected) {
+                Files.deleteIfExists(segmentPath(segment.generation()));
+                Files.deleteIfExists(deletesPath(segment.generation()));
+            }
+            log.info("게시물 검색 색인 세그먼트 {}개 병합: 문서 {}개", selected.size(), selectedDocs);
+        }
+    }
+
+    private static ByteBuffer mergeSegments(List<Segment> sources) {
+        // 살아 있는 문서를 게시물 ID 순으로 다시 번호를 매긴다
+        List<long[]> live = new ArrayList<>();
+        int[][] remap = new int[sources.size()][];
+        for (int s = 0; s < sources.size(); s++) {
+            Segment segment = sources.get(s);
+            remap[s] = new int[segment.docCount()];
+            Arrays.fill(remap[s], -1);
+            for (int doc = 0; doc < segment.docCount(); doc++) {
+                if (segment.isLive(doc)) {
+                    live.add(new long[]{segment.postId(doc), s, doc});
+                }
+            }
+        }
+        live.sort(Comparator.comparingLong(entry -> entry[0]));
+        List<DocInfo> docs = new ArrayList<>(live.size());
+        for (int newDoc = 0; newDoc < live.size(); newDoc++) {
+            long[] entry = live.get(newDoc);
+            Segment segment = sources.get((int) entry[1]);
+            int doc = (int) entry[2];
+            remap[(int) entry[1]][doc] = newDoc;
+            docs.add(new DocInfo(entry[0], segment.authorId(doc), segment.createdAtSeconds(doc),
+                segment.length(doc), segment.visibility(doc)));
+        }
+
+        // 세그먼트별 용어 목록을 정렬 순서대로 동시에 읽으며 같은 용어의 포스팅을 합친다
+        SegmentWriter writer = new SegmentWriter(docs);
+        PriorityQueue<int[]> heads = new PriorityQueue<>(
+            (left, right) -> SegmentWriter.TERM_ORDER.compare(sources.get(left[0]).term(left[1]), sources.get(right[0]).term(right[1])));
+        for (int s = 0; s < sources.size(); s++) {
+            if (sources.get(s).termCount() > 0) {
+                heads.add(new int[]{s, 0});
+            }
+        }
+        while (!heads.isEmpty()) {
+            byte[] term = sources.get(heads.peek()[0]).term(heads.peek()[1]);
+            List<int[]> entries = new ArrayList<>();
+            List<int[]> positionLists = new ArrayList<>();
+            while (!heads.isEmpty() && Arrays.equals(sources.get(heads.peek()[0]).term(heads.peek()[1]), term)) {
+                int[] head = heads.poll();
+                PostingList postings = sources.get(head[0]).postings(head[1]);
+                for (int i = 0; i < postings.docs().length; i++) {
+                    int newDoc = remap[head[0]][postings.docs()[i]];
+                    if (newDoc >= 0) {
+                        entries.add(new int[]{newDoc, postings.freqs()[i], positionLists.size()});
+                        positionLists.add(Arrays.copyOfRange(postings.positions(),
+                            postings.positionStarts()[i], postings.positionStarts()[i] + postings.freqs()[i]));
+                    }
+                }
+                if (head[1] + 1 < sources.get(head[0]).termCount()) {
+                    heads.add(new int[]{head[0], head[1] + 1});
+                }
+            }
+            if (entries.isEmpty()) {
+                continue;
+            }
+            entries.sort(Comparator.comparingInt(entry -> entry[0]));
+            int[] docIds = new int[entries.size()];
+            int[] freqs = new int[entries.size()];
+            int total = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                docIds[i] = entries.get(i)[0];
+                freqs[i] = entries.get(i)[1];
+                total += freqs[i];
+            }
+            int[] positions = new int[total];
+            int offset = 0;
+            for (int[] entry : entries) {
+                int[] list = positionLists.get(entry[2]);
+                System.arraycopy(list, 0, positions, offset, list.length);
+                offset += list.length;
+            }
+            writer.addTerm(term, docIds, freqs, positions);
+        }
+        return writer.finish();
+    }
+
+    /**
+     * 저장된 세그먼트를 연다 (없으면 empty)
+     */
+    private synchronized Optional<LocalDateTime> openExisting() throws IOException {
+        Path manifestPath = directory.resolve(MANIFEST);
+        if (!Files.exists(manifestPath)) {
+            return Optional.empty();
+        }
+        Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(manifestPath)) {
+            manifest.load(in);
+        }
+        List<Segment> opened = new ArrayList<>();
+        for (String generation : manifest.getProperty("segments", "").split(",")) {
+            if (!generation.isBlank()) {
+                opened.add(openSegment(Long.parseLong(generation.trim())));
+            }
+        }
+        segments = List.copyOf(opened);
+        searchable = null;
+        nextGeneration = Long.parseLong(manifest.getProperty("nextGeneration", "1"));
+        appliedWatermark = LocalDateTime.parse(manifest.getProperty("watermark"));
+        return Optional.of(appliedWatermark);
+    }
+
+    // 세그먼트가 없을 때 posts 전체로 새로 만든다 (만드는 동안 바뀐 게시물은 시작 시각 이후 변경분으로 다시 반영)
+    private Mono<Void> rebuild(LocalDateTime startedAt) {
+        log.info("게시물 검색 색인 새로 생성");
+        setFlushThreshold(buildSegmentDocs);
+        return applyRows(databaseClient.sql(
+                "SELECT id, user_id, content, visibility, created_at, updated_at, is_deleted FROM posts " +
+                "WHERE is_deleted = false"))
+            .doFinally(signal -> setFlushThreshold(flushDocs))
+            .then(catchUp(startedAt.minusSeconds(catchUpMarginSeconds)));
+    }
+
+    private Mono<Void> catchUp(LocalDateTime since) {
+        return applyRows(databaseClient.sql(
+                    "SELECT id, user_id, content, visibility, created_at, updated_at, is_deleted FROM posts " +
+                    "WHERE updated_at >= :since ORDER BY updated_at, id")
+                .bind("since", since))
+            .then(Mono.fromRunnable(this::flush).subscribeOn(Schedulers.boundedElastic()))
+            .then();
+    }
+
+    private Mono<Void> applyRows(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map((row, metadata) -> Post.builder()
+                .id(row.get("id", Long.class))
+                .userId(row.get("user_id", Long.class))
+                .content(row.get("content", String.class))
+                .visibility(VisibilityType.valueOf(row.get("visibility", String.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .isDeleted(Boolean.TRUE.equals(row.get("is_deleted", Boolean.class)))
+                .build())
+            .all()
+            .buffer(1000)
+            .concatMap(batch -> Mono.fromRunnable(() -> apply(batch)).subscribeOn(Schedulers.boundedElastic()))
+            .then();
+    }
+
+    private synchronized void setFlushThreshold(int threshold) {
+        flushThreshold = threshold;
+    }
+
+    private void writeSegment(long generation, ByteBuffer encoded) throws IOException {
+        Path temp = directory.resolve(generation + ".seg.tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (encoded.hasRemaining()) {
+                channel.write(encoded);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, segmentPath(generation), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Segment openSegment(long generation) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(generation), StandardOpenOption.READ)) {
+            Segment segment = new Segment(generation, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            segment.loadDeletes(deletesPath(generation));
+            return segment;
+        }
+    }
+
+    private void writeManifest(LocalDateTime watermark) throws IOException {
+        Properties manifest = new Properties();
+        manifest.setProperty("segments", segments.stream()
+            .map(segment -> String.valueOf(segment.generation()))
+            .collect(Collectors.joining(",")));
+        manifest.setProperty("nextGeneration", String.valueOf(nextGeneration));
+        manifest.setProperty("watermark", String.valueOf(watermark != null ? watermark : LocalDateTime.now()));
+
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            manifest.store(out, null);
+        }
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long generation) {
+        return directory.resolve(generation + ".seg");
+    }
+
+    private Path deletesPath(long generation) {
+        return directory.resolve(generation + ".del");
+    }
+}
\ No newline at end of file
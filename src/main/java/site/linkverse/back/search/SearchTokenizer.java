@@ -0,0 +1,86 @@
+package site.linkverse.back.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색 색인용 토크나이저
+ *
+ * NFKC 정규화 + 소문자로 바꾼 뒤 글자 종류별로 나눈다.
+ * - 한글/한자/가나: 띄어쓰기 없이 붙여 쓰는 경우가 많아 두 글자씩 겹쳐 자른다 (bigram, "스프링" → "스프", "프링")
+ *   한 글자만 있는 경우는 그 글자 하나를 토큰으로 쓴다
+ * - 그 밖의 문자/숫자: 단어 단위 (최대 MAX_TERM_LENGTH 글자)
+ * - 나머지(공백, 문장부호)는 구분자
+ * 토큰의 순서가 곧 위치이므로 연속 위치 여부로 구절(phrase)을 확인한다.
+ */
+public final class SearchTokenizer {
+
+    private static final int MAX_TERM_LENGTH = 32;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        StringBuilder word = new StringBuilder();
+        List<String> cjkRun = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjkRun.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjkRun, tokens);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens);
+        return tokens;
+    }
+
+    /**
+     * 한 글자짜리 한글/한자 토큰인지 (색인에는 두 글자 단위로만 들어가므로 색인으로 찾을 수 없다)
+     */
+    public static boolean isSingleCjkCharacter(String token) {
+        return token.codePointCount(0, token.length()) == 1 && isCjk(token.codePointAt(0));
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+            || script == Character.UnicodeScript.HAN
+            || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<String> run, List<String> tokens) {
+        if (run.size() == 1) {
+            tokens.add(run.get(0));
+        } else {
+            for (int i = 0; i + 1 < run.size(); i++) {
+                tokens.add(run.get(i) + run.get(i + 1));
+            }
+        }
+        run.clear();
+    }
+}
\ No newline at end of file
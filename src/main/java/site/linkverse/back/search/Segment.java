@@ -0,0 +1,308 @@
+package site.linkverse.back.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 검색 색인 세그먼트 읽기 (SegmentWriter 형식)
+ *
+ * 디스크 세그먼트는 파일을 메모리 매핑한 버퍼를, 아직 디스크에 쓰지 않은 최근 문서는 힙 버퍼를 그대로 읽는다.
+ * 세그먼트 내용은 바뀌지 않고, 수정/삭제된 문서는 LiveDocs 에 삭제 표시만 한다.
+ */
+public final class Segment {
+
+    private final long generation;
+    private final ByteBuffer buffer;
+    private final int docCount;
+    private final int termCount;
+    private final int termTableOffset;
+    private final int termBytesOffset;
+    private final int postingsOffset;
+    private final long totalLength;
+    private final LiveDocs liveDocs;
+
+    /**
+     * 한 용어의 포스팅 (문서 번호 오름차순)
+     * positions 는 문서 i 의 위치가 positionStarts[i] 부터 freqs[i] 개
+     */
+    public record PostingList(int[] docs, int[] freqs, int[] positionStarts, int[] positions) {
+
+        public boolean hasPosition(int index, int position) {
+            int low = positionStarts[index];
+            int high = low + freqs[index] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (positions[mid] < position) {
+                    low = mid + 1;
+                } else if (positions[mid] > position) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public Segment(long generation, ByteBuffer buffer) {
+        this.generation = generation;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != SegmentWriter.MAGIC || buffer.getInt(4) != SegmentWriter.VERSION) {
+            throw new IllegalStateException("검색 색인 세그먼트 형식이 올바르지 않습니다: " + generation);
+        }
+        this.docCount = buffer.getInt(8);
+        this.termCount = buffer.getInt(12);
+        this.termTableOffset = (int) buffer.getLong(16);
+        this.termBytesOffset = (int) buffer.getLong(24);
+        this.postingsOffset = (int) buffer.getLong(32);
+        long length = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            length += length(doc);
+        }
+        this.totalLength = length;
+        this.liveDocs = new LiveDocs(docCount);
+    }
+
+    /**
+     * 저장해 둔 삭제 표시를 읽는다 (LiveDocs.save 형식)
+     */
+    public void loadDeletes(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        for (int word = 0; in.remaining() >= 8; word++) {
+            for (long bits = in.getLong(); bits != 0; bits &= bits - 1) {
+                int doc = word * 64 + Long.numberOfTrailingZeros(bits);
+                if (doc < docCount) {
+                    liveDocs.delete(doc, length(doc));
+                }
+            }
+        }
+        liveDocs.dirty = false;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int docCount() {
+        return docCount;
+    }
+
+    public int liveDocCount() {
+        return docCount - liveDocs.deletedCount();
+    }
+
+    public long liveLength() {
+        return totalLength - liveDocs.deletedLength();
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public LiveDocs liveDocs() {
+        return liveDocs;
+    }
+
+    public long postId(int doc) {
+        return buffer.getLong(docOffset(doc));
+    }
+
+    public long authorId(int doc) {
+        return buffer.getLong(docOffset(doc) + 8);
+    }
+
+    public long createdAtSeconds(int doc) {
+        return buffer.getLong(docOffset(doc) + 16);
+    }
+
+    public int length(int doc) {
+        return buffer.getInt(docOffset(doc) + 24);
+    }
+
+    public byte visibility(int doc) {
+        return buffer.get(docOffset(doc) + 28);
+    }
+
+    public boolean isLive(int doc) {
+        return liveDocs.isLive(doc);
+    }
+
+    /**
+     * 게시물 ID 의 문서 번호 (없으면 -1)
+     */
+    public int findDoc(long postId) {
+        int low = 0;
+        int high = docCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = postId(mid);
+            if (value < postId) {
+                low = mid + 1;
+            } else if (value > postId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 용어 번호 (없으면 -1)
+     */
+    public int findTerm(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = compareTerm(mid, term);
+            if (compared < 0) {
+                low = mid + 1;
+            } else if (compared > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public byte[] term(int termIndex) {
+        int entry = termEntryOffset(termIndex);
+        byte[] term = new byte[buffer.getInt(entry + 4)];
+        buffer.get(termBytesOffset + buffer.getInt(entry), term);
+        return term;
+    }
+
+    public int docFreq(int termIndex) {
+        return buffer.getInt(termEntryOffset(termIndex) + 16);
+    }
+
+    public PostingList postings(int termIndex) {
+        int entry = termEntryOffset(termIndex);
+        int docFreq = buffer.getInt(entry + 16);
+        ByteBuffer in = buffer.duplicate().position(postingsOffset + (int) buffer.getLong(entry + 8));
+
+        int[] docs = new int[docFreq];
+        int[] freqs = new int[docFreq];
+        int[] positionStarts = new int[docFreq];
+        int[] positions = new int[Math.max(16, docFreq * 2)];
+        int positionCount = 0;
+        int doc = 0;
+        for (int i = 0; i < docFreq; i++) {
+            doc += readVarInt(in);
+            docs[i] = doc;
+            freqs[i] = readVarInt(in);
+            positionStarts[i] = positionCount;
+            if (positionCount + freqs[i] > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length * 2, positionCount + freqs[i]));
+            }
+            int position = 0;
+            for (int j = 0; j < freqs[i]; j++) {
+                position += readVarInt(in);
+                positions[positionCount++] = position;
+            }
+        }
+        return new PostingList(docs, freqs, positionStarts, positions);
+    }
+
+    private int compareTerm(int termIndex, byte[] term) {
+        int entry = termEntryOffset(termIndex);
+        int start = termBytesOffset + buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int compared = Integer.compare(buffer.get(start + i) & 0xFF, term[i] & 0xFF);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(length, term.length);
+    }
+
+    private int docOffset(int doc) {
+        return SegmentWriter.HEADER_SIZE + doc * SegmentWriter.DOC_SIZE;
+    }
+
+    private int termEntryOffset(int termIndex) {
+        return termTableOffset + termIndex * SegmentWriter.TERM_ENTRY_SIZE;
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * 문서별 삭제 표시 (검색 중에도 잠금 없이 읽을 수 있도록 AtomicLongArray 비트셋)
+     */
+    public static final class LiveDocs {
+        private final AtomicLongArray deleted;
+        private final AtomicInteger deletedCount = new AtomicInteger();
+        private final AtomicLong deletedLength = new AtomicLong();
+        private volatile boolean dirty;
+
+        public LiveDocs(int docCount) {
+            this.deleted = new AtomicLongArray((docCount + 63) / 64);
+        }
+
+        public boolean isLive(int doc) {
+            return (deleted.get(doc >>> 6) & (1L << doc)) == 0;
+        }
+
+        /**
+         * 삭제 표시 (이미 삭제된 문서면 false)
+         */
+        public boolean delete(int doc, int length) {
+            long bit = 1L << doc;
+            long previous = deleted.getAndAccumulate(doc >>> 6, bit, (current, mask) -> current | mask);
+            if ((previous & bit) != 0) {
+                return false;
+            }
+            deletedCount.incrementAndGet();
+            deletedLength.addAndGet(length);
+            dirty = true;
+            return true;
+        }
+
+        public int deletedCount() {
+            return deletedCount.get();
+        }
+
+        public long deletedLength() {
+            return deletedLength.get();
+        }
+
+        public boolean isDirty() {
+            return dirty;
+        }
+
+        public void save(Path path) throws IOException {
+            ByteBuffer out = ByteBuffer.allocate(deleted.length() * 8);
+            for (int i = 0; i < deleted.length(); i++) {
+                out.putLong(deleted.get(i));
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, out.array());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package site.linkverse.back.search;
+
+import site.linkverse.back.search.IndexedPost.DocInfo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 검색 색인 세그먼트 작성
+ *
+ * 세그먼트 형식 (big-endian)
+ * - 헤더: magic, version, 문서 수, 용어 수, 용어 표 / 용어 바이트 / 포스팅 시작 위치
+ * - 문서 표: 문서 번호(게시물 ID 오름차순) 순서로 게시물 ID, 작성자 ID, 작성 시각, 토큰 수, 공개 범위 (고정 길이)
+ * - 용어 표: UTF-8 바이트 오름차순으로 용어 위치/길이, 포스팅 위치, 문서 빈도 (고정 길이, 이진 탐색)
+ * - 포스팅: 문서마다 varint(문서 번호 차이), varint(빈도), 빈도만큼 varint(위치 차이)
+ * 문서 번호와 위치를 앞 값과의 차이로 저장하므로 대부분 1바이트로 들어간다.
+ */
+public final class SegmentWriter {
+
+    static final int MAGIC = 0x4C565350;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 8 + 8 + 8;
+    static final int DOC_SIZE = 8 + 8 + 8 + 4 + 1;
+    static final int TERM_ENTRY_SIZE = 4 + 4 + 8 + 4;
+
+    static final Comparator<byte[]> TERM_ORDER = Arrays::compareUnsigned;
+
+    private final List<DocInfo> docs;
+    private final GrowableBuffer termTable = new GrowableBuffer(1024);
+    private final GrowableBuffer termBytes = new GrowableBuffer(1024);
+    private final GrowableBuffer postings = new GrowableBuffer(4096);
+    private int termCount;
+    private byte[] lastTerm;
+
+    /**
+     * @param docs 게시물 ID 오름차순 (목록의 순서가 문서 번호)
+     */
+    public SegmentWriter(List<DocInfo> docs) {
+        this.docs = docs;
+    }
+
+    /**
+     * 게시물 목록으로 세그먼트를 만든다
+     */
+    public static ByteBuffer encode(Collection<IndexedPost> posts) {
+        List<IndexedPost> sorted = new ArrayList<>(posts);
+        sorted.sort(Comparator.comparingLong(post -> post.doc().postId()));
+
+        // 용어 -> (문서 번호, 위치 목록)
+        Map<String, List<int[]>> terms = new HashMap<>();
+        for (int doc = 0; doc < sorted.size(); doc++) {
+            Map<String, List<Integer>> positions = new LinkedHashMap<>();
+            List<String> tokens = sorted.get(doc).tokens();
+            for (int position = 0; position < tokens.size(); position++) {
+                positions.computeIfAbsent(tokens.get(position), key -> new ArrayList<>()).add(position);
+            }
+            for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+                int[] posting = new int[entry.getValue().size() + 1];
+                posting[0] = doc;
+                for (int i = 0; i < entry.getValue().size(); i++) {
+                    posting[i + 1] = entry.getValue().get(i);
+                }
+                terms.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(posting);
+            }
+        }
+
+        List<Map.Entry<byte[], List<int[]>>> ordered = new ArrayList<>(terms.size());
+        terms.forEach((term, list) -> ordered.add(Map.entry(term.getBytes(StandardCharsets.UTF_8), list)));
+        ordered.sort(Map.Entry.comparingByKey(TERM_ORDER));
+
+        SegmentWriter writer = new SegmentWriter(sorted.stream().map(IndexedPost::doc).toList());
+        for (Map.Entry<byte[], List<int[]>> entry : ordered) {
+            List<int[]> list = entry.getValue();
+            int[] docIds = new int[list.size()];
+            int[] freqs = new int[list.size()];
+            int total = 0;
+            for (int i = 0; i < list.size(); i++) {
+                docIds[i] = list.get(i)[0];
+                freqs[i] = list.get(i).length - 1;
+                total += freqs[i];
+            }
+            int[] positions = new int[total];
+            int offset = 0;
+            for (int[] posting : list) {
+                System.arraycopy(posting, 1, positions, offset, posting.length - 1);
+                offset += posting.length - 1;
+            }
+            writer.addTerm(entry.getKey(), docIds, freqs, positions);
+        }
+        return writer.finish();
+    }
+
+    /**
+     * 용어 하나의 포스팅 추가 (용어는 UTF-8 바이트 오름차순으로, 문서 번호는 오름차순으로 넣어야 한다)
+     *
+     * @param positions 문서 순서대로 각 문서의 위치(오름차순)를 이어 붙인 배열
+     */
+    public void addTerm(byte[] term, int[] docIds, int[] freqs, int[] positions) {
+        if (lastTerm != null && TERM_ORDER.compare(lastTerm, term) >= 0) {
+            throw new IllegalStateException("용어는 오름차순으로 추가해야 합니다");
+        }
+        lastTerm = term;
+
+        termTable.putInt(termBytes.size());
+        termTable.putInt(term.length);
+        termTable.putLong(postings.size());
+        termTable.putInt(docIds.length);
+        termBytes.put(term);
+
+        int previousDoc = 0;
+        int offset = 0;
+        for (int i = 0; i < docIds.length; i++) {
+            postings.putVarInt(docIds[i] - previousDoc);
+            postings.putVarInt(freqs[i]);
+            previousDoc = docIds[i];
+            int previousPosition = 0;
+            for (int j = 0; j < freqs[i]; j++) {
+                postings.putVarInt(positions[offset] - previousPosition);
+                previousPosition = positions[offset++];
+            }
+        }
+        termCount++;
+    }
+
+    public ByteBuffer finish() {
+        long docsSize = (long) docs.size() * DOC_SIZE;
+        long termTableOffset = HEADER_SIZE + docsSize;
+        long termBytesOffset = termTableOffset + termTable.size();
+        long postingsOffset = termBytesOffset + termBytes.size();
+        long total = postingsOffset + postings.size();
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("세그먼트 크기가 너무 큽니다: " + total);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) total);
+        buffer.putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(docs.size())
+            .putInt(termCount)
+            .putLong(termTableOffset)
+            .putLong(termBytesOffset)
+            .putLong(postingsOffset);
+        for (DocInfo doc : docs) {
+            buffer.putLong(doc.postId())
+                .putLong(doc.authorId())
+                .putLong(doc.createdAtSeconds())
+                .putInt(doc.length())
+                .put(doc.visibility());
+        }
+        termTable.writeTo(buffer);
+        termBytes.writeTo(buffer);
+        postings.writeTo(buffer);
+        return buffer.flip();
+    }
+
+    private static final class GrowableBuffer {
+        private byte[] bytes;
+        private int size;
+
+        GrowableBuffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void put(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        // 7비트씩 나누어 저장하고, 이어지는 바이트가 있으면 최상위 비트를 1로 둔다
+        void putVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeTo(ByteBuffer target) {
+            target.put(bytes, 0, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,506 @@
+package site.linkverse.back.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.graph.SocialGraph;
+import site.linkverse.back.util.HangulUtils;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * 사용자 이름 검색 색인
+ *
+ * 정규화한 사용자 이름을 자모 분해한 키로 정렬한 배열에서 이진 탐색으로 접두어 구간을 찾고 (접두어 트리와 같은 역할),
+ * 이름 중간에 들어간 검색어는 3글자(trigram) 포스팅 목록의 교집합을 구한 뒤 실제로 포함하는지 확인한다.
+ * 순위는 완전 일치 > 접두어 일치 > 중간 일치 순이고, 같은 단계 안에서는 팔로워 수가 많은 순이다.
+ * 접두어 구간 안에서는 팔로워 수 최댓값 세그먼트 트리로 팔로워가 많은 사용자부터 꺼내므로 구간 전체를 훑지 않는다.
+ * 팔로워 수는 SocialGraph 에서 읽고, 그래프가 로드되기 전에는 기동 시 follows 에서 한 번 집계한 값을 쓴다.
+ * 세그먼트 트리의 값은 팔로우/언팔로우 때(followerChanged) 갱신하고, 그래프가 로드되면 한 번 전부 다시 읽는다.
+ *
+ * 가입/이름 변경은 별도 목록(pending)에 두었다가 user-search.pending-limit 개를 넘으면 배열을 다시 만든다.
+ * 세 글자보다 짧은 검색어는 접두어로만 찾는다. 준비되기 전에는 검색을 처리하지 않는다 (호출하는 쪽에서 LIKE 검색).
+ * 오타 허용 검색(fuzzySearch)은 같은 정렬 배열에서 FuzzyMatcher 로 편집 거리가 가까운 이름을 찾는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    private static final int GRAM = 3;
+
+    // 일치 단계(오타 허용 검색은 편집 거리) -> 팔로워 수 -> 이름 -> ID 순서
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::tier)
+        .thenComparing(Comparator.comparingInt(Candidate::followers).reversed())
+        .thenComparing(Candidate::key)
+        .thenComparingLong(Candidate::id);
+
+    @Value("${user-search.pending-limit:512}")
+    private int pendingLimit;
+
+    @Value("${search.fuzzy.max-distance:2}")
+    private int fuzzyMaxDistance;
+
+    @Value("${search.fuzzy.prefix-length:1}")
+    private int fuzzyPrefixLength;
+
+    private final DatabaseClient databaseClient;
+    private final SocialGraph socialGraph;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), userId -> 0, false);
+    // 마지막으로 배열을 만든 이후 가입하거나 이름을 바꾼 사용자 (배열보다 우선), this 로 동기화
+    private final Map<Long, Entry> pending = new LinkedHashMap<>();
+    // SocialGraph 가 로드되기 전에 쓰는 팔로워 수 (그래프가 준비되면 비운다)
+    private volatile Map<Long, Integer> loadedFollowerCounts = Map.of();
+    private volatile boolean ready;
+
+    private record Entry(long id, String key, String jamo) {
+
+        static Entry of(long id, String username) {
+            String key = normalize(username);
+            return new Entry(id, key, HangulUtils.decompose(key));
+        }
+    }
+
+    private record Candidate(long id, int tier, int followers, String key) {
+    }
+
+    /**
+     * 앞뒤 공백과 앞의 '@' 를 빼고 NFKC 정규화 후 소문자로 바꾼다
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = value.strip();
+        if (stripped.startsWith("@")) {
+            stripped = stripped.substring(1);
+        }
+        return Normalizer.normalize(stripped, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Mono<List<Entry>> users = databaseClient.sql("SELECT id, username FROM users")
+            .map((row, metadata) -> Entry.of(row.get("id", Long.class), row.get("username", String.class)))
+            .all()
+            .collectList();
+        Mono<Map<Long, Integer>> followers = socialGraph.isReady()
+            ? Mono.just(Map.of())
+            : databaseClient.sql("SELECT following_id, COUNT(*) AS followers FROM follows GROUP BY following_id")
+                .map((row, metadata) -> Map.entry(row.get("following_id", Long.class), row.get("followers", Long.class).intValue()))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+
+        Mono.zip(users, followers)
+            .doOnNext(tuple -> {
+                loadedFollowerCounts = tuple.getT2();
+                // 로드 중에 가입/이름 변경한 사용자는 pending 에 그대로 남아 로드 결과보다 우선한다
+                synchronized (this) {
+                    snapshot = new Snapshot(tuple.getT1(), this::followersOf, socialGraph.isReady());
+                }
+                ready = true;
+                log.info("사용자 검색 색인 생성 완료: {}명", tuple.getT1().size());
+            })
+            .subscribe(null, error -> log.error("사용자 검색 색인 생성 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 가입 또는 이름 변경
+     */
+    public synchronized void put(Long userId, String username) {
+        pending.put(userId, Entry.of(userId, username));
+
+        if (pending.size() > pendingLimit) {
+            List<Entry> merged = new ArrayList<>();
+            for (Entry entry : snapshot.entries) {
+                if (!pending.containsKey(entry.id())) {
+                    merged.add(entry);
+                }
+            }
+            merged.addAll(pending.values());
+            snapshot = new Snapshot(merged, this::followersOf, socialGraph.isReady());
+            pending.clear();
+        }
+    }
+
+    /**
+     * 팔로우/언팔로우 후 팔로워 수 갱신 (SocialGraph 를 바꾼 뒤에 부른다)
+     */
+    public synchronized void followerChanged(Long userId) {
+        Snapshot current = snapshot;
+        Integer index = current.indexById.get(userId);
+        if (index != null) {
+            current.setFollowers(index, followersOf(userId));
+        }
+    }
+
+    // 그래프가 로드되기 전에 만든 색인은 그래프의 팔로워 수로 한 번 다시 채운다
+    private synchronized void refreshFollowers(Snapshot current) {
+        if (current.countsFromGraph) {
+            return;
+        }
+        for (int index = 0; index < current.entries.length; index++) {
+            current.followers[index] = followersOf(current.entries[index].id());
+        }
+        current.buildTree();
+        current.countsFromGraph = true;
+    }
+
+    public int followersOf(Long userId) {
+        if (socialGraph.isReady()) {
+            if (!loadedFollowerCounts.isEmpty()) {
+                loadedFollowerCounts = Map.of();
+            }
+            return socialGraph.followerCount(userId);
+        }
+        return loadedFollowerCounts.getOrDefault(userId, 0);
+    }
+
+    /**
+     * 검색어와 일치하는 사용자 ID (순위 순서, page 번째 size 개)
+     */
+    public List<Long> search(String keyword, int page, int size) {
+        String key = normalize(keyword);
+        if (key.isEmpty() || page < 0 || size <= 0) {
+            return List.of();
+        }
+        String jamo = HangulUtils.decompose(key);
+        int needed = (page + 1) * size;
+
+        Snapshot current = snapshot;
+        if (!current.countsFromGraph && socialGraph.isReady()) {
+            refreshFollowers(current);
+        }
+        Map<Long, Entry> overrides;
+        synchronized (this) {
+            overrides = new HashMap<>(pending);
+        }
+
+        // 순위가 가장 낮은 후보가 맨 앞에 오도록 해서 needed 개만 유지한다
+        PriorityQueue<Candidate> top = new PriorityQueue<>(BEST_FIRST.reversed());
+        int from = current.lowerBound(jamo);
+        int exactTo = current.lowerBound(jamo + Character.MIN_VALUE);
+        int to = current.lowerBound(jamo + Character.MAX_VALUE);
+        // 자모 키가 검색어와 같은 사용자 (완전 일치 후보)
+        for (int position = from; position < exactTo; position++) {
+            offer(top, needed, current.entries[current.entryAt[position]], key, jamo, overrides);
+        }
+        // 나머지 접두어 일치는 팔로워 수가 많은 순으로 needed 개를 채우고, 마지막과 팔로워 수가 같은 사용자까지만 더 본다
+        int[] taken = {0, Integer.MAX_VALUE};
+        current.byFollowers(exactTo, to, index -> {
+            Entry entry = current.entries[index];
+            if (overrides.containsKey(entry.id())) {
+                return true;
+            }
+            int followers = current.followers[index];
+            if (taken[0] >= needed && followers < taken[1]) {
+                return false;
+            }
+            offer(top, needed, new Candidate(entry.id(), 1, followers, entry.key()));
+            taken[0]++;
+            taken[1] = followers;
+            return true;
+        });
+        // 접두어 일치로 needed 개가 찼으면 중간 일치는 순위에 들 수 없다
+        boolean filled = top.size() >= needed && top.peek().tier() <= 1;
+        if (key.length() >= GRAM && !filled) {
+            for (int index : current.containing(key)) {
+                Entry entry = current.entries[index];
+                // 접두어로 일치하는 사용자는 위에서 이미 넣었다
+                if (!entry.jamo().startsWith(jamo)) {
+                    offer(top, needed, entry, key, jamo, overrides);
+                }
+            }
+        }
+        for (Entry entry : overrides.values()) {
+            offer(top, needed, entry, key, jamo, Map.of());
+        }
+
+        return page(top, page, size);
+    }
+
+    /**
+     * 이름 전체가 검색어와 편집 거리 안에 있는 사용자 ID (거리가 가까운 순, 같으면 팔로워 수가 많은 순)
+     * 거리는 자모 단위라서 한글 이름은 받침/모음 하나 틀린 것도 거리 1 이다
+     */
+    public List<Long> fuzzySearch(String keyword, int page, int size) {
+        String key = normalize(keyword);
+        if (key.isEmpty() || page < 0 || size <= 0) {
+            return List.of();
+        }
+        String jamo = HangulUtils.decompose(key);
+        int maxDistance = FuzzyMatcher.allowedDistance(jamo.length(), fuzzyMaxDistance);
+        int needed = (page + 1) * size;
+
+        Snapshot current = snapshot;
+        Map<Long, Entry> overrides;
+        synchronized (this) {
+            overrides = new HashMap<>(pending);
+        }
+
+        // 일치 단계 대신 편집 거리로 순위를 매긴다
+        PriorityQueue<Candidate> top = new PriorityQueue<>(BEST_FIRST.reversed());
+        for (FuzzyMatcher.Match match : FuzzyMatcher.match(current.jamoKeys, jamo, maxDistance, fuzzyPrefixLength)) {
+            Entry entry = current.entries[current.entryAt[match.position()]];
+            if (!overrides.containsKey(entry.id())) {
+                offer(top, needed, new Candidate(entry.id(), match.distance(), followersOf(entry.id()), entry.key()));
+            }
+        }
+        for (Entry entry : overrides.values()) {
+            int distance = FuzzyMatcher.distance(jamo, entry.jamo(), maxDistance);
+            if (distance <= maxDistance) {
+                offer(top, needed, new Candidate(entry.id(), distance, followersOf(entry.id()), entry.key()));
+            }
+        }
+        return page(top, page, size);
+    }
+
+    private List<Long> page(PriorityQueue<Candidate> top, int page, int size) {
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(BEST_FIRST);
+        return ranked.stream()
+            .skip((long) page * size)
+            .map(Candidate::id)
+            .toList();
+    }
+
+    private void offer(PriorityQueue<Candidate> top, int needed, Candidate candidate) {
+        top.add(candidate);
+        if (top.size() > needed) {
+            top.poll();
+        }
+    }
+
+    private void offer(PriorityQueue<Candidate> top, int needed, Entry entry, String key, String jamo,
+                       Map<Long, Entry> overrides) {
+        if (overrides.containsKey(entry.id())) {
+            return;
+        }
+        int tier = tier(entry, key, jamo);
+        if (tier < 0) {
+            return;
+        }
+        offer(top, needed, new Candidate(entry.id(), tier, followersOf(entry.id()), entry.key()));
+    }
+
+    // 0: 완전 일치, 1: 접두어 일치, 2: 중간 일치, -1: 일치하지 않음
+    private static int tier(Entry entry, String key, String jamo) {
+        if (entry.key().equals(key)) {
+            return 0;
+        }
+        if (entry.jamo().startsWith(jamo)) {
+            return 1;
+        }
+        if (key.length() >= GRAM && entry.key().contains(key)) {
+            return 2;
+        }
+        return -1;
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static final class Snapshot {
+        final Entry[] entries;
+        final Map<Long, Integer> indexById;
+        // 자모 분해 키 정렬 배열, 정렬 위치 -> 사용자 번호, 사용자 번호 -> 정렬 위치
+        final String[] jamoKeys;
+        final int[] entryAt;
+        final int[] positionOf;
+        // 사용자 번호 -> 팔로워 수, 팔로워 수 최댓값 세그먼트 트리 (리프는 정렬 위치, 내부 노드는 구간 최댓값 위치)
+        // 갱신은 UserSearchIndex 로 동기화하고, 검색은 잠그지 않고 읽는다
+        final int[] followers;
+        final int[] tree;
+        // trigram -> 사용자 번호 (오름차순)
+        final Map<String, int[]> postings;
+        // 팔로워 수를 SocialGraph 에서 읽었는지 (아니면 그래프가 로드된 뒤 다시 채운다)
+        volatile boolean countsFromGraph;
+
+        Snapshot(List<Entry> entries, ToIntFunction<Long> followersOf, boolean countsFromGraph) {
+            this.entries = entries.toArray(new Entry[0]);
+            int size = this.entries.length;
+            this.indexById = new HashMap<>(size * 2);
+            this.followers = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexById.put(this.entries[i].id(), i);
+                followers[i] = followersOf.applyAsInt(this.entries[i].id());
+            }
+            this.countsFromGraph = countsFromGraph;
+
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> this.entries[i].jamo()));
+            this.jamoKeys = new String[size];
+            this.entryAt = new int[size];
+            this.positionOf = new int[size];
+            for (int position = 0; position < size; position++) {
+                jamoKeys[position] = this.entries[order[position]].jamo();
+                entryAt[position] = order[position];
+                positionOf[order[position]] = position;
+            }
+            this.tree = new int[2 * size];
+            buildTree();
+
+            // 포스팅 길이를 먼저 세고 배열을 한 번에 만든다 (카운터는 채울 때 위치로 다시 쓴다)
+            Map<String, int[]> counts = new HashMap<>();
+            for (Entry entry : this.entries) {
+                for (String gram : grams(entry.key())) {
+                    counts.computeIfAbsent(gram, g -> new int[1])[0]++;
+                }
+            }
+            this.postings = new HashMap<>(counts.size() * 2);
+            counts.forEach((gram, count) -> {
+                postings.put(gram, new int[count[0]]);
+                count[0] = 0;
+            });
+            for (int i = 0; i < size; i++) {
+                for (String gram : grams(this.entries[i].key())) {
+                    int[] cursor = counts.get(gram);
+                    postings.get(gram)[cursor[0]++] = i;
+                }
+            }
+        }
+
+        // 검색어의 trigram 이 모두 들어 있고 실제로 검색어를 포함하는 사용자 번호
+        List<Integer> containing(String key) {
+            List<int[]> lists = new ArrayList<>();
+            for (String gram : grams(key)) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.length));
+
+            int[] matched = lists.get(0);
+            for (int i = 1; i < lists.size() && matched.length > 0; i++) {
+                matched = intersect(matched, lists.get(i));
+            }
+            List<Integer> result = new ArrayList<>();
+            for (int index : matched) {
+                if (entries[index].key().contains(key)) {
+                    result.add(index);
+                }
+            }
+            return result;
+        }
+
+        void buildTree() {
+            int size = entries.length;
+            for (int position = 0; position < size; position++) {
+                tree[size + position] = position;
+            }
+            for (int node = size - 1; node >= 1; node--) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        void setFollowers(int index, int count) {
+            followers[index] = count;
+            for (int node = (positionOf[index] + entries.length) >> 1; node >= 1; node >>= 1) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        // [from, to) 정렬 구간의 사용자 번호를 팔로워 수가 많은 순으로 visitor 가 false 를 돌려줄 때까지 꺼낸다
+        // (구간을 최댓값 위치 기준으로 나누며 꺼내므로 꺼낸 수만큼만 O(log n))
+        void byFollowers(int from, int to, IntPredicate visitor) {
+            if (from >= to) {
+                return;
+            }
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                Comparator.comparingInt((int[] range) -> followers[entryAt[range[2]]]).reversed());
+            ranges.add(new int[]{from, to, argmax(from, to)});
+            while (!ranges.isEmpty()) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                if (!visitor.test(entryAt[best])) {
+                    return;
+                }
+                if (range[0] < best) {
+                    ranges.add(new int[]{range[0], best, argmax(range[0], best)});
+                }
+                if (best + 1 < range[1]) {
+                    ranges.add(new int[]{best + 1, range[1], argmax(best + 1, range[1])});
+                }
+            }
+        }
+
+        // [from, to) 구간에서 팔로워 수가 가장 많은 정렬 위치
+        private int argmax(int from, int to) {
+            int size = entries.length;
+            int best = -1;
+            for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+                if ((left & 1) == 1) {
+                    best = better(best, tree[left++]);
+                }
+                if ((right & 1) == 1) {
+                    best = better(best, tree[--right]);
+                }
+            }
+            return best;
+        }
+
+        private int better(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return followers[entryAt[a]] >= followers[entryAt[b]] ? a : b;
+        }
+
+        int lowerBound(String key) {
+            int low = 0;
+            int high = jamoKeys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (jamoKeys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int count = 0;
+            for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[count++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
\ No newline at end of file
@@ -7,11 +7,13 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.dto.BookmarkDto;
 import site.linkverse.back.dto.CollectionDto;
+import site.linkverse.back.dto.CursorPage;
 import site.linkverse.back.model.Bookmark;
 import site.linkverse.back.model.Collection;
 import site.linkverse.back.repository.BookmarkRepository;
 import site.linkverse.back.repository.CollectionRepository;
 import site.linkverse.back.repository.PostRepository;
+import site.linkverse.back.util.PageCursor;
 
 import java.time.LocalDateTime;
 
@@ -21,10 +23,14 @@ public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final CollectionRepository collectionRepository;
     private final PostRepository postRepository;
+    private final EngagementIndexService engagementIndexService;
     
     public Mono<BookmarkDto> toggleBookmark(Long userId, Long postId, Long collectionId) {
         return bookmarkRepository.findByUserIdAndPostId(userId, postId)
-            .flatMap(existingBookmark -> bookmarkRepository.delete(existingBookmark).thenReturn(false))
+            .flatMap(existingBookmark -> bookmarkRepository.delete(existingBookmark)
+                .then(Mono.fromRunnable(() -> engagementIndexService.removed(
+                    userId, EngagementIndexService.Kind.BOOKMARKED_POSTS, postId)))
+                .thenReturn(false))
             .switchIfEmpty(Mono.defer(() -> {
                 return postRepository.findById(postId)
                     .switchIfEmpty(Mono.error(new RuntimeException("게시물을 찾을 수 없습니다")))
@@ -50,6 +56,8 @@ public class BookmarkService {
                                 .build();
                                 
                             return bookmarkRepository.save(bookmark)
+                                .doOnNext(savedBookmark -> engagementIndexService.added(
+                                    userId, EngagementIndexService.Kind.BOOKMARKED_POSTS, postId))
                                 .map(savedBookmark -> true);
                         });
                     });
@@ -83,6 +91,25 @@ public class BookmarkService {
                     .build()));
     }
     
+    public Mono<CursorPage<BookmarkDto>> getUserBookmarks(Long userId, PageCursor cursor, int size) {
+        PageCursor from = cursor != null ? cursor : PageCursor.LATEST;
+        return bookmarkRepository.findByUserIdBefore(userId, from.getCreatedAt(), from.getId(), size)
+            .collectList()
+            .flatMap(bookmarks -> Flux.fromIterable(bookmarks)
+                .flatMapSequential(bookmark -> postRepository.findById(bookmark.getPostId())
+                    .filter(post -> !post.isDeleted())
+                    .map(post -> BookmarkDto.builder()
+                        .id(bookmark.getId())
+                        .userId(bookmark.getUserId())
+                        .postId(bookmark.getPostId())
+                        .collectionId(bookmark.getCollectionId())
+                        .createdAt(bookmark.getCreatedAt())
+                        .build()))
+                .collectList()
+                .map(items -> new CursorPage<>(items,
+                    PageCursor.next(bookmarks, size, Bookmark::getCreatedAt, Bookmark::getId))));
+    }
+    
     public Mono<CollectionDto> createCollection(Long userId, String name) {
         Collection collection = Collection.builder()
             .userId(userId)
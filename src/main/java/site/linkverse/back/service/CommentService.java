@@ -8,23 +8,32 @@ import reactor.core.publisher.Mono;
 import site.linkverse.back.dto.CommentCreateDto;
 import site.linkverse.back.dto.CommentDto;
 import site.linkverse.back.dto.CommentUpdateDto;
+import site.linkverse.back.dto.CursorPage;
 import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.enums.LikeTargetType;
+import site.linkverse.back.enums.NotificationReferenceType;
+import site.linkverse.back.enums.NotificationType;
 import site.linkverse.back.model.Comment;
+import site.linkverse.back.model.CommentStats;
 import site.linkverse.back.repository.CommentRepository;
 import site.linkverse.back.repository.LikeRepository;
 import site.linkverse.back.repository.PostRepository;
-import site.linkverse.back.repository.UserRepository;
+import site.linkverse.back.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
     private final PostRepository postRepository;
     private final LikeRepository likeRepository;
+    private final StatsCounterService statsCounterService;
+    private final EngagementIndexService engagementIndexService;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final NotificationAggregator notificationAggregator;
     
     public Mono<CommentDto> createComment(Long userId, CommentCreateDto commentCreateDto) {
         return postRepository.findById(commentCreateDto.getPostId())
@@ -41,14 +50,32 @@ public class CommentService {
                     .build();
                 
                 return commentRepository.save(comment)
+                    .doOnNext(this::countCreated)
+                    .doOnNext(savedComment -> notificationAggregator.add(
+                        post.getUserId(), userId, NotificationType.COMMENT, NotificationReferenceType.POST, post.getId()))
                     .flatMap(savedComment -> enrichCommentWithDetails(savedComment, userId));
             });
     }
     
     public Flux<CommentDto> getPostComments(Long postId, Long currentUserId, int page, int size) {
-        return commentRepository.findByPostIdAndParentIdIsNullOrderByCreatedAtAsc(postId, PageRequest.of(page, size))
-            .filter(comment -> !comment.isDeleted())
-            .flatMap(comment -> enrichCommentWithDetails(comment, currentUserId)
+        return withReplies(commentRepository.findByPostIdAndParentIdIsNullOrderByCreatedAtAsc(postId, PageRequest.of(page, size))
+            .filter(comment -> !comment.isDeleted()), currentUserId);
+    }
+
+    // 댓글은 작성순이므로 커서 이후(더 나중에 작성된) 댓글을 조회한다
+    public Mono<CursorPage<CommentDto>> getPostComments(Long postId, Long currentUserId, PageCursor cursor, int size) {
+        PageCursor from = cursor != null ? cursor : PageCursor.EARLIEST;
+        return commentRepository.findTopLevelAfter(postId, from.getCreatedAt(), from.getId(), size)
+            .collectList()
+            .flatMap(comments -> withReplies(Flux.fromIterable(comments), currentUserId)
+                .collectList()
+                .map(items -> new CursorPage<>(items,
+                    PageCursor.next(comments, size, Comment::getCreatedAt, Comment::getId))));
+    }
+
+    private Flux<CommentDto> withReplies(Flux<Comment> comments, Long currentUserId) {
+        return comments
+            .flatMapSequential(comment -> enrichCommentWithDetails(comment, currentUserId)
                 .flatMap(commentDto -> commentRepository.findByParentIdOrderByCreatedAtAsc(comment.getId())
                     .filter(reply -> !reply.isDeleted())
                     .flatMap(reply -> enrichCommentWithDetails(reply, currentUserId))
@@ -79,13 +106,33 @@ public class CommentService {
             .filter(comment -> comment.getUserId().equals(userId))
             .switchIfEmpty(Mono.error(new RuntimeException("댓글을 삭제할 권한이 없습니다")))
             .flatMap(comment -> {
+                boolean alreadyDeleted = comment.isDeleted();
                 comment.setDeleted(true);
                 comment.setUpdatedAt(LocalDateTime.now());
-                return commentRepository.save(comment);
+                return commentRepository.save(comment)
+                    .doOnNext(deletedComment -> {
+                        if (!alreadyDeleted) {
+                            countDeleted(deletedComment);
+                        }
+                    });
             })
             .then();
     }
     
+    private void countCreated(Comment comment) {
+        statsCounterService.increment(StatsCounterService.Counter.POST_COMMENTS, comment.getPostId());
+        if (comment.getParentId() != null) {
+            statsCounterService.increment(StatsCounterService.Counter.COMMENT_REPLIES, comment.getParentId());
+        }
+    }
+    
+    private void countDeleted(Comment comment) {
+        statsCounterService.decrement(StatsCounterService.Counter.POST_COMMENTS, comment.getPostId());
+        if (comment.getParentId() != null) {
+            statsCounterService.decrement(StatsCounterService.Counter.COMMENT_REPLIES, comment.getParentId());
+        }
+    }
+    
     private Mono<CommentDto> enrichCommentWithDetails(Comment comment, Long currentUserId) {
         CommentDto.CommentDtoBuilder commentDtoBuilder = CommentDto.builder()
             .id(comment.getId())
@@ -96,35 +143,31 @@ public class CommentService {
             .createdAt(comment.getCreatedAt())
             .updatedAt(comment.getUpdatedAt());
             
-        Mono<UserDto> userMono = userRepository.findById(comment.getUserId())
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build());
-                
-        Mono<Integer> likeCountMono = likeRepository.countByTargetIdAndTargetType(comment.getId(), LikeTargetType.COMMENT)
-            .map(Long::intValue);
+        Mono<UserDto> userMono = userSummaryService.getUser(comment.getUserId());
                 
-        Mono<Integer> repliesCountMono = comment.getParentId() == null 
-            ? commentRepository.countByParentId(comment.getId()).map(Long::intValue) 
-            : Mono.just(0);
+        Mono<CommentStats> statsMono = statsCounterService.getCommentStats(List.of(comment.getId()))
+            .map(stats -> stats.get(comment.getId()));
                 
+        // 아직 DB 에 반영하지 않은 좋아요/취소가 있으면 그 상태를 쓴다
         Mono<Boolean> isLikedMono = currentUserId != null
-            ? likeRepository.existsByUserIdAndTargetIdAndTargetType(currentUserId, comment.getId(), LikeTargetType.COMMENT)
+            ? likeWriteBuffer.state(new LikeWriteBuffer.LikeKey(currentUserId, LikeTargetType.COMMENT, comment.getId()))
+                .map(Mono::just)
+                .orElseGet(() -> engagementIndexService.get(currentUserId)
+                    .map(index -> index.contains(EngagementIndexService.Kind.LIKED_COMMENTS, comment.getId()))
+                    .switchIfEmpty(Mono.defer(() -> likeRepository.existsByUserIdAndTargetIdAndTargetType(
+                        currentUserId, comment.getId(), LikeTargetType.COMMENT))))
             : Mono.just(false);
                 
-        return Mono.zip(userMono, likeCountMono, repliesCountMono, isLikedMono)
+        return Mono.zip(userMono, statsMono, isLikedMono)
             .map(tuple -> {
                 UserDto user = tuple.getT1();
-                Integer likesCount = tuple.getT2();
-                Integer repliesCount = tuple.getT3();
-                Boolean isLiked = tuple.getT4();
+                CommentStats stats = tuple.getT2();
+                Boolean isLiked = tuple.getT3();
                 
                 return commentDtoBuilder
                     .user(user)
-                    .likesCount(likesCount)
-                    .repliesCount(repliesCount)
+                    .likesCount((int) stats.getLikesCount())
+                    .repliesCount(comment.getParentId() == null ? (int) stats.getRepliesCount() : 0)
                     .isLiked(isLiked)
                     .build();
             });
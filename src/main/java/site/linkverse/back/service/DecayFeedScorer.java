@@ -0,0 +1,31 @@
+package site.linkverse.back.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기본 점수: (1 + 좋아요/댓글 증가 속도) * (1 + 작성자 친밀도) 에 반감기 기준 시간 감쇠를 곱한다
+ */
+@Component
+public class DecayFeedScorer implements FeedScorer {
+
+    @Value("${feed.ranking.half-life-hours:12}")
+    private double halfLifeHours;
+
+    @Value("${feed.ranking.like-weight:1.0}")
+    private double likeWeight;
+
+    @Value("${feed.ranking.comment-weight:2.0}")
+    private double commentWeight;
+
+    @Value("${feed.ranking.affinity-weight:0.5}")
+    private double affinityWeight;
+
+    @Override
+    public double score(double ageHours, double likeVelocity, double commentVelocity, double authorAffinity) {
+        double engagement = 1 + likeWeight * likeVelocity + commentWeight * commentVelocity;
+        double affinity = 1 + affinityWeight * Math.log1p(authorAffinity);
+        double decay = Math.pow(0.5, ageHours / halfLifeHours);
+        return engagement * affinity * decay;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package site.linkverse.back.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.enums.LikeTargetType;
+import site.linkverse.back.repository.BookmarkRepository;
+import site.linkverse.back.repository.LikeRepository;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 사용자별 좋아요/북마크 대상 ID 목록 (isLiked / isBookmarked 판별용)
+ *
+ * 최근 조회한 사용자의 목록을 정렬된 long[] 로 메모리에 두고 이진 탐색으로 확인한다.
+ * 처음 조회할 때 적재하며, 이후 LikeService / BookmarkService 에서 추가/삭제를 반영한다.
+ * 목록이 한도(engagement-index.max-entries)를 넘는 사용자는 적재하지 않고 기존처럼 DB 에서 확인한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EngagementIndexService {
+
+    @Value("${engagement-index.maximum-users:50000}")
+    private long maximumUsers;
+
+    @Value("${engagement-index.idle-seconds:1800}")
+    private long idleSeconds;
+
+    @Value("${engagement-index.max-entries:100000}")
+    private int maxEntries;
+
+    private final LikeRepository likeRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final MeterRegistry meterRegistry;
+
+    private AsyncCache<Long, Membership> cache;
+
+    // 한도를 넘어 적재하지 않는 사용자 (매 조회마다 다시 적재하지 않도록 이 값을 캐시에 둔다)
+    private static final Membership OVERSIZED = new Membership(new long[0], new long[0], new long[0]);
+
+    public enum Kind {
+        LIKED_POSTS, LIKED_COMMENTS, BOOKMARKED_POSTS
+    }
+
+    /**
+     * 한 사용자의 대상 ID 목록. 읽기는 잠금 없이, 변경은 배열을 복사해 교체한다
+     */
+    public static final class Membership {
+        private final AtomicReferenceArray<long[]> ids = new AtomicReferenceArray<>(Kind.values().length);
+
+        private Membership(long[] likedPosts, long[] likedComments, long[] bookmarkedPosts) {
+            ids.set(Kind.LIKED_POSTS.ordinal(), likedPosts);
+            ids.set(Kind.LIKED_COMMENTS.ordinal(), likedComments);
+            ids.set(Kind.BOOKMARKED_POSTS.ordinal(), bookmarkedPosts);
+        }
+
+        public boolean contains(Kind kind, long id) {
+            return Arrays.binarySearch(current(kind), id) >= 0;
+        }
+
+        /**
+         * 주어진 ID 중 목록에 있는 것만 반환
+         */
+        public Set<Long> retain(Kind kind, Collection<Long> candidates) {
+            long[] sorted = current(kind);
+            Set<Long> result = new HashSet<>();
+            for (Long id : candidates) {
+                if (Arrays.binarySearch(sorted, id) >= 0) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        public int size(Kind kind) {
+            return current(kind).length;
+        }
+
+        private long[] current(Kind kind) {
+            return ids.get(kind.ordinal());
+        }
+
+        private synchronized void add(Kind kind, long id) {
+            long[] sorted = current(kind);
+            int index = Arrays.binarySearch(sorted, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            long[] updated = new long[sorted.length + 1];
+            System.arraycopy(sorted, 0, updated, 0, insertAt);
+            updated[insertAt] = id;
+            System.arraycopy(sorted, insertAt, updated, insertAt + 1, sorted.length - insertAt);
+            ids.set(kind.ordinal(), updated);
+        }
+
+        private synchronized void remove(Kind kind, long id) {
+            long[] sorted = current(kind);
+            int index = Arrays.binarySearch(sorted, id);
+            if (index < 0) {
+                return;
+            }
+            long[] updated = new long[sorted.length - 1];
+            System.arraycopy(sorted, 0, updated, 0, index);
+            System.arraycopy(sorted, index + 1, updated, index, sorted.length - index - 1);
+            ids.set(kind.ordinal(), updated);
+        }
+    }
+
+    @PostConstruct
+    public void initCache() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maximumUsers)
+            .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "engagement.membership");
+    }
+
+    /**
+     * 사용자의 목록 (한도를 넘어 적재하지 않는 사용자는 empty)
+     */
+    public Mono<Membership> get(Long userId) {
+        return Mono.fromFuture(cache.get(userId, (id, executor) -> load(id).toFuture()), true)
+            .filter(membership -> membership != OVERSIZED);
+    }
+
+    public static Kind likeKind(LikeTargetType targetType) {
+        return targetType == LikeTargetType.POST ? Kind.LIKED_POSTS : Kind.LIKED_COMMENTS;
+    }
+
+    /**
+     * DB 반영이 끝난 뒤 호출한다
+     */
+    public void added(Long userId, Kind kind, Long targetId) {
+        apply(userId, membership -> membership.add(kind, targetId));
+    }
+
+    public void removed(Long userId, Kind kind, Long targetId) {
+        apply(userId, membership -> membership.remove(kind, targetId));
+    }
+
+    private void apply(Long userId, Consumer<Membership> change) {
+        CompletableFuture<Membership> future = cache.getIfPresent(userId);
+        if (future == null) {
+            return;
+        }
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            Membership membership = future.join();
+            if (membership != null && membership != OVERSIZED) {
+                change.accept(membership);
+            }
+        } else {
+            // 적재 중인 목록은 변경 전 상태를 읽었을 수 있으므로 버리고 다음 조회 때 다시 적재한다
+            cache.synchronous().invalidate(userId);
+        }
+    }
+
+    private Mono<Membership> load(Long userId) {
+        return Mono.zip(
+                loadSorted(likeRepository.findAllLikedPostIds(userId, maxEntries + 1)),
+                loadSorted(likeRepository.findAllLikedCommentIds(userId, maxEntries + 1)),
+                loadSorted(bookmarkRepository.findAllBookmarkedPostIds(userId, maxEntries + 1)))
+            .map(tuple -> tuple.getT1().length > maxEntries
+                || tuple.getT2().length > maxEntries
+                || tuple.getT3().length > maxEntries
+                ? OVERSIZED
+                : new Membership(tuple.getT1(), tuple.getT2(), tuple.getT3()));
+    }
+
+    private Mono<long[]> loadSorted(Flux<Long> ids) {
+        return ids.collectList()
+            .map(list -> {
+                long[] sorted = new long[list.size()];
+                for (int i = 0; i < sorted.length; i++) {
+                    sorted[i] = list.get(i);
+                }
+                Arrays.sort(sorted);
+                return sorted;
+            });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package site.linkverse.back.service;
+
+/**
+ * Recommend 피드 점수 계산
+ * 다른 점수 방식을 쓰려면 이 인터페이스를 구현한 빈을 @Primary 로 등록한다
+ */
+public interface FeedScorer {
+
+    /**
+     * @param ageHours        작성 후 경과 시간 (시간)
+     * @param likeVelocity    시간당 좋아요 증가 수
+     * @param commentVelocity 시간당 댓글 증가 수
+     * @param authorAffinity  작성자 친밀도 (작성자 최근 게시물의 평균 반응 수)
+     */
+    double score(double ageHours, double likeVelocity, double commentVelocity, double authorAffinity);
+}
\ No newline at end of file
@@ -7,28 +7,43 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.dto.FollowDto;
 import site.linkverse.back.dto.UserDto;
+import site.linkverse.back.enums.NotificationReferenceType;
+import site.linkverse.back.enums.NotificationType;
+import site.linkverse.back.graph.SocialGraph;
 import site.linkverse.back.model.Follow;
 import site.linkverse.back.repository.FollowRepository;
-import site.linkverse.back.repository.UserRepository;
+import site.linkverse.back.search.UserSearchIndex;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class FollowService {
     private final FollowRepository followRepository;
-    private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
+    private final TimelineService timelineService;
+    private final SocialGraph socialGraph;
+    private final NotificationAggregator notificationAggregator;
+    private final UserSearchIndex userSearchIndex;
     
     public Mono<FollowDto> toggleFollow(Long followerId, Long followingId) {
         if (followerId.equals(followingId)) {
             return Mono.error(new RuntimeException("자기 자신을 팔로우할 수 없습니다"));
         }
         
-        return userRepository.findById(followingId)
+        return userSummaryService.getUser(followingId)
             .switchIfEmpty(Mono.error(new RuntimeException("사용자를 찾을 수 없습니다")))
             .flatMap(followingUser -> {
                 return followRepository.findByFollowerIdAndFollowingId(followerId, followingId)
-                    .flatMap(existingFollow -> followRepository.delete(existingFollow).thenReturn(false))
+                    .flatMap(existingFollow -> followRepository.delete(existingFollow)
+                        .doOnSuccess(deleted -> {
+                            socialGraph.unfollow(followerId, followingId);
+                            userSearchIndex.followerChanged(followingId);
+                        })
+                        .then(timelineService.removeAuthor(followerId, followingId))
+                        .thenReturn(false))
                     .switchIfEmpty(Mono.defer(() -> {
                         Follow follow = Follow.builder()
                             .followerId(followerId)
@@ -37,7 +52,14 @@ public class FollowService {
                             .build();
                             
                         return followRepository.save(follow)
-                            .map(savedFollow -> true);
+                            .doOnNext(savedFollow -> {
+                                socialGraph.follow(followerId, followingId);
+                                userSearchIndex.followerChanged(followingId);
+                            })
+                            .doOnNext(savedFollow -> notificationAggregator.add(
+                                followingId, followerId, NotificationType.FOLLOW, NotificationReferenceType.USER, followingId))
+                            .flatMap(savedFollow -> timelineService.backfillAuthor(followerId, followingId))
+                            .thenReturn(true);
                     }))
                     .flatMap(created -> {
                         if (created) {
@@ -50,28 +72,30 @@ public class FollowService {
             });
     }
     
+    /**
+     * 팔로워/팔로잉 목록은 SocialGraph 가 아니라 follows 에서 페이지 단위로 읽는다
+     * (그래프의 목록은 ID 순 집합이라 팔로우한 순서를 알 수 없다)
+     */
     public Flux<UserDto> getFollowers(Long userId, int page, int size) {
         return followRepository.findByFollowingId(userId, PageRequest.of(page, size))
-            .flatMap(follow -> userRepository.findById(follow.getFollowerId()))
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .bio(user.getBio())
-                .profileVisibility(user.getProfileVisibility())
-                .build());
+            .map(Follow::getFollowerId)
+            .collectList()
+            .flatMapMany(this::getProfilesInOrder);
     }
     
     public Flux<UserDto> getFollowing(Long userId, int page, int size) {
         return followRepository.findByFollowerId(userId, PageRequest.of(page, size))
-            .flatMap(follow -> userRepository.findById(follow.getFollowingId()))
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .bio(user.getBio())
-                .profileVisibility(user.getProfileVisibility())
-                .build());
+            .map(Follow::getFollowingId)
+            .collectList()
+            .flatMapMany(this::getProfilesInOrder);
+    }
+    
+    private Flux<UserDto> getProfilesInOrder(List<Long> userIds) {
+        return userSummaryService.getProfiles(userIds)
+            .flatMapIterable(users -> userIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList());
     }
     
     private Mono<FollowDto> convertToDto(Follow follow) {
@@ -81,19 +105,9 @@ public class FollowService {
             .followingId(follow.getFollowingId())
             .createdAt(follow.getCreatedAt());
             
-        Mono<UserDto> followerMono = userRepository.findById(follow.getFollowerId())
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build());
+        Mono<UserDto> followerMono = userSummaryService.getUser(follow.getFollowerId());
                 
-        Mono<UserDto> followingMono = userRepository.findById(follow.getFollowingId())
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build());
+        Mono<UserDto> followingMono = userSummaryService.getUser(follow.getFollowingId());
                 
         return Mono.zip(followerMono, followingMono)
             .map(tuple -> {
@@ -0,0 +1,323 @@
+package site.linkverse.back.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import site.linkverse.back.search.FuzzyMatcher;
+import site.linkverse.back.util.HangulUtils;
+
+import java.util.*;
+
+/**
+ * 해시태그 자동완성
+ *
+ * 해시태그 이름을 자모 분해한 키와 초성 키로 각각 정렬한 배열을 두고, 이진 탐색으로 접두어 구간을 찾는다.
+ * 구간 안에서는 사용 횟수 최댓값 세그먼트 트리로 많이 쓰인 해시태그부터 꺼내므로
+ * 구간 크기와 관계없이 O(limit * log n) 이다.
+ * - 자모 분해 키: "잡" 처럼 다음 글자 초성이 받침으로 붙은 입력도 "자바" 의 접두어로 찾는다
+ * - 초성 키: "ㅈㅂ" 처럼 자음만 입력하면 초성으로 찾는다
+ *
+ * 기동 시 hashtags / post_hashtags 에서 전체를 읽어 만들고, 이후에는 게시물 작성/수정 시 사용 횟수를 늘린다.
+ * 새 해시태그는 별도 목록(pending)에 두었다가 hashtag.autocomplete.pending-limit 개를 넘으면 배열을 다시 만든다.
+ * 오타 허용 검색(fuzzy)은 자모 분해 키 배열에서 FuzzyMatcher 로 편집 거리가 가까운 이름을 찾는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HashtagAutocompleteService {
+
+    @Value("${hashtag.autocomplete.pending-limit:512}")
+    private int pendingLimit;
+
+    @Value("${search.fuzzy.max-distance:2}")
+    private int fuzzyMaxDistance;
+
+    @Value("${search.fuzzy.prefix-length:1}")
+    private int fuzzyPrefixLength;
+
+    private final DatabaseClient databaseClient;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of());
+    // 마지막으로 배열을 만든 이후 추가된 해시태그 (수가 적어 순차 비교), this 로 동기화
+    private final Map<Long, Tag> pending = new LinkedHashMap<>();
+    private volatile boolean ready;
+
+    private static final class Tag {
+        final long id;
+        final String name;
+        final String jamo;
+        final String choseong;
+        long uses;
+
+        Tag(long id, String name, long uses) {
+            this.id = id;
+            this.name = name;
+            this.jamo = HangulUtils.decompose(name);
+            this.choseong = HangulUtils.choseong(name);
+            this.uses = uses;
+        }
+    }
+
+    private record Scored(Tag tag, int distance) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        databaseClient.sql(
+                "SELECT h.id, h.name, COUNT(ph.id) AS uses FROM hashtags h " +
+                "LEFT JOIN post_hashtags ph ON ph.hashtag_id = h.id " +
+                "GROUP BY h.id, h.name")
+            .map((row, metadata) -> new Tag(row.get("id", Long.class),
+                HashtagDictionary.normalize(row.get("name", String.class)), row.get("uses", Long.class)))
+            .all()
+            .collectList()
+            .doOnNext(tags -> {
+                synchronized (this) {
+                    // 로드 중에 추가된 해시태그 중 로드 결과에 없는 것만 남긴다
+                    Set<Long> loaded = new HashSet<>();
+                    tags.forEach(tag -> loaded.add(tag.id));
+                    pending.keySet().removeAll(loaded);
+                    snapshot = new Snapshot(tags);
+                }
+                ready = true;
+                log.info("해시태그 자동완성 색인 생성 완료: {}개", tags.size());
+            })
+            .subscribe(null, error -> log.error("해시태그 자동완성 색인 생성 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 입력한 접두어로 시작하는 해시태그 이름 (사용 횟수가 많은 순)
+     */
+    public List<String> suggest(String query, int limit) {
+        String normalized = HashtagDictionary.normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean choseongOnly = HangulUtils.isChoseongOnly(normalized);
+        String key = choseongOnly ? HangulUtils.choseong(normalized) : HangulUtils.decompose(normalized);
+
+        Snapshot current = snapshot;
+        KeyIndex index = choseongOnly ? current.choseong : current.jamo;
+        List<Tag> found = new ArrayList<>();
+        // 정규화 이전에 저장된 같은 이름의 해시태그가 있을 수 있어 여유 있게 꺼낸다
+        for (int tag : index.top(key, limit * 2)) {
+            found.add(current.tags[tag]);
+        }
+        synchronized (this) {
+            for (Tag tag : pending.values()) {
+                if ((choseongOnly ? tag.choseong : tag.jamo).startsWith(key)) {
+                    found.add(tag);
+                }
+            }
+            // 사용 횟수는 this 로 동기화해서 바뀌므로 같은 잠금 안에서 정렬한다
+            found.sort(Comparator.comparingLong((Tag tag) -> tag.uses).reversed()
+                .thenComparing(tag -> tag.name));
+        }
+        return found.stream()
+            .map(tag -> tag.name)
+            .distinct()
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * 오타를 허용해 이름이 가까운 해시태그 (편집 거리가 가까운 순, 같으면 사용 횟수가 많은 순)
+     * 초성만 입력한 검색어는 초성 접두어로 찾는다
+     */
+    public List<String> fuzzy(String query, int limit) {
+        String normalized = HashtagDictionary.normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (HangulUtils.isChoseongOnly(normalized)) {
+            return suggest(query, limit);
+        }
+        String key = HangulUtils.decompose(normalized);
+        int maxDistance = FuzzyMatcher.allowedDistance(key.length(), fuzzyMaxDistance);
+
+        Snapshot current = snapshot;
+        List<Scored> found = new ArrayList<>();
+        for (FuzzyMatcher.Match match : FuzzyMatcher.match(current.jamo.keys, key, maxDistance, fuzzyPrefixLength)) {
+            found.add(new Scored(current.tags[current.jamo.tagAt[match.position()]], match.distance()));
+        }
+        synchronized (this) {
+            for (Tag tag : pending.values()) {
+                int distance = FuzzyMatcher.distance(key, tag.jamo, maxDistance);
+                if (distance <= maxDistance) {
+                    found.add(new Scored(tag, distance));
+                }
+            }
+            found.sort(Comparator.comparingInt(Scored::distance)
+                .thenComparing(Comparator.comparingLong((Scored scored) -> scored.tag().uses).reversed())
+                .thenComparing(scored -> scored.tag().name));
+        }
+        return found.stream()
+            .map(scored -> scored.tag().name)
+            .distinct()
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * 게시물에 해시태그가 사용됨 (정규화한 이름 -> 해시태그 ID)
+     */
+    public synchronized void used(Map<String, Long> hashtagIds) {
+        Snapshot current = snapshot;
+        hashtagIds.forEach((name, id) -> {
+            Integer index = current.indexById.get(id);
+            if (index != null) {
+                current.tags[index].uses++;
+                current.jamo.update(index);
+                current.choseong.update(index);
+            } else {
+                pending.computeIfAbsent(id, key -> new Tag(id, name, 0)).uses++;
+            }
+        });
+
+        if (pending.size() > pendingLimit) {
+            List<Tag> merged = new ArrayList<>(Arrays.asList(current.tags));
+            merged.addAll(pending.values());
+            snapshot = new Snapshot(merged);
+            pending.clear();
+        }
+    }
+
+    private static final class Snapshot {
+        final Tag[] tags;
+        final Map<Long, Integer> indexById;
+        final KeyIndex jamo;
+        final KeyIndex choseong;
+
+        Snapshot(List<Tag> tags) {
+            this.tags = tags.toArray(new Tag[0]);
+            this.indexById = new HashMap<>(this.tags.length * 2);
+            String[] jamoKeys = new String[this.tags.length];
+            String[] choseongKeys = new String[this.tags.length];
+            for (int i = 0; i < this.tags.length; i++) {
+                indexById.put(this.tags[i].id, i);
+                jamoKeys[i] = this.tags[i].jamo;
+                choseongKeys[i] = this.tags[i].choseong;
+            }
+            this.jamo = new KeyIndex(jamoKeys, this.tags);
+            this.choseong = new KeyIndex(choseongKeys, this.tags);
+        }
+    }
+
+    /**
+     * 정렬된 키 배열 + 사용 횟수 최댓값 세그먼트 트리 (리프는 정렬 위치, 내부 노드는 구간 최댓값 위치)
+     */
+    private static final class KeyIndex {
+        final String[] keys;
+        // 정렬 위치 -> 해시태그 번호, 해시태그 번호 -> 정렬 위치
+        final int[] tagAt;
+        final int[] positionOf;
+        final int[] tree;
+        final Tag[] tags;
+        final int size;
+
+        KeyIndex(String[] tagKeys, Tag[] tags) {
+            this.tags = tags;
+            this.size = tagKeys.length;
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> tagKeys[i]));
+
+            this.keys = new String[size];
+            this.tagAt = new int[size];
+            this.positionOf = new int[size];
+            for (int position = 0; position < size; position++) {
+                keys[position] = tagKeys[order[position]];
+                tagAt[position] = order[position];
+                positionOf[order[position]] = position;
+            }
+
+            this.tree = new int[2 * size];
+            for (int position = 0; position < size; position++) {
+                tree[size + position] = position;
+            }
+            for (int node = size - 1; node >= 1; node--) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        void update(int tag) {
+            for (int node = (positionOf[tag] + size) >> 1; node >= 1; node >>= 1) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        // 접두어 구간에서 사용 횟수가 많은 순서로 최대 max 개 (구간을 최댓값 위치 기준으로 나누며 꺼낸다)
+        List<Integer> top(String prefix, int max) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            List<Integer> result = new ArrayList<>();
+            if (from >= to) {
+                return result;
+            }
+
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                Comparator.comparingLong((int[] range) -> tags[tagAt[range[2]]].uses).reversed());
+            ranges.add(new int[]{from, to, argmax(from, to)});
+            while (!ranges.isEmpty() && result.size() < max) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                result.add(tagAt[best]);
+                if (range[0] < best) {
+                    ranges.add(new int[]{range[0], best, argmax(range[0], best)});
+                }
+                if (best + 1 < range[1]) {
+                    ranges.add(new int[]{best + 1, range[1], argmax(best + 1, range[1])});
+                }
+            }
+            return result;
+        }
+
+        // [from, to) 구간에서 사용 횟수가 가장 많은 정렬 위치
+        private int argmax(int from, int to) {
+            int best = -1;
+            for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+                if ((left & 1) == 1) {
+                    best = better(best, tree[left++]);
+                }
+                if ((right & 1) == 1) {
+                    best = better(best, tree[--right]);
+                }
+            }
+            return best;
+        }
+
+        private int better(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return tags[tagAt[a]].uses >= tags[tagAt[b]].uses ? a : b;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 해시태그 사전 (정규화한 이름 ↔ ID)
+ *
+ * 해시태그는 종류가 많지 않고 거의 바뀌지 않으므로 기동 시 전체를 메모리에 올려 두고,
+ * 새 해시태그가 저장되면 트랜잭션 커밋 후 사전에 추가한다.
+ * 이름은 NFKC 정규화 + 소문자로 비교한다 (전각/반각, 대소문자가 달라도 같은 해시태그).
+ * 정규화 전에 저장된 해시태그는 같은 이름에 ID 가 여러 개일 수 있어 이름별로 ID 목록을 두고, 가장 작은 ID 를 대표로 쓴다.
+ * 다른 서버에서 추가된 해시태그처럼 사전에 없는 항목만 DB 에서 읽어 사전에 추가한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HashtagDictionary {
+
+    private final DatabaseClient databaseClient;
+    private final MeterRegistry meterRegistry;
+
+    // 정규화한 이름 -> 해시태그 ID 목록 (오름차순, 바꿀 때는 새 목록으로 교체)
+    private final Map<String, List<Long>> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("hashtags.dictionary.size", namesById, Map::size)
+            .description("메모리 해시태그 사전에 올라간 해시태그 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 해시태그 이름 정규화: 앞뒤 공백과 # 을 제거하고 NFKC 정규화 후 소문자로 바꾼다
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String trimmed = name.strip();
+        while (trimmed.startsWith("#")) {
+            trimmed = trimmed.substring(1).strip();
+        }
+        return Normalizer.normalize(trimmed, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        databaseClient.sql("SELECT id, name FROM hashtags")
+            .map((row, metadata) -> Map.entry(row.get("id", Long.class), row.get("name", String.class)))
+            .all()
+            .doOnNext(entry -> register(entry.getKey(), entry.getValue()))
+            .then()
+            .doOnSuccess(ignored -> {
+                loaded = true;
+                log.info("해시태그 사전 로드 완료: {}개", namesById.size());
+            })
+            .subscribe(null, error -> log.error("해시태그 사전 로드 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 같은 이름(정규화 기준)의 해시태그 ID 목록 (없으면 빈 목록)
+     * 사전에 없는 이름만 DB 에서 확인한다
+     */
+    public Mono<List<Long>> idsOf(String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<Long> ids = idsByName.get(normalized);
+        if (ids != null) {
+            return Mono.just(ids);
+        }
+        return findByNames(List.of(normalized))
+            .then(Mono.fromSupplier(() -> idsByName.getOrDefault(normalized, List.of())));
+    }
+
+    /**
+     * 해시태그 ID -> 이름 (사전에 없는 ID 만 DB 에서 읽는다)
+     */
+    public Mono<Map<Long, String>> namesOf(Collection<Long> hashtagIds) {
+        Map<Long, String> names = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new HashSet<>(hashtagIds)) {
+            String name = namesById.get(id);
+            if (name != null) {
+                names.put(id, name);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(names);
+        }
+        return databaseClient.sql("SELECT id, name FROM hashtags WHERE id IN (:ids)")
+            .bind("ids", missing)
+            .map((row, metadata) -> Map.entry(row.get("id", Long.class), row.get("name", String.class)))
+            .all()
+            .doOnNext(entry -> {
+                register(entry.getKey(), entry.getValue());
+                names.put(entry.getKey(), entry.getValue());
+            })
+            .then(Mono.just(names));
+    }
+
+    /**
+     * 정규화한 이름별 대표 해시태그 ID, 사전에 없는 이름은 새로 저장한다
+     * (INSERT ... ON DUPLICATE KEY 1회 + ID 조회 1회, 모두 사전에 있으면 쿼리 없음)
+     * 트랜잭션 안에서 저장한 해시태그는 커밋된 뒤에 사전에 추가한다
+     */
+    public Mono<Map<String, Long>> resolveIds(List<String> normalizedNames) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : normalizedNames) {
+            List<Long> known = idsByName.get(name);
+            if (known != null) {
+                ids.put(name, known.get(0));
+            } else {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(ids);
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO hashtags (name) VALUES ");
+        for (int i = 0; i < missing.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:name").append(i).append(")");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE id = id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < missing.size(); i++) {
+            spec = spec.bind("name" + i, missing.get(i));
+        }
+
+        return spec.fetch().rowsUpdated()
+            .thenMany(selectByNames(missing))
+            .collectList()
+            .flatMap(rows -> {
+                for (Map.Entry<Long, String> row : rows) {
+                    ids.merge(normalize(row.getValue()), row.getKey(), Math::min);
+                }
+                return registerAfterCommit(rows);
+            })
+            .thenReturn(ids);
+    }
+
+    /**
+     * 정규화한 이름에 키워드가 포함된 해시태그 이름
+     */
+    public List<String> search(String keyword, int limit) {
+        String normalized = normalize(keyword);
+        return idsByName.keySet().stream()
+            .filter(name -> name.contains(normalized))
+            .sorted()
+            .limit(limit)
+            .toList();
+    }
+
+    private Mono<Void> findByNames(List<String> names) {
+        return selectByNames(names)
+            .doOnNext(row -> register(row.getKey(), row.getValue()))
+            .then();
+    }
+
+    private Flux<Map.Entry<Long, String>> selectByNames(List<String> names) {
+        return databaseClient.sql("SELECT id, name FROM hashtags WHERE name IN (:names)")
+            .bind("names", names)
+            .map((row, metadata) -> Map.entry(row.get("id", Long.class), row.get("name", String.class)))
+            .all();
+    }
+
+    // 롤백되면 없어질 ID 가 사전에 들어가지 않도록 커밋 후에 추가한다 (트랜잭션 밖이면 바로 추가)
+    private Mono<Void> registerAfterCommit(List<Map.Entry<Long, String>> rows) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .flatMap(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return Mono.error(new NoTransactionException("동기화할 트랜잭션이 없습니다"));
+                }
+                synchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return Mono.fromRunnable(() -> rows.forEach(row -> register(row.getKey(), row.getValue())));
+                    }
+                });
+                return Mono.<Void>empty();
+            })
+            .onErrorResume(NoTransactionException.class,
+                error -> Mono.fromRunnable(() -> rows.forEach(row -> register(row.getKey(), row.getValue()))));
+    }
+
+    private void register(Long id, String name) {
+        namesById.put(id, name);
+        idsByName.compute(normalize(name), (key, ids) -> {
+            if (ids == null) {
+                return List.of(id);
+            }
+            if (ids.contains(id)) {
+                return ids;
+            }
+            List<Long> merged = new ArrayList<>(ids);
+            merged.add(id);
+            Collections.sort(merged);
+            return List.copyOf(merged);
+        });
+    }
+}
\ No newline at end of file
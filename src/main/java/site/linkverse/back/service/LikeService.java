@@ -1,135 +1,311 @@
 package site.linkverse.back.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import site.linkverse.back.dto.CursorPage;
 import site.linkverse.back.dto.LikeDto;
+import site.linkverse.back.dto.LikeStateDto;
 import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.enums.LikeTargetType;
+import site.linkverse.back.enums.NotificationReferenceType;
 import site.linkverse.back.enums.NotificationType;
+import site.linkverse.back.graph.SocialGraph;
+import site.linkverse.back.model.Comment;
 import site.linkverse.back.model.Like;
+import site.linkverse.back.model.Post;
 import site.linkverse.back.repository.CommentRepository;
 import site.linkverse.back.repository.LikeRepository;
 import site.linkverse.back.repository.PostRepository;
-import site.linkverse.back.repository.UserRepository;
+import site.linkverse.back.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class LikeService {
+    private static final int FOLLOWED_LIKERS_SCAN_PAGE_SIZE = 1000;
+
+    @Value("${likes.followed-likers.scan-limit:10000}")
+    private int followedLikersScanLimit;
+
+    private final DatabaseClient databaseClient;
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
-    private final SSENotificationService sseNotificationService;
+    private final UserSummaryService userSummaryService;
+    private final NotificationAggregator notificationAggregator;
+    private final StatsCounterService statsCounterService;
+    private final EngagementIndexService engagementIndexService;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final PostContentCache postContentCache;
+    private final SocialGraph socialGraph;
     
+    /**
+     * 좋아요 토글 (좋아요가 추가되면 LikeDto, 취소되면 empty)
+     * LikeWriteBuffer 에 넣고 바로 응답하며, DB 에는 모아서 반영한다.
+     * 버퍼가 가득 차면 바로 DELETE 하고 지운 행이 없을 때만 INSERT 한다.
+     * (user_id, target_id, target_type) UNIQUE 키가 있어 여러 번 빠르게 눌러도 좋아요가 중복되지 않는다.
+     */
     public Mono<LikeDto> toggleLike(Long userId, Long targetId, LikeTargetType targetType) {
-        return likeRepository.findByUserIdAndTargetIdAndTargetType(userId, targetId, targetType)
-            .flatMap(existingLike -> likeRepository.delete(existingLike).thenReturn(false))
-            .switchIfEmpty(Mono.defer(() -> {
-                if (targetType == LikeTargetType.POST) {
-                    return postRepository.findById(targetId)
-                        .switchIfEmpty(Mono.error(new RuntimeException("게시물을 찾을 수 없습니다")))
-                        .flatMap(post -> {
-                            if (post.isDeleted()) {
-                                return Mono.error(new RuntimeException("삭제된 게시물에는 좋아요를 할 수 없습니다"));
-                            }
-                            return createLike(userId, targetId, targetType).flatMap(created -> {
-                                if (created) {
-                                    if (!post.getUserId().equals(userId)) {
-                                        return userRepository.findById(userId)
-                                                .flatMap(liker -> sseNotificationService.createAndSendNotification(
-                                                        post.getUserId(),
-                                                        userId,
-                                                        NotificationType.LIKE,
-                                                        targetId,
-                                                        liker.getUsername() + "님이 회원님의 게시물을 좋아합니다"
-                                                ))
-                                                .thenReturn(true)
-                                                .onErrorResume(error -> {
-                                                    // 알림 전송 실패해도 좋아요는 유지
-                                                    return Mono.just(true);
-                                                });
-                                    }
-                                }
-                                return Mono.just(created);
-                            });
-                        });
-                } else {
-                    return commentRepository.findById(targetId)
-                        .switchIfEmpty(Mono.error(new RuntimeException("댓글을 찾을 수 없습니다")))
-                        .flatMap(comment -> {
-                            if (comment.isDeleted()) {
-                                return Mono.error(new RuntimeException("삭제된 댓글에는 좋아요를 할 수 없습니다"));
-                            }
-                            return createLike(userId, targetId, targetType).flatMap(created -> {
-                                if (created) {
-                                    if (!comment.getUserId().equals(userId)) {
-                                        return userRepository.findById(userId)
-                                                .flatMap(liker -> sseNotificationService.createAndSendNotification(
-                                                        comment.getUserId(),
-                                                        userId,
-                                                        NotificationType.LIKE,
-                                                        targetId,
-                                                        liker.getUsername() + "님이 회원님의 댓글을 좋아합니다"
-                                                ))
-                                                .thenReturn(true)
-                                                .onErrorResume(error -> {
-                                                    return Mono.just(true);
-                                                });
-                                    }
-                                }
-                                return Mono.just(created);
-                            });
-                        });
+        LocalDateTime createdAt = LocalDateTime.now();
+        return change(userId, targetId, targetType, null)
+            .switchIfEmpty(Mono.defer(() -> deleteLike(userId, targetId, targetType)
+                .flatMap(deleted -> deleted
+                    ? Mono.just(false)
+                    : insertLike(userId, targetId, targetType, createdAt).thenReturn(true))))
+            .filter(liked -> liked)
+            .flatMap(liked -> userSummaryService.getUser(userId)
+                .map(user -> LikeDto.builder()
+                    .userId(userId)
+                    .user(user)
+                    .targetId(targetId)
+                    .targetType(targetType)
+                    .createdAt(createdAt)
+                    .build()));
+    }
+
+    /**
+     * 좋아요 (이미 좋아요한 상태여도 성공)
+     */
+    public Mono<LikeStateDto> like(Long userId, Long targetId, LikeTargetType targetType) {
+        return change(userId, targetId, targetType, true)
+            .switchIfEmpty(Mono.defer(() -> insertLike(userId, targetId, targetType, LocalDateTime.now())))
+            .then(likeState(targetId, targetType, true));
+    }
+
+    /**
+     * 좋아요 취소 (좋아요하지 않은 상태여도 성공)
+     */
+    public Mono<LikeStateDto> unlike(Long userId, Long targetId, LikeTargetType targetType) {
+        return change(userId, targetId, targetType, false)
+            .switchIfEmpty(Mono.defer(() -> deleteLike(userId, targetId, targetType)))
+            .then(likeState(targetId, targetType, false));
+    }
+    
+    public Flux<LikeDto> getLikes(Long targetId, LikeTargetType targetType, int page, int size) {
+        return likeRepository.findByTargetIdAndTargetTypeOrderByCreatedAtDesc(targetId, targetType, PageRequest.of(page, size))
+            .collectList()
+            .flatMapMany(this::toDtos);
+    }
+
+    /**
+     * 좋아요한 사용자 목록 (커서 이전, 첫 페이지는 cursor == null)
+     * 좋아요 행은 커버링 인덱스만 읽고, 사용자 정보는 페이지 단위로 한 번에 조회한다
+     */
+    public Mono<CursorPage<LikeDto>> getLikes(Long targetId, LikeTargetType targetType, PageCursor cursor, int size) {
+        PageCursor from = cursor != null ? cursor : PageCursor.LATEST;
+        return likeRepository.findLikersBefore(targetType.name(), targetId, from.getCreatedAt(), from.getId(), size)
+            .collectList()
+            .flatMap(likes -> toDtos(likes)
+                .collectList()
+                .map(items -> new CursorPage<>(items, PageCursor.next(likes, size, Like::getCreatedAt, Like::getId))));
+    }
+
+    /**
+     * 좋아요한 사용자 중 viewer 가 팔로우하는 사용자 (최근 순, 최대 limit 명)
+     * 좋아요 목록을 최근 순으로 훑으며 팔로우 여부는 SocialGraph 에서 확인한다 (그래프 로드 전에는 팔로잉 목록을 한 번 조회해서 쓴다).
+     * 좋아요가 아주 많은 대상은 최근 likes.followed-likers.scan-limit 개까지만 확인한다
+     */
+    public Flux<UserDto> getFollowedLikers(Long viewerId, Long targetId, LikeTargetType targetType, int limit) {
+        return followedFilter(viewerId)
+            .flatMap(followed -> scanFollowedLikers(targetType.name(), targetId, followed, PageCursor.LATEST, limit, followedLikersScanLimit, new ArrayList<>()))
+            .flatMapMany(userIds -> userSummaryService.getUsers(userIds)
+                .flatMapIterable(users -> userIds.stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .toList()));
+    }
+
+    // 아무도 팔로우하지 않으면 empty
+    private Mono<LongPredicate> followedFilter(Long userId) {
+        if (socialGraph.isReady()) {
+            return socialGraph.followingCount(userId) == 0
+                ? Mono.empty()
+                : Mono.just(id -> socialGraph.isFollowing(userId, id));
+        }
+        return databaseClient.sql("SELECT following_id FROM follows WHERE follower_id = :userId")
+            .bind("userId", userId)
+            .map((row, metadata) -> row.get("following_id", Long.class))
+            .all()
+            .collect(Collectors.toSet())
+            .filter(following -> !following.isEmpty())
+            .map(following -> following::contains);
+    }
+
+    private Mono<List<Long>> scanFollowedLikers(String targetType, Long targetId, LongPredicate followed,
+                                                PageCursor from, int limit, int remaining, List<Long> found) {
+        int pageSize = Math.min(FOLLOWED_LIKERS_SCAN_PAGE_SIZE, remaining);
+        return likeRepository.findLikersBefore(targetType, targetId, from.getCreatedAt(), from.getId(), pageSize)
+            .collectList()
+            .flatMap(likes -> {
+                for (Like like : likes) {
+                    if (followed.test(like.getUserId())) {
+                        found.add(like.getUserId());
+                        if (found.size() >= limit) {
+                            return Mono.just(found);
+                        }
+                    }
+                }
+                if (likes.size() < pageSize || remaining <= likes.size()) {
+                    return Mono.just(found);
                 }
-            }))
-            .flatMap(created -> {
-                if (created) {
-                    return likeRepository.findByUserIdAndTargetIdAndTargetType(userId, targetId, targetType)
-                        .flatMap(this::convertToDto);
+                Like last = likes.get(likes.size() - 1);
+                return scanFollowedLikers(targetType, targetId, followed,
+                    new PageCursor(last.getCreatedAt(), last.getId()), limit, remaining - likes.size(), found);
+            });
+    }
+
+    // 버퍼에 넣고 바뀐 뒤 상태를 돌려준다 (liked 가 null 이면 토글, 버퍼가 가득 차면 empty)
+    // 토글은 버퍼가 잠근 채 자신의 대기 상태를 기준으로 뒤집도록 null 그대로 넘긴다 (빠르게 두 번 눌러도 좋아요 -> 취소)
+    // 좋아요가 될 수 있으면 대상을 먼저 확인하고, 그 사이 상태가 바뀌어 확인 없이 좋아요가 된 경우는 반영할 때 LikeWriteBuffer 가 거른다
+    // 카운터/좋아요 목록/알림은 버퍼에 넣을 때 바로 반영한다
+    private Mono<Boolean> change(Long userId, Long targetId, LikeTargetType targetType, Boolean liked) {
+        LikeWriteBuffer.LikeKey key = new LikeWriteBuffer.LikeKey(userId, targetType, targetId);
+        Mono<Boolean> currentMono = likeWriteBuffer.state(key)
+            .map(Mono::just)
+            .orElseGet(() -> storedState(userId, targetId, targetType));
+
+        return currentMono.flatMap(current -> {
+            Mono<Void> check = !current && !Boolean.FALSE.equals(liked) ? checkLikeable(targetId, targetType) : Mono.empty();
+            return check.then(Mono.defer(() -> likeWriteBuffer.submit(key, liked, current)));
+        }).map(transition -> {
+            if (transition.changed()) {
+                EngagementIndexService.Kind kind = EngagementIndexService.likeKind(targetType);
+                if (transition.after()) {
+                    statsCounterService.increment(StatsCounterService.likeCounter(targetType), targetId);
+                    engagementIndexService.added(userId, kind, targetId);
+                    notifyLiked(userId, targetId, targetType);
                 } else {
-                    return Mono.empty();
+                    statsCounterService.decrement(StatsCounterService.likeCounter(targetType), targetId);
+                    engagementIndexService.removed(userId, kind, targetId);
                 }
+            }
+            return transition.after();
+        });
+    }
+
+    // 반영된 좋아요 여부 (메모리 목록이 없는 사용자만 DB 에서 확인)
+    private Mono<Boolean> storedState(Long userId, Long targetId, LikeTargetType targetType) {
+        return engagementIndexService.get(userId)
+            .map(index -> index.contains(EngagementIndexService.likeKind(targetType), targetId))
+            .switchIfEmpty(Mono.defer(() -> likeRepository.existsByUserIdAndTargetIdAndTargetType(userId, targetId, targetType)));
+    }
+
+    // 캐시에 있는 게시물은 삭제되지 않은 게시물이므로 DB 를 확인하지 않는다
+    private Mono<Void> checkLikeable(Long targetId, LikeTargetType targetType) {
+        if (targetType == LikeTargetType.POST && postContentCache.contains(targetId)) {
+            return Mono.empty();
+        }
+        return checkTarget(targetId, targetType);
+    }
+
+    // 지운 행이 있으면 true
+    private Mono<Boolean> deleteLike(Long userId, Long targetId, LikeTargetType targetType) {
+        return databaseClient.sql("DELETE FROM likes WHERE user_id = :userId AND target_id = :targetId AND target_type = :targetType")
+            .bind("userId", userId)
+            .bind("targetId", targetId)
+            .bind("targetType", targetType.name())
+            .fetch().rowsUpdated()
+            .map(deleted -> {
+                if (deleted > 0) {
+                    statsCounterService.decrement(StatsCounterService.likeCounter(targetType), targetId);
+                    engagementIndexService.removed(userId, EngagementIndexService.likeKind(targetType), targetId);
+                }
+                return deleted > 0;
             });
     }
-    
-    public Flux<LikeDto> getLikes(Long targetId, LikeTargetType targetType, int page, int size) {
-        return likeRepository.findByTargetIdAndTargetTypeOrderByCreatedAtDesc(targetId, targetType, PageRequest.of(page, size))
-            .flatMap(this::convertToDto);
+
+    // 대상이 있고 삭제되지 않았을 때만 추가한다 (추가한 행이 있으면 true, 이미 좋아요한 상태면 false)
+    private Mono<Boolean> insertLike(Long userId, Long targetId, LikeTargetType targetType, LocalDateTime createdAt) {
+        String targetTable = targetType == LikeTargetType.POST ? "posts" : "comments";
+        return databaseClient.sql("INSERT IGNORE INTO likes (user_id, target_id, target_type, created_at) " +
+                "SELECT :userId, id, :targetType, :createdAt FROM " + targetTable + " WHERE id = :targetId AND is_deleted = FALSE")
+            .bind("userId", userId)
+            .bind("targetType", targetType.name())
+            .bind("createdAt", createdAt)
+            .bind("targetId", targetId)
+            .fetch().rowsUpdated()
+            .flatMap(inserted -> {
+                if (inserted == 0) {
+                    // 대상이 없거나 삭제된 경우와 이미 좋아요한 경우를 구분한다
+                    return checkTarget(targetId, targetType).thenReturn(false);
+                }
+                statsCounterService.increment(StatsCounterService.likeCounter(targetType), targetId);
+                engagementIndexService.added(userId, EngagementIndexService.likeKind(targetType), targetId);
+                notifyLiked(userId, targetId, targetType);
+                return Mono.just(true);
+            });
     }
-    
-    private Mono<Boolean> createLike(Long userId, Long targetId, LikeTargetType targetType) {
-        Like like = Like.builder()
-            .userId(userId)
+
+    private Mono<Void> checkTarget(Long targetId, LikeTargetType targetType) {
+        if (targetType == LikeTargetType.POST) {
+            return postRepository.findById(targetId)
+                .switchIfEmpty(Mono.error(new RuntimeException("게시물을 찾을 수 없습니다")))
+                .flatMap(post -> post.isDeleted()
+                    ? Mono.error(new RuntimeException("삭제된 게시물에는 좋아요를 할 수 없습니다"))
+                    : Mono.empty());
+        }
+        return commentRepository.findById(targetId)
+            .switchIfEmpty(Mono.error(new RuntimeException("댓글을 찾을 수 없습니다")))
+            .flatMap(comment -> comment.isDeleted()
+                ? Mono.error(new RuntimeException("삭제된 댓글에는 좋아요를 할 수 없습니다"))
+                : Mono.empty());
+    }
+
+    // 알림은 응답을 기다리게 하지 않고 NotificationAggregator 에 넘긴다 (같은 대상의 좋아요는 한 알림으로 묶인다)
+    private void notifyLiked(Long userId, Long targetId, LikeTargetType targetType) {
+        Mono<Long> ownerMono = targetType == LikeTargetType.POST
+            ? postRepository.findById(targetId).map(Post::getUserId)
+            : commentRepository.findById(targetId).map(Comment::getUserId);
+        NotificationReferenceType referenceType = targetType == LikeTargetType.POST
+            ? NotificationReferenceType.POST
+            : NotificationReferenceType.COMMENT;
+
+        ownerMono.subscribe(
+            ownerId -> notificationAggregator.add(ownerId, userId, NotificationType.LIKE, referenceType, targetId),
+            error -> log.warn("좋아요 알림 전송 실패: {}", error.getMessage()));
+    }
+
+    private Mono<LikeStateDto> likeState(Long targetId, LikeTargetType targetType, boolean liked) {
+        Mono<Long> likesCount = targetType == LikeTargetType.POST
+            ? statsCounterService.getPostStats(List.of(targetId)).map(stats -> stats.get(targetId).getLikesCount())
+            : statsCounterService.getCommentStats(List.of(targetId)).map(stats -> stats.get(targetId).getLikesCount());
+        return likesCount.map(count -> LikeStateDto.builder()
             .targetId(targetId)
             .targetType(targetType)
-            .createdAt(LocalDateTime.now())
-            .build();
-        
-        return likeRepository.save(like)
-            .map(savedLike -> true);
+            .liked(liked)
+            .likesCount(count)
+            .build());
     }
     
-    private Mono<LikeDto> convertToDto(Like like) {
-        LikeDto.LikeDtoBuilder likeDtoBuilder = LikeDto.builder()
-            .id(like.getId())
-            .userId(like.getUserId())
-            .targetId(like.getTargetId())
-            .targetType(like.getTargetType())
-            .createdAt(like.getCreatedAt());
-            
-        return userRepository.findById(like.getUserId())
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build())
-            .map(userDto -> likeDtoBuilder
-                .user(userDto)
-                .build());
+    // 사용자 정보는 한 번에 조회한다 (찾을 수 없는 사용자는 제외)
+    private Flux<LikeDto> toDtos(List<Like> likes) {
+        if (likes.isEmpty()) {
+            return Flux.empty();
+        }
+        return userSummaryService.getUsers(likes.stream().map(Like::getUserId).distinct().toList())
+            .flatMapIterable(users -> likes.stream()
+                .filter(like -> users.containsKey(like.getUserId()))
+                .map(like -> LikeDto.builder()
+                    .id(like.getId())
+                    .userId(like.getUserId())
+                    .user(users.get(like.getUserId()))
+                    .targetId(like.getTargetId())
+                    .targetType(like.getTargetType())
+                    .createdAt(like.getCreatedAt())
+                    .build())
+                .toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,525 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import site.linkverse.back.enums.LikeTargetType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 좋아요 쓰기 버퍼 (group commit)
+ *
+ * 좋아요/취소를 바로 likes 에 쓰지 않고 (사용자, 대상) 별 최종 상태만 메모리에 모아 두었다가,
+ * likes.buffer.flush-interval-ms 마다 한 writer 가 multi-row INSERT IGNORE / DELETE 로 한 트랜잭션에 반영한다.
+ * 반영 전에 같은 대상을 여러 번 누르면 마지막 상태 하나만 쓴다.
+ * - 반영할 때 대상 게시물/댓글이 없거나 삭제되었으면 그 좋아요는 쓰지 않고, 받을 때 올린 카운터와 좋아요 목록을 되돌린다
+ * - 아직 반영하지 않은 상태는 state() / overlay() 로 읽을 수 있어, 누른 사용자는 반영 전에도 자신의 좋아요를 본다
+ * - 대기 중인 대상이 likes.buffer.capacity 개에 이르면 새 대상은 받지 않는다 (호출하는 쪽에서 바로 DB 에 쓴다)
+ * - likes.buffer.journal-dir 을 지정하면 받은 요청을 로컬 파일에 덧붙인 뒤 응답한다.
+ *   반영이 끝난 세그먼트는 지우고, 기동 시 남아 있는 세그먼트를 다시 반영하므로 프로세스가 죽어도 받은 좋아요가 사라지지 않는다
+ *   (기록마다 fsync 하지는 않으므로 OS 가 함께 죽는 경우까지 보장하지는 않는다)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LikeWriteBuffer {
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final String SEGMENT_PREFIX = "likes-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    @Value("${likes.buffer.capacity:100000}")
+    private int capacity;
+
+    @Value("${likes.buffer.journal-dir:}")
+    private String journalDir;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final EngagementIndexService engagementIndexService;
+    private final StatsCounterService statsCounterService;
+    private final MeterRegistry meterRegistry;
+
+    // 아직 반영하지 않은 최종 상태 / 지금 반영 중인 상태 (반영이 끝날 때까지 조회에 쓴다). 둘 다 this 로 동기화
+    private Map<LikeKey, PendingLike> pending = new HashMap<>();
+    private Map<LikeKey, PendingLike> inflight = Map.of();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+
+    private Journal journal;
+    private Timer flushTimer;
+
+    public record LikeKey(long userId, LikeTargetType targetType, long targetId) {
+    }
+
+    record PendingLike(boolean liked, LocalDateTime createdAt) {
+    }
+
+    /**
+     * 요청 전후의 좋아요 상태 (before == after 이면 바뀐 것이 없다)
+     */
+    public record Transition(boolean before, boolean after) {
+        public boolean changed() {
+            return before != after;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!journalDir.isBlank()) {
+            try {
+                journal = new Journal(Paths.get(journalDir));
+            } catch (IOException e) {
+                log.warn("좋아요 저널 디렉터리를 열 수 없어 저널 없이 동작합니다: {}", e.getMessage());
+            }
+        }
+        statsCounterService.setBufferedLikeTargets(this::pendingTargets);
+        Gauge.builder("likes.buffer.pending", this, LikeWriteBuffer::size).register(meterRegistry);
+        flushTimer = meterRegistry.timer("likes.buffer.flush");
+    }
+
+    /**
+     * 반영 전 상태가 있으면 그 상태 (없으면 empty, DB/EngagementIndexService 기준으로 보면 된다)
+     */
+    public synchronized Optional<Boolean> state(LikeKey key) {
+        PendingLike like = current(key);
+        return like != null ? Optional.of(like.liked()) : Optional.empty();
+    }
+
+    /**
+     * stored(반영된 좋아요 대상)에 반영 전 상태를 덮어쓴 결과
+     */
+    public synchronized Set<Long> overlay(Long userId, LikeTargetType targetType, Collection<Long> targetIds, Set<Long> stored) {
+        if (pending.isEmpty() && inflight.isEmpty()) {
+            return stored;
+        }
+        Set<Long> result = null;
+        for (Long targetId : targetIds) {
+            PendingLike like = current(new LikeKey(userId, targetType, targetId));
+            if (like == null || like.liked() == stored.contains(targetId)) {
+                continue;
+            }
+            if (result == null) {
+                result = new HashSet<>(stored);
+            }
+            if (like.liked()) {
+                result.add(targetId);
+            } else {
+                result.remove(targetId);
+            }
+        }
+        return result != null ? result : stored;
+    }
+
+    /**
+     * 좋아요 상태 변경 요청 (liked 가 null 이면 토글)
+     * stored 는 버퍼에 상태가 없을 때 기준으로 삼을 반영된 상태. 버퍼가 가득 차면 empty
+     */
+    public Mono<Transition> submit(LikeKey key, Boolean liked, boolean stored) {
+        Transition transition;
+        CompletableFuture<Void> journaled = null;
+        synchronized (this) {
+            PendingLike current = current(key);
+            boolean before = current != null ? current.liked() : stored;
+            boolean after = liked != null ? liked : !before;
+            if (before == after) {
+                return Mono.just(new Transition(before, after));
+            }
+            // 반영 중인 대상은 가득 차도 받는다 (바로 DB 에 쓰면 반영 중인 이전 상태가 나중에 덮어쓸 수 있다)
+            if (current == null && pending.size() >= capacity) {
+                return Mono.empty();
+            }
+            PendingLike like = new PendingLike(after, LocalDateTime.now());
+            pending.put(key, like);
+            if (journal != null) {
+                journaled = journal.append(key, like);
+            }
+            transition = new Transition(before, after);
+        }
+        return journaled != null
+            ? Mono.fromFuture(journaled).thenReturn(transition)
+            : Mono.just(transition);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.buffer.flush-interval-ms:200}")
+    public void scheduledFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flush()
+            .doFinally(signal -> flushing.set(false))
+            .subscribe(null, error -> log.error("좋아요 반영 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 모아 둔 상태를 한 트랜잭션으로 반영 (실패하면 그 사이 바뀌지 않은 상태만 다시 대기열에 넣는다)
+     */
+    public Mono<Void> flush() {
+        Map<LikeKey, PendingLike> batch;
+        CompletableFuture<Path> segment;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return Mono.empty();
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            inflight = batch;
+            segment = journal != null ? journal.rotate() : CompletableFuture.completedFuture(null);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return write(batch)
+            .doOnNext(dropped -> {
+                sample.stop(flushTimer);
+                dropped.forEach(key ->
+                    statsCounterService.decrement(StatsCounterService.likeCounter(key.targetType()), key.targetId()));
+                applyToIndex(batch, dropped);
+                if (!dropped.isEmpty()) {
+                    log.info("삭제된 대상에 대한 좋아요 {}건은 반영하지 않음", dropped.size());
+                }
+                synchronized (this) {
+                    inflight = Map.of();
+                }
+                deleteSegment(segment);
+            })
+            .then()
+            .onErrorResume(error -> {
+                log.warn("좋아요 {}건 반영 실패, 재시도 예정: {}", batch.size(), error.getMessage());
+                synchronized (this) {
+                    batch.forEach((key, like) -> {
+                        if (!pending.containsKey(key)) {
+                            pending.put(key, like);
+                            if (journal != null) {
+                                journal.append(key, like);
+                            }
+                        }
+                    });
+                    inflight = Map.of();
+                }
+                // 다시 넣은 상태를 새 세그먼트에 기록한 뒤에 지운다 (같은 쓰기 스레드에서 순서대로 실행된다)
+                deleteSegment(segment);
+                return Mono.empty();
+            });
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            flush().block(Duration.ofSeconds(10));
+        } catch (RuntimeException e) {
+            log.warn("종료 전 좋아요 반영 실패: {}", e.getMessage());
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * 이전 실행에서 반영하지 못한 저널 세그먼트를 다시 반영하고 집계 카운터를 맞춘다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayJournal() {
+        if (journal == null || journal.recovered.isEmpty()) {
+            return;
+        }
+        List<Path> segments = journal.recovered;
+        Mono.fromCallable(() -> readSegments(segments))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(batch -> {
+                // 기동 후 새로 받은 상태가 더 최근이다
+                batch.keySet().removeIf(key -> state(key).isPresent());
+                return write(batch)
+                    .map(dropped -> {
+                        applyToIndex(batch, dropped);
+                        return batch.size() - dropped.size();
+                    });
+            })
+            .doOnNext(count -> {
+                log.info("좋아요 저널 {}건 반영", count);
+                segments.forEach(this::deleteQuietly);
+            })
+            .then(Mono.defer(statsCounterService::reconcile))
+            .subscribe(null, error -> log.error("좋아요 저널 반영 실패: {}", error.getMessage()));
+    }
+
+    // 반영하는 동안 새로 읽어 온 좋아요 목록에도 맞춘다 (이미 반영된 목록에는 변화 없음)
+    private void applyToIndex(Map<LikeKey, PendingLike> batch, Set<LikeKey> dropped) {
+        batch.forEach((key, like) -> {
+            EngagementIndexService.Kind kind = EngagementIndexService.likeKind(key.targetType());
+            if (like.liked() && !dropped.contains(key)) {
+                engagementIndexService.added(key.userId(), kind, key.targetId());
+            } else {
+                engagementIndexService.removed(key.userId(), kind, key.targetId());
+            }
+        });
+    }
+
+    /**
+     * 아직 반영하지 않은 좋아요/취소가 있는 대상 ID
+     */
+    public synchronized Set<Long> pendingTargets(LikeTargetType targetType) {
+        Set<Long> targetIds = new HashSet<>();
+        for (Map<LikeKey, PendingLike> likes : List.of(pending, inflight)) {
+            for (LikeKey key : likes.keySet()) {
+                if (key.targetType() == targetType) {
+                    targetIds.add(key.targetId());
+                }
+            }
+        }
+        return targetIds;
+    }
+
+    public synchronized int size() {
+        return pending.size() + inflight.size();
+    }
+
+    private PendingLike current(LikeKey key) {
+        PendingLike like = pending.get(key);
+        return like != null ? like : inflight.get(key);
+    }
+
+    // 같은 상태를 여러 번 써도 결과가 같다 (INSERT IGNORE / 없는 행 DELETE)
+    // 대상이 없거나 삭제되어 쓰지 않은 좋아요를 돌려준다
+    Mono<Set<LikeKey>> write(Map<LikeKey, PendingLike> batch) {
+        List<Map.Entry<LikeKey, PendingLike>> likes = new ArrayList<>();
+        List<Map.Entry<LikeKey, PendingLike>> unlikes = new ArrayList<>();
+        batch.entrySet().forEach(entry -> (entry.getValue().liked() ? likes : unlikes).add(entry));
+        Set<LikeKey> dropped = new HashSet<>();
+
+        return Flux.fromIterable(partition(likes))
+            .concatMap(part -> likeable(part).flatMap(kept -> {
+                if (kept.size() < part.size()) {
+                    Set<LikeKey> keptKeys = kept.stream().map(Map.Entry::getKey).collect(Collectors.toSet());
+                    part.stream().map(Map.Entry::getKey).filter(key -> !keptKeys.contains(key)).forEach(dropped::add);
+                }
+                return kept.isEmpty() ? Mono.just(0L) : insert(kept);
+            }))
+            .thenMany(Flux.fromIterable(partition(unlikes)).concatMap(this::delete))
+            .then(Mono.fromSupplier(() -> dropped))
+            .as(transactionalOperator::transactional);
+    }
+
+    // 대상이 있고 삭제되지 않은 좋아요만 남긴다
+    // 대상 행은 트랜잭션이 끝날 때까지 공유 잠금을 걸어 INSERT 전에 삭제되지 않게 한다
+    private Mono<List<Map.Entry<LikeKey, PendingLike>>> likeable(List<Map.Entry<LikeKey, PendingLike>> batch) {
+        Map<LikeTargetType, Set<Long>> targets = new EnumMap<>(LikeTargetType.class);
+        batch.forEach(entry -> targets.computeIfAbsent(entry.getKey().targetType(), type -> new HashSet<>())
+            .add(entry.getKey().targetId()));
+
+        return Flux.fromIterable(targets.entrySet())
+            .concatMap(entry -> databaseClient.sql("SELECT id FROM " + (entry.getKey() == LikeTargetType.POST ? "posts" : "comments") +
+                    " WHERE id IN (:ids) AND is_deleted = FALSE LOCK IN SHARE MODE")
+                .bind("ids", entry.getValue())
+                .map((row, metadata) -> row.get("id", Long.class))
+                .all()
+                .collect(Collectors.toSet())
+                .doOnNext(live -> entry.getValue().retainAll(live)))
+            .then(Mono.fromSupplier(() -> batch.stream()
+                .filter(entry -> targets.get(entry.getKey().targetType()).contains(entry.getKey().targetId()))
+                .toList()));
+    }
+
+    private Mono<Long> insert(List<Map.Entry<LikeKey, PendingLike>> batch) {
+        StringBuilder sql = new StringBuilder("INSERT IGNORE INTO likes (user_id, target_id, target_type, created_at) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                .append("(:user").append(i).append(", :target").append(i)
+                .append(", :type").append(i).append(", :createdAt").append(i).append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            LikeKey key = batch.get(i).getKey();
+            spec = spec.bind("user" + i, key.userId())
+                .bind("target" + i, key.targetId())
+                .bind("type" + i, key.targetType().name())
+                .bind("createdAt" + i, batch.get(i).getValue().createdAt());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private Mono<Long> delete(List<Map.Entry<LikeKey, PendingLike>> batch) {
+        StringBuilder sql = new StringBuilder("DELETE FROM likes WHERE (user_id, target_id, target_type) IN (");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                .append("(:user").append(i).append(", :target").append(i).append(", :type").append(i).append(")");
+        }
+        sql.append(")");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            LikeKey key = batch.get(i).getKey();
+            spec = spec.bind("user" + i, key.userId())
+                .bind("target" + i, key.targetId())
+                .bind("type" + i, key.targetType().name());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static <T> List<List<T>> partition(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += FLUSH_BATCH_SIZE) {
+            batches.add(items.subList(i, Math.min(i + FLUSH_BATCH_SIZE, items.size())));
+        }
+        return batches;
+    }
+
+    // 세그먼트 순서대로 읽어 대상별 마지막 상태만 남긴다
+    private Map<LikeKey, PendingLike> readSegments(List<Path> segments) throws IOException {
+        Map<LikeKey, PendingLike> batch = new HashMap<>();
+        for (Path segment : segments) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split(",");
+                    // 마지막 줄이 쓰다 만 기록일 수 있다
+                    if (fields.length != 5) {
+                        continue;
+                    }
+                    try {
+                        batch.put(new LikeKey(Long.parseLong(fields[0]), LikeTargetType.valueOf(fields[1]), Long.parseLong(fields[2])),
+                            new PendingLike("1".equals(fields[3]), LocalDateTime.parse(fields[4])));
+                    } catch (RuntimeException e) {
+                        log.warn("좋아요 저널 기록을 읽을 수 없습니다: {}", line);
+                    }
+                }
+            }
+        }
+        return batch;
+    }
+
+    private void deleteSegment(CompletableFuture<Path> segment) {
+        segment.thenAccept(path -> {
+            if (path != null) {
+                journal.schedule(() -> deleteQuietly(path));
+            }
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("좋아요 저널 세그먼트 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 저널 파일 (likes-<번호>.log, 한 줄에 "userId,targetType,targetId,1|0,createdAt")
+     * 파일 작업은 모두 한 스레드에서 예약한 순서대로 실행하므로, 버퍼를 잠근 채 예약한 기록은 버퍼에 넣은 순서대로 쓰인다
+     */
+    private final class Journal {
+        private final Path dir;
+        private final Scheduler scheduler = Schedulers.newSingle("like-journal");
+        // 기동할 때 남아 있던 세그먼트 (번호 순)
+        private final List<Path> recovered;
+        private long sequence;
+        private OutputStream out;
+        private Path current;
+
+        Journal(Path dir) throws IOException {
+            this.dir = dir;
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                recovered = files
+                    .filter(path -> sequenceOf(path) >= 0)
+                    .sorted(Comparator.comparingLong(this::sequenceOf))
+                    .toList();
+            }
+            sequence = recovered.isEmpty() ? 0 : sequenceOf(recovered.get(recovered.size() - 1)) + 1;
+        }
+
+        CompletableFuture<Void> append(LikeKey key, PendingLike like) {
+            byte[] record = (key.userId() + "," + key.targetType().name() + "," + key.targetId() + ","
+                + (like.liked() ? "1" : "0") + "," + like.createdAt() + "\n").getBytes(StandardCharsets.UTF_8);
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            schedule(() -> {
+                try {
+                    if (out == null) {
+                        current = dir.resolve(SEGMENT_PREFIX + sequence++ + SEGMENT_SUFFIX);
+                        out = Files.newOutputStream(current, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    }
+                    out.write(record);
+                } catch (IOException e) {
+                    // 저널에 못 써도 버퍼에는 들어가 있으므로 응답은 그대로 한다
+                    log.warn("좋아요 저널 기록 실패: {}", e.getMessage());
+                }
+                done.complete(null);
+            });
+            return done;
+        }
+
+        // 지금 세그먼트를 닫고 다음 기록부터 새 세그먼트에 쓴다 (닫은 세그먼트, 없으면 null)
+        CompletableFuture<Path> rotate() {
+            CompletableFuture<Path> closed = new CompletableFuture<>();
+            schedule(() -> {
+                Path segment = current;
+                closeCurrent();
+                closed.complete(segment);
+            });
+            return closed;
+        }
+
+        void schedule(Runnable task) {
+            scheduler.schedule(task);
+        }
+
+        void close() {
+            schedule(this::closeCurrent);
+            scheduler.disposeGracefully().block(Duration.ofSeconds(5));
+        }
+
+        private void closeCurrent() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("좋아요 저널 닫기 실패: {}", e.getMessage());
+            }
+            out = null;
+            current = null;
+        }
+
+        private long sequenceOf(Path path) {
+            String name = path.getFileName().toString();
+            if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -5,22 +5,24 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import site.linkverse.back.dto.CursorPage;
 import site.linkverse.back.dto.MessageCreateDto;
 import site.linkverse.back.dto.MessageDto;
 import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.model.Message;
 import site.linkverse.back.repository.MessageRepository;
 import site.linkverse.back.repository.UserBlockRepository;
-import site.linkverse.back.repository.UserRepository;
+import site.linkverse.back.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class MessageService {
     private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
     private final UserBlockRepository userBlockRepository;
     
     public Mono<MessageDto> sendMessage(Long senderId, MessageCreateDto messageCreateDto) {
@@ -60,6 +62,17 @@ public class MessageService {
             .flatMap(this::convertToDto);
     }
     
+    public Mono<CursorPage<MessageDto>> getConversation(Long userId, Long otherUserId, PageCursor cursor, int size) {
+        PageCursor from = cursor != null ? cursor : PageCursor.LATEST;
+        return messageRepository.findConversationBefore(userId, otherUserId, from.getCreatedAt(), from.getId(), size)
+            .collectList()
+            .flatMap(messages -> Flux.fromIterable(messages)
+                .flatMapSequential(this::convertToDto)
+                .collectList()
+                .map(items -> new CursorPage<>(items,
+                    PageCursor.next(messages, size, Message::getCreatedAt, Message::getId))));
+    }
+    
     public Flux<MessageDto> getGroupMessages(Long groupId, int page, int size) {
         return messageRepository.findByGroupIdOrderByCreatedAtDesc(groupId, PageRequest.of(page, size))
             .flatMap(this::convertToDto);
@@ -67,12 +80,12 @@ public class MessageService {
     
     public Flux<UserDto> getRecentConversations(Long userId, int page, int size) {
         return messageRepository.findRecentConversationUserIds(userId, PageRequest.of(page, size))
-            .flatMap(otherUserId -> userRepository.findById(otherUserId))
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build());
+            .collectList()
+            .flatMapMany(otherUserIds -> userSummaryService.getUsers(otherUserIds)
+                .flatMapIterable(users -> otherUserIds.stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .toList()));
     }
     
     public Mono<Void> markAsRead(List<Long> messageIds) {
@@ -90,20 +103,10 @@ public class MessageService {
             .isRead(message.isRead())
             .createdAt(message.getCreatedAt());
             
-        Mono<UserDto> senderMono = userRepository.findById(message.getSenderId())
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build());
+        Mono<UserDto> senderMono = userSummaryService.getUser(message.getSenderId());
                 
         Mono<UserDto> receiverMono = message.getReceiverId() != null
-            ? userRepository.findById(message.getReceiverId())
-                .map(user -> UserDto.builder()
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .profileImage(user.getProfileImage())
-                    .build())
+            ? userSummaryService.getUser(message.getReceiverId())
             : Mono.empty();
             
         return Mono.zip(senderMono, receiverMono.defaultIfEmpty(null))
@@ -0,0 +1,178 @@
+package site.linkverse.back.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.dto.NotificationDto;
+import site.linkverse.back.enums.NotificationReferenceType;
+import site.linkverse.back.enums.NotificationType;
+import site.linkverse.back.model.Notification;
+import site.linkverse.back.repository.NotificationRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 묶기 ("OO님 외 N명이 회원님의 게시물을 좋아합니다")
+ *
+ * (받는 사용자, 알림 종류, 대상 종류, 대상 ID) 별로 notifications.aggregate.window-ms 동안 들어온 알림을 모았다가 한 번에 반영한다.
+ * - 읽지 않았고 notifications.aggregate.merge-hours 안에 만든 같은 대상의 알림이 있으면 그 행에 합쳐 맨 위로 올리고, 없으면 새로 만든다
+ * - actor_count 는 합쳐진 사용자 수, recent_actor_ids 는 최근 사용자 notifications.aggregate.recent-actors 명
+ * - SSE 는 묶음마다 한 번만 보낸다
+ * 좋아요/댓글/팔로우 알림에 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationAggregator {
+    private static final int FLUSH_CONCURRENCY = 16;
+
+    @Value("${notifications.aggregate.merge-hours:24}")
+    private long mergeHours;
+
+    @Value("${notifications.aggregate.recent-actors:5}")
+    private int recentActors;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final SSENotificationService sseNotificationService;
+    private final UserSummaryService userSummaryService;
+
+    // 아직 반영하지 않은 묶음. 묶음은 compute / remove 안에서만 바꾼다
+    private final Map<Key, Batch> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+
+    private record Key(Long recipientId, NotificationType type, NotificationReferenceType referenceType, Long referenceId) {
+    }
+
+    // 묶음 안의 사용자 (오래된 순)
+    private static final class Batch {
+        private final LinkedHashSet<Long> actors = new LinkedHashSet<>();
+    }
+
+    /**
+     * 알림 추가 (자기 자신에게는 보내지 않는다)
+     */
+    public void add(Long recipientId, Long actorId, NotificationType type, NotificationReferenceType referenceType, Long referenceId) {
+        if (recipientId.equals(actorId)) {
+            return;
+        }
+        pending.compute(new Key(recipientId, type, referenceType, referenceId), (key, batch) -> {
+            Batch result = batch != null ? batch : new Batch();
+            // 같은 사용자가 다시 보내면 가장 최근으로 옮긴다
+            result.actors.remove(actorId);
+            result.actors.add(actorId);
+            return result;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.aggregate.window-ms:3000}")
+    public void scheduledFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flush()
+            .doFinally(signal -> flushing.set(false))
+            .subscribe(null, error -> log.error("알림 반영 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 모은 알림을 묶음마다 한 행으로 반영하고 실시간 전송
+     */
+    public Mono<Void> flush() {
+        List<Map.Entry<Key, Batch>> batches = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            Batch batch = pending.remove(key);
+            if (batch != null) {
+                batches.add(Map.entry(key, batch));
+            }
+        }
+
+        return Flux.fromIterable(batches)
+            .flatMap(entry -> upsert(entry.getKey(), entry.getValue())
+                .flatMap(notification -> sseNotificationService.sendNotificationToUser(entry.getKey().recipientId(), notification))
+                .onErrorResume(error -> {
+                    log.warn("사용자 {} 알림 반영 실패: {}", entry.getKey().recipientId(), error.getMessage());
+                    return Mono.empty();
+                }), FLUSH_CONCURRENCY)
+            .then();
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            flush().block(Duration.ofSeconds(10));
+        } catch (RuntimeException e) {
+            log.warn("종료 전 알림 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private Mono<NotificationDto> upsert(Key key, Batch batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> actors = new ArrayList<>(batch.actors);
+        Collections.reverse(actors);
+
+        return notificationRepository.findFirstByUserIdAndNotificationTypeAndReferenceTypeAndReferenceIdAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+                key.recipientId(), key.type(), key.referenceType(), key.referenceId(), now.minusHours(mergeHours))
+            .map(existing -> merge(existing, actors, now))
+            .switchIfEmpty(Mono.fromSupplier(() -> Notification.builder()
+                .userId(key.recipientId())
+                .senderId(actors.get(0))
+                .notificationType(key.type())
+                .referenceId(key.referenceId())
+                .referenceType(key.referenceType())
+                .actorCount(actors.size())
+                .recentActorIds(join(actors))
+                .isRead(false)
+                .createdAt(now)
+                .build()))
+            .flatMap(notification -> userSummaryService.getUser(notification.getSenderId())
+                .flatMap(sender -> {
+                    notification.setContent(content(key.type(), key.referenceType(), sender.getUsername(), notification.getActorCount() - 1));
+                    return notificationRepository.save(notification);
+                }))
+            .flatMap(notificationService::convertToDto);
+    }
+
+    // 이미 합쳐진 사용자는 다시 세지 않는다 (최근 사용자 목록에 남아 있는 경우만 알 수 있다)
+    private Notification merge(Notification existing, List<Long> actors, LocalDateTime now) {
+        List<Long> previous = NotificationService.actorIds(existing);
+        long added = actors.stream().filter(actor -> !previous.contains(actor)).count();
+
+        List<Long> recent = new ArrayList<>(actors);
+        previous.stream().filter(actor -> !actors.contains(actor)).forEach(recent::add);
+
+        existing.setSenderId(actors.get(0));
+        existing.setActorCount((int) (Math.max(1, existing.getActorCount()) + added));
+        existing.setRecentActorIds(join(recent));
+        existing.setCreatedAt(now);
+        return existing;
+    }
+
+    private String join(List<Long> actors) {
+        return actors.stream()
+            .limit(recentActors)
+            .map(String::valueOf)
+            .collect(Collectors.joining(","));
+    }
+
+    private static String content(NotificationType type, NotificationReferenceType referenceType, String username, int others) {
+        String actors = others > 0 ? username + "님 외 " + others + "명이" : username + "님이";
+        String subject = referenceType == NotificationReferenceType.COMMENT ? "댓글" : "게시물";
+        return switch (type) {
+            case LIKE -> actors + " 회원님의 " + subject + "을 좋아합니다";
+            case COMMENT -> actors + " 회원님의 " + subject + "에 댓글을 남겼습니다";
+            case FOLLOW -> actors + " 회원님을 팔로우합니다";
+            default -> actors + " 회원님에게 알림을 보냈습니다";
+        };
+    }
+}
\ No newline at end of file
@@ -5,21 +5,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import site.linkverse.back.dto.CursorPage;
 import site.linkverse.back.dto.NotificationDto;
 import site.linkverse.back.dto.UserDto;
 import site.linkverse.back.enums.NotificationType;
 import site.linkverse.back.model.Notification;
 import site.linkverse.back.repository.NotificationRepository;
-import site.linkverse.back.repository.UserRepository;
+import site.linkverse.back.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
     
     public Mono<NotificationDto> createNotification(Long userId, Long senderId, NotificationType type, Long referenceId, String content) {
         Notification notification = Notification.builder()
@@ -28,6 +30,8 @@ public class NotificationService {
             .notificationType(type)
             .referenceId(referenceId)
             .content(content)
+            .actorCount(1)
+            .recentActorIds(String.valueOf(senderId))
             .isRead(false)
             .createdAt(LocalDateTime.now())
             .build();
@@ -41,6 +45,17 @@ public class NotificationService {
             .flatMap(this::convertToDto);
     }
     
+    public Mono<CursorPage<NotificationDto>> getUserNotifications(Long userId, PageCursor cursor, int size) {
+        PageCursor from = cursor != null ? cursor : PageCursor.LATEST;
+        return notificationRepository.findByUserIdBefore(userId, from.getCreatedAt(), from.getId(), size)
+            .collectList()
+            .flatMap(notifications -> Flux.fromIterable(notifications)
+                .flatMapSequential(this::convertToDto)
+                .collectList()
+                .map(items -> new CursorPage<>(items,
+                    PageCursor.next(notifications, size, Notification::getCreatedAt, Notification::getId))));
+    }
+    
     public Mono<Long> countUnreadNotifications(Long userId) {
         return notificationRepository.countByUserIdAndIsReadFalse(userId);
     }
@@ -49,25 +64,34 @@ public class NotificationService {
         return notificationRepository.updateReadStatusByIds(notificationIds);
     }
     
-    private Mono<NotificationDto> convertToDto(Notification notification) {
+    public Mono<NotificationDto> convertToDto(Notification notification) {
         NotificationDto.NotificationDtoBuilder notificationDtoBuilder = NotificationDto.builder()
             .id(notification.getId())
             .userId(notification.getUserId())
             .senderId(notification.getSenderId())
             .notificationType(notification.getNotificationType())
             .referenceId(notification.getReferenceId())
+            .referenceType(notification.getReferenceType())
             .content(notification.getContent())
+            .actorCount(Math.max(1, notification.getActorCount()))
+            .recentActorIds(actorIds(notification))
             .isRead(notification.isRead())
             .createdAt(notification.getCreatedAt());
             
-        return userRepository.findById(notification.getSenderId())
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build())
+        return userSummaryService.getUser(notification.getSenderId())
             .map(sender -> notificationDtoBuilder
                 .sender(sender)
                 .build());
     }
+
+    /**
+     * 최근 사용자 ID (묶기 전에 만든 알림은 보낸 사용자 한 명)
+     */
+    public static List<Long> actorIds(Notification notification) {
+        String ids = notification.getRecentActorIds();
+        if (ids == null || ids.isBlank()) {
+            return notification.getSenderId() != null ? List.of(notification.getSenderId()) : List.of();
+        }
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).toList();
+    }
 }
\ No newline at end of file
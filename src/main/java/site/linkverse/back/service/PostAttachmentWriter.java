@@ -0,0 +1,155 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.model.Media;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시물 미디어/해시태그 일괄 저장
+ *
+ * 항목마다 save() 를 호출하지 않고 여러 행을 한 문장으로 저장한다.
+ * - 미디어: 다중 행 INSERT 1회
+ * - 해시태그: 이름 -> ID 는 HashtagDictionary 에서 찾고 (새 해시태그만 INSERT ... ON DUPLICATE KEY + ID 조회),
+ *   post_hashtags 다중 행 INSERT 1회
+ * 호출하는 쪽의 트랜잭션(TransactionalOperator) 안에서 실행된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostAttachmentWriter {
+
+    private final DatabaseClient databaseClient;
+    private final HashtagDictionary hashtagDictionary;
+    private final MeterRegistry meterRegistry;
+
+    private Timer mediaTimer;
+    private Timer hashtagTimer;
+
+    /**
+     * 게시물에 연결된 해시태그 (post_hashtags.id 순서 = 작성한 순서)
+     */
+    public record HashtagLink(Long id, String name) {
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        mediaTimer = Timer.builder("posts.attachments.write")
+            .description("게시물 미디어/해시태그 일괄 저장 시간")
+            .tag("kind", "media")
+            .register(meterRegistry);
+        hashtagTimer = Timer.builder("posts.attachments.write")
+            .description("게시물 미디어/해시태그 일괄 저장 시간")
+            .tag("kind", "hashtag")
+            .register(meterRegistry);
+    }
+
+    public Mono<Void> insertMedia(List<Media> mediaList) {
+        if (mediaList.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO media (post_id, media_type, url, created_at) VALUES ");
+        for (int i = 0; i < mediaList.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                .append("(:postId").append(i).append(", :mediaType").append(i)
+                .append(", :url").append(i).append(", :createdAt").append(i).append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < mediaList.size(); i++) {
+            Media media = mediaList.get(i);
+            spec = spec.bind("postId" + i, media.getPostId())
+                .bind("mediaType" + i, media.getMediaType().name())
+                .bind("url" + i, media.getUrl())
+                .bind("createdAt" + i, media.getCreatedAt());
+        }
+        return spec.fetch().rowsUpdated()
+            .then()
+            .transform(mono -> timed(mono, mediaTimer));
+    }
+
+    public Mono<Void> deleteMedia(Collection<Long> mediaIds) {
+        if (mediaIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("DELETE FROM media WHERE id IN (:ids)")
+            .bind("ids", mediaIds)
+            .fetch().rowsUpdated()
+            .then();
+    }
+
+    public Flux<HashtagLink> findHashtagLinks(Long postId) {
+        return databaseClient.sql(
+                "SELECT ph.id, h.name FROM post_hashtags ph " +
+                "JOIN hashtags h ON h.id = ph.hashtag_id " +
+                "WHERE ph.post_id = :postId ORDER BY ph.id")
+            .bind("postId", postId)
+            .map((row, metadata) -> new HashtagLink(row.get("id", Long.class), row.get("name", String.class)))
+            .all();
+    }
+
+    public Mono<Void> unlinkHashtags(Collection<Long> linkIds) {
+        if (linkIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("DELETE FROM post_hashtags WHERE id IN (:ids)")
+            .bind("ids", linkIds)
+            .fetch().rowsUpdated()
+            .then();
+    }
+
+    /**
+     * 해시태그를 (없으면 만들어서) 게시물에 연결한다
+     * 입력 순서대로 post_hashtags 에 저장되므로 조회 시 작성한 순서가 유지된다
+     */
+    public Mono<Void> linkHashtags(Long postId, Collection<String> hashtags) {
+        List<String> names = hashtags.stream()
+            .map(HashtagDictionary::normalize)
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .toList();
+        if (names.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return hashtagDictionary.resolveIds(names)
+            .flatMap(ids -> insertPostHashtags(postId, names.stream()
+                .map(ids::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList()))
+            .transform(mono -> timed(mono, hashtagTimer));
+    }
+
+    private Mono<Void> insertPostHashtags(Long postId, List<Long> hashtagIds) {
+        if (hashtagIds.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO post_hashtags (post_id, hashtag_id) VALUES ");
+        for (int i = 0; i < hashtagIds.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:postId, :hashtagId").append(i).append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("postId", postId);
+        for (int i = 0; i < hashtagIds.size(); i++) {
+            spec = spec.bind("hashtagId" + i, hashtagIds.get(i));
+        }
+        return spec.fetch().rowsUpdated().then();
+    }
+
+    private Mono<Void> timed(Mono<Void> mono, Timer timer) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono.doOnTerminate(() -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+}
\ No newline at end of file
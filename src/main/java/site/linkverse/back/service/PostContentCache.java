@@ -0,0 +1,139 @@
+package site.linkverse.back.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import site.linkverse.back.dto.MediaDto;
+import site.linkverse.back.enums.VisibilityType;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 조회하는 사용자와 무관한 게시물 정보(본문, 미디어, 해시태그) 캐시
+ *
+ * 항목은 JSON 바이트 배열로 저장하여 게시물당 힙 사용량을 줄이고, 전체 바이트 수 기준으로 제거한다.
+ * 꺼낼 때마다 새 객체로 역직렬화되므로 호출한 쪽에서 수정해도 캐시에는 영향이 없다.
+ * 작성자 정보는 UserSummaryService, 좋아요/북마크 여부와 카운트는 조회 시점에 따로 채운다.
+ * 수정/삭제 후에는 그 버전(updated_at)을 남겨 두고, 수정 전에 읽기 시작한 요청이 더 오래된 내용을 다시 넣지 못하게 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostContentCache {
+
+    @Value("${post-cache.maximum-bytes:67108864}")
+    private long maximumBytes;
+
+    @Value("${post-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Long, byte[]> cache;
+    // 수정/삭제한 게시물의 마지막 버전 (updated_at, 초 단위로 비교), 캐시 항목과 같은 시간 동안 남긴다
+    private Cache<Long, LocalDateTime> versions;
+
+    public record CachedPost(Long id, Long userId, String content, String location, VisibilityType visibility,
+                             LocalDateTime createdAt, LocalDateTime updatedAt,
+                             List<MediaDto> media, List<String> hashtags) {
+    }
+
+    @PostConstruct
+    public void initCache() {
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((Long postId, byte[] bytes) -> bytes.length)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "posts.content");
+        versions = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    public Optional<CachedPost> get(Long postId) {
+        byte[] bytes = cache.getIfPresent(postId);
+        return bytes != null ? Optional.ofNullable(deserialize(postId, bytes)) : Optional.empty();
+    }
+
+    /**
+     * 캐시에 있는 게시물만 반환한다
+     */
+    public Map<Long, CachedPost> getAllPresent(Collection<Long> postIds) {
+        Map<Long, byte[]> present = cache.getAllPresent(postIds);
+        Map<Long, CachedPost> result = new HashMap<>(present.size() * 2);
+        present.forEach((postId, bytes) -> {
+            CachedPost post = deserialize(postId, bytes);
+            if (post != null) {
+                result.put(postId, post);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 마지막으로 수정/삭제한 버전보다 오래된 내용이면 넣지 않는다
+     */
+    public void put(CachedPost post) {
+        if (isStale(post)) {
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(post);
+        } catch (JsonProcessingException e) {
+            log.warn("게시물 {} 캐시 저장 실패: {}", post.id(), e.getMessage());
+            return;
+        }
+        cache.put(post.id(), bytes);
+        // 확인한 뒤 넣기 전에 무효화되었으면 넣은 항목만 다시 뺀다
+        if (isStale(post)) {
+            cache.asMap().remove(post.id(), bytes);
+        }
+    }
+
+    private boolean isStale(CachedPost post) {
+        LocalDateTime version = versions.getIfPresent(post.id());
+        return version != null
+            && (post.updatedAt() == null || post.updatedAt().truncatedTo(ChronoUnit.SECONDS).isBefore(version));
+    }
+
+    public boolean contains(Long postId) {
+        return cache.getIfPresent(postId) != null;
+    }
+
+    /**
+     * 수정/삭제를 커밋한 뒤에 부른다 (updatedAt 은 커밋한 게시물의 updated_at)
+     */
+    public void invalidate(Long postId, LocalDateTime updatedAt) {
+        if (updatedAt != null) {
+            versions.asMap().merge(postId, updatedAt.truncatedTo(ChronoUnit.SECONDS),
+                (previous, current) -> current.isAfter(previous) ? current : previous);
+        }
+        cache.invalidate(postId);
+    }
+
+    private CachedPost deserialize(Long postId, byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, CachedPost.class);
+        } catch (IOException e) {
+            log.warn("게시물 {} 캐시 항목을 읽을 수 없어 제거합니다: {}", postId, e.getMessage());
+            cache.invalidate(postId);
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package site.linkverse.back.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.dto.MediaDto;
+import site.linkverse.back.dto.PostDto;
+import site.linkverse.back.dto.UserDto;
+import site.linkverse.back.enums.LikeTargetType;
+import site.linkverse.back.model.Media;
+import site.linkverse.back.model.Post;
+import site.linkverse.back.model.PostHashtag;
+import site.linkverse.back.model.PostHashtagName;
+import site.linkverse.back.model.PostStats;
+import site.linkverse.back.repository.*;
+import site.linkverse.back.service.EngagementIndexService.Kind;
+import site.linkverse.back.service.EngagementIndexService.Membership;
+import site.linkverse.back.service.PostContentCache.CachedPost;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 게시물 목록(페이지) 단위 상세 정보 조회
+ * 게시물마다 쿼리를 보내지 않고, 관계별로 IN 쿼리를 한 번씩만 실행한다
+ * 좋아요/댓글 수는 post_stats 집계 카운터에서, 좋아요/북마크 여부는 EngagementIndexService 에서 읽는다
+ * 해시태그 이름은 HashtagDictionary 에서 찾고, 본문/미디어/해시태그는 PostContentCache 에 있으면 캐시에서 읽고, 없는 게시물만 조회한 뒤 캐시에 넣는다
+ */
+@Service
+@RequiredArgsConstructor
+public class PostHydrationService {
+
+    @Value("${feed.stream.chunk-size:5}")
+    private int streamChunkSize;
+
+    @Value("${feed.stream.concurrency:4}")
+    private int streamConcurrency;
+
+    private final UserSummaryService userSummaryService;
+    private final MediaRepository mediaRepository;
+    private final PostHashtagRepository postHashtagRepository;
+    private final LikeRepository likeRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final StatsCounterService statsCounterService;
+    private final PostContentCache postContentCache;
+    private final EngagementIndexService engagementIndexService;
+    private final HashtagDictionary hashtagDictionary;
+    private final LikeWriteBuffer likeWriteBuffer;
+
+    public Mono<PostDto> hydrate(Post post, Long currentUserId) {
+        return hydrate(List.of(post), currentUserId).next();
+    }
+
+    public Flux<PostDto> hydrate(Flux<Post> posts, Long currentUserId) {
+        return posts.collectList()
+            .flatMapMany(page -> hydrate(page, currentUserId));
+    }
+
+    /**
+     * 게시물을 feed.stream.chunk-size 개씩 나누어 채우고, 앞 묶음부터 순서대로 내보낸다
+     * 첫 게시물이 페이지 전체가 아니라 첫 묶음만 기다리면 되므로 스트리밍 응답의 첫 응답 시간이 짧아진다
+     */
+    public Flux<PostDto> hydrateProgressively(Flux<Post> posts, Long currentUserId) {
+        return posts
+            .buffer(streamChunkSize)
+            .flatMapSequential(chunk -> hydrate(chunk, currentUserId), streamConcurrency);
+    }
+
+    /**
+     * 캐시에 있는 게시물이면 posts 테이블을 읽지 않고 상세 정보를 만든다 (캐시에 없으면 empty)
+     */
+    public Mono<PostDto> hydrateCached(Long postId, Long currentUserId) {
+        return Mono.justOrEmpty(postContentCache.get(postId))
+            .flatMap(cached -> build(List.of(cached), currentUserId).next());
+    }
+
+    /**
+     * 입력 순서를 그대로 유지하여 반환한다 (작성자를 찾을 수 없는 게시물은 제외)
+     */
+    public Flux<PostDto> hydrate(List<Post> page, Long currentUserId) {
+        if (page.isEmpty()) {
+            return Flux.empty();
+        }
+
+        List<Long> postIds = page.stream().map(Post::getId).distinct().toList();
+        Map<Long, CachedPost> cachedPosts = postContentCache.getAllPresent(postIds);
+        List<Long> missingIds = postIds.stream().filter(id -> !cachedPosts.containsKey(id)).toList();
+
+        Mono<Map<Long, Collection<MediaDto>>> mediaMono = missingIds.isEmpty()
+            ? Mono.just(Collections.emptyMap())
+            : mediaRepository.findByPostIdInOrderByIdAsc(missingIds)
+                .collectMultimap(Media::getPostId, media -> MediaDto.builder()
+                    .id(media.getId())
+                    .postId(media.getPostId())
+                    .mediaType(media.getMediaType())
+                    .url(media.getUrl())
+                    .createdAt(media.getCreatedAt())
+                    .build());
+
+        Mono<Map<Long, Collection<String>>> hashtagsMono = missingIds.isEmpty()
+            ? Mono.just(Collections.emptyMap())
+            : hashtagNames(missingIds);
+
+        return Mono.zip(mediaMono, hashtagsMono)
+            .flatMapMany(tuple -> {
+                Map<Long, Collection<MediaDto>> media = tuple.getT1();
+                Map<Long, Collection<String>> hashtags = tuple.getT2();
+
+                List<CachedPost> contents = new ArrayList<>(page.size());
+                for (Post post : page) {
+                    CachedPost cached = cachedPosts.get(post.getId());
+                    if (cached == null) {
+                        cached = new CachedPost(post.getId(), post.getUserId(), post.getContent(),
+                            post.getLocation(), post.getVisibility(), post.getCreatedAt(), post.getUpdatedAt(),
+                            new ArrayList<>(media.getOrDefault(post.getId(), List.of())),
+                            new ArrayList<>(hashtags.getOrDefault(post.getId(), List.of())));
+                        if (!post.isDeleted()) {
+                            postContentCache.put(cached);
+                        }
+                    }
+                    contents.add(cached);
+                }
+                return build(contents, currentUserId);
+            });
+    }
+
+    // 해시태그 이름은 사전에서 찾는다 (사전 로드 전에는 hashtags 와 조인해서 조회)
+    private Mono<Map<Long, Collection<String>>> hashtagNames(List<Long> postIds) {
+        if (!hashtagDictionary.isLoaded()) {
+            return postHashtagRepository.findNamesByPostIds(postIds)
+                .collectMultimap(PostHashtagName::getPostId, PostHashtagName::getName);
+        }
+        return postHashtagRepository.findByPostIdInOrderByIdAsc(postIds)
+            .collectList()
+            .flatMap(links -> hashtagDictionary.namesOf(links.stream().map(PostHashtag::getHashtagId).toList())
+                .map(names -> {
+                    Map<Long, Collection<String>> result = new HashMap<>();
+                    for (PostHashtag link : links) {
+                        String name = names.get(link.getHashtagId());
+                        if (name != null) {
+                            result.computeIfAbsent(link.getPostId(), id -> new ArrayList<>()).add(name);
+                        }
+                    }
+                    return result;
+                }));
+    }
+
+    // 작성자, 카운트, 조회하는 사용자별 정보(좋아요/북마크 여부)를 채운다
+    private Flux<PostDto> build(List<CachedPost> contents, Long currentUserId) {
+        List<Long> postIds = contents.stream().map(CachedPost::id).distinct().toList();
+        Set<Long> userIds = new HashSet<>();
+        contents.forEach(post -> userIds.add(post.userId()));
+
+        Mono<Map<Long, UserDto>> usersMono = userSummaryService.getUsers(userIds);
+
+        Mono<Map<Long, PostStats>> statsMono = statsCounterService.getPostStats(postIds);
+
+        Mono<Set<Long>> likedMono = Mono.just(Collections.emptySet());
+        Mono<Set<Long>> bookmarkedMono = Mono.just(Collections.emptySet());
+        if (currentUserId != null) {
+            // 메모리 목록이 없는 사용자(한도 초과)만 DB 에서 확인한다
+            Mono<Membership> membership = engagementIndexService.get(currentUserId).cache();
+            likedMono = membership.map(index -> index.retain(Kind.LIKED_POSTS, postIds))
+                .switchIfEmpty(Mono.defer(() -> likeRepository.findLikedPostIds(currentUserId, postIds)
+                    .collect(Collectors.toSet())))
+                // 아직 DB 에 반영하지 않은 좋아요/취소도 바로 보이게 한다
+                .map(liked -> likeWriteBuffer.overlay(currentUserId, LikeTargetType.POST, postIds, liked));
+            bookmarkedMono = membership.map(index -> index.retain(Kind.BOOKMARKED_POSTS, postIds))
+                .switchIfEmpty(Mono.defer(() -> bookmarkRepository.findBookmarkedPostIds(currentUserId, postIds)
+                    .collect(Collectors.toSet())));
+        }
+
+        return Mono.zip(usersMono, statsMono, likedMono, bookmarkedMono)
+            .flatMapIterable(tuple -> {
+                Map<Long, UserDto> users = tuple.getT1();
+                Map<Long, PostStats> stats = tuple.getT2();
+                Set<Long> liked = tuple.getT3();
+                Set<Long> bookmarked = tuple.getT4();
+
+                List<PostDto> result = new ArrayList<>(contents.size());
+                for (CachedPost post : contents) {
+                    UserDto user = users.get(post.userId());
+                    if (user == null) {
+                        continue;
+                    }
+                    PostStats postStats = stats.get(post.id());
+                    result.add(PostDto.builder()
+                        .id(post.id())
+                        .userId(post.userId())
+                        .user(user)
+                        .content(post.content())
+                        .location(post.location())
+                        .visibility(post.visibility())
+                        .createdAt(post.createdAt())
+                        .updatedAt(post.updatedAt())
+                        .media(post.media())
+                        .hashtags(post.hashtags())
+                        .likesCount((int) postStats.getLikesCount())
+                        .commentsCount((int) postStats.getCommentsCount())
+                        .isLiked(liked.contains(post.id()))
+                        .isBookmarked(bookmarked.contains(post.id()))
+                        .build());
+                }
+                return result;
+            });
+    }
+}
\ No newline at end of file
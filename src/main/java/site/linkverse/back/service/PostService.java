@@ -1,36 +1,51 @@
 package site.linkverse.back.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import site.linkverse.back.dto.*;
-import site.linkverse.back.enums.LikeTargetType;
 import site.linkverse.back.enums.MediaType;
 import site.linkverse.back.enums.VisibilityType;
-import site.linkverse.back.model.Hashtag;
 import site.linkverse.back.model.Media;
 import site.linkverse.back.model.Post;
-import site.linkverse.back.model.PostHashtag;
 import site.linkverse.back.repository.*;
+import site.linkverse.back.search.PostSearchIndex;
+import site.linkverse.back.util.FeedCursor;
+import site.linkverse.back.util.PageCursor;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
     private final PostRepository postRepository;
     private final MediaRepository mediaRepository;
-    private final HashtagRepository hashtagRepository;
-    private final PostHashtagRepository postHashtagRepository;
-    private final LikeRepository likeRepository;
-    private final CommentRepository commentRepository;
-    private final BookmarkRepository bookmarkRepository;
-    private final UserRepository userRepository;
+    private final PostAttachmentWriter postAttachmentWriter;
+    private final HashtagDictionary hashtagDictionary;
+    private final TrendingHashtagService trendingHashtagService;
+    private final HashtagAutocompleteService hashtagAutocompleteService;
+    private final PostSearchIndex postSearchIndex;
+    private final SearchService searchService;
+    private final PostHydrationService postHydrationService;
+    private final TimelineService timelineService;
+    private final PostContentCache postContentCache;
+    private final FeedRankingService feedRankingService;
     private final TransactionalOperator transactionalOperator;
+    private final R2dbcEntityTemplate entityTemplate;
+
     
     public Mono<PostDto> createPost(Long userId, PostCreateDto postCreateDto) {
         Post post = Post.builder()
@@ -46,81 +61,195 @@ public class PostService {
         return transactionalOperator.transactional(
             postRepository.save(post)
                 .flatMap(savedPost -> {
-                    // 미디어 저장
-                    Flux<Media> mediaFlux = Flux.empty();
-                    if (postCreateDto.getMediaUrls() != null && !postCreateDto.getMediaUrls().isEmpty()) {
-                        mediaFlux = Flux.fromIterable(postCreateDto.getMediaUrls())
-                            .map(url -> {
-                                MediaType mediaType = determineMediaType(url);
-                                return Media.builder()
-                                    .postId(savedPost.getId())
-                                    .mediaType(mediaType)
-                                    .url(url)
-                                    .createdAt(LocalDateTime.now())
-                                    .build();
-                            })
-                            .flatMap(mediaRepository::save);
-                    }
-                    
-                    // 해시태그 저장
-                    Flux<PostHashtag> hashtagFlux = Flux.empty();
-                    if (postCreateDto.getHashtags() != null && !postCreateDto.getHashtags().isEmpty()) {
-                        hashtagFlux = Flux.fromIterable(postCreateDto.getHashtags())
-                            .flatMap(tag -> hashtagRepository.findByName(tag)
-                                .switchIfEmpty(hashtagRepository.save(Hashtag.builder()
-                                    .name(tag)
-                                    .build()))
-                                .flatMap(hashtag -> postHashtagRepository.save(PostHashtag.builder()
-                                    .postId(savedPost.getId())
-                                    .hashtagId(hashtag.getId())
-                                    .build())));
-                    }
-                    
-                    return Flux.merge(mediaFlux, hashtagFlux)
+                    return saveAttachments(savedPost.getId(), postCreateDto.getMediaUrls(), postCreateDto.getHashtags())
+                        .then(timelineService.addToAuthorTimeline(savedPost))
                         .then(Mono.just(savedPost));
                 })
-                .flatMap(this::enrichPostWithDetails)
-        );
+        )
+        .flatMap(savedPost -> timelineService.fanOut(savedPost)
+            .then(recordHashtagUsage(savedPost, postCreateDto.getHashtags(), true))
+            .then(postSearchIndex.indexPost(savedPost))
+            .then(enrichPostWithDetails(savedPost)));
+    }
+
+    /**
+     * 해시태그 사용 횟수를 자동완성 순위에 반영하고, 새 공개 게시물이면 인기 해시태그 집계에도 반영한다
+     * 커밋 후에 호출하므로 새로 만든 해시태그도 사전에서 바로 ID 를 찾는다
+     */
+    private Mono<Void> recordHashtagUsage(Post post, List<String> hashtags, boolean newPost) {
+        if (hashtags == null || hashtags.isEmpty()) {
+            return Mono.empty();
+        }
+        List<String> names = hashtags.stream()
+            .map(HashtagDictionary::normalize)
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .toList();
+        return hashtagDictionary.resolveIds(names)
+            .doOnNext(ids -> {
+                hashtagAutocompleteService.used(ids);
+                if (newPost && post.getVisibility() == VisibilityType.PUBLIC) {
+                    trendingHashtagService.record(ids.values(), post.getCreatedAt());
+                }
+            })
+            .then();
     }
     
     public Mono<PostDto> getPostById(Long postId, Long currentUserId) {
-        return postRepository.findById(postId)
-            .switchIfEmpty(Mono.error(new RuntimeException("게시물을 찾을 수 없습니다")))
-            .filter(post -> !post.isDeleted())
-            .switchIfEmpty(Mono.error(new RuntimeException("게시물이 삭제되었습니다")))
-            .flatMap(post -> enrichPostWithDetails(post, currentUserId));
+        // 캐시에는 삭제되지 않은 게시물만 있으므로 캐시에 없을 때만 posts 를 읽는다
+        return postHydrationService.hydrateCached(postId, currentUserId)
+            .switchIfEmpty(Mono.defer(() -> postRepository.findById(postId)
+                .switchIfEmpty(Mono.error(new RuntimeException("게시물을 찾을 수 없습니다")))
+                .filter(post -> !post.isDeleted())
+                .switchIfEmpty(Mono.error(new RuntimeException("게시물이 삭제되었습니다")))
+                .flatMap(post -> enrichPostWithDetails(post, currentUserId))));
+    }
+
+    /**
+     * @param snapshot 첫 페이지를 조회한 시각 (epoch 밀리초). 같은 값으로 다음 페이지를 조회하면 그 사이 순위가 다시 계산되거나
+     *                 새 게시글이 올라와도 같은 순서로 이어진다
+     */
+    public Flux<PostDto> getFeedPosts(Long userId, int page, int size, long snapshot) {
+        return postHydrationService.hydrate(feedPosts((long) page * size, size, snapshot)
+            .flatMapIterable(FeedSlice::posts), userId);
+    }
+
+    // 스트리밍 응답용: 게시물을 몇 개씩 나누어 채우고 채워지는 대로 순서대로 내보낸다
+    public Flux<PostDto> streamFeedPosts(Long userId, int page, int size, long snapshot) {
+        return postHydrationService.hydrateProgressively(feedPosts((long) page * size, size, snapshot)
+            .flatMapIterable(FeedSlice::posts), userId);
+    }
+
+    /**
+     * 커서 기반 Recommend 피드. 페이지 번호 조회와 같은 순서이고, 커서에 snapshot 과 다음 위치가 들어 있다
+     */
+    public Mono<CursorPage<PostDto>> getFeedPosts(Long userId, FeedCursor cursor, int size) {
+        FeedCursor from = cursor != null ? cursor : new FeedCursor(System.currentTimeMillis(), 0);
+        return feedPosts(from.getPosition(), size, from.getSnapshot())
+            .flatMap(slice -> postHydrationService.hydrate(slice.posts(), userId)
+                .collectList()
+                .map(items -> new CursorPage<>(items, slice.last()
+                    ? null
+                    : new FeedCursor(from.getSnapshot(), from.getPosition() + size).encode())));
+    }
+
+    // Recommend 피드의 한 페이지 (순위 계산 이후 삭제된 게시글은 빠지므로 size 보다 적을 수 있다, last 면 더 없다)
+    private record FeedSlice(List<Post> posts, boolean last) {
+    }
+
+    private Mono<FeedSlice> feedPosts(long from, int size, long snapshot) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime asOf = LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot), ZoneId.systemDefault());
+        if (asOf.isAfter(now)) {
+            asOf = now;
+        }
+
+        FeedRankingService.Ranking ranking = feedRankingService.getRanking(asOf);
+        if (ranking == null) {
+            // 순위 계산 전에는 snapshot 이전 공개 게시글을 최신순으로 조회
+            return postRepository.findPublicOlderThan(asOf, size, from)
+                .collectList()
+                .map(posts -> new FeedSlice(posts, posts.size() < size));
+        }
+
+        // 1. 순위 계산 이후 snapshot 까지 올라온 게시글 (최신순)
+        // 2. 점수순 목록
+        // 3. 순위 계산 이전 게시글 중 목록에 없는 게시글 (최신순, 계산 기간 안의 나머지 게시글 다음에 기간 이전 게시글)
+        // 순위 목록은 계산 시각 이전 게시글만 후보로 하므로 세 구간은 겹치지 않는다
+        LocalDateTime freshUntil = asOf;
+        return postRepository.countPublicBetween(ranking.rankedAt(), freshUntil)
+            .flatMap(freshCount -> feedPosts(ranking, freshUntil, freshCount, from, size));
     }
 
-    public Flux<PostDto> getFeedPosts(Long userId, int page, int size) {
-        // 모든 공개 게시글을 최신순으로 조회
-        return postRepository.findAllByVisibilityAndIsDeletedOrderByCreatedAtDesc(
-                        VisibilityType.PUBLIC, false, PageRequest.of(page, size))
-                .flatMap(post -> enrichPostWithDetails(post, userId));
+    private Mono<FeedSlice> feedPosts(FeedRankingService.Ranking ranking, LocalDateTime asOf, long freshCount, long from, int size) {
+        int freshSlots = (int) Math.max(0, Math.min(size, freshCount - from));
+        long rankedFrom = Math.max(0, from - freshCount);
+        List<Long> rankedIds = new ArrayList<>();
+        for (long i = rankedFrom; i < Math.min(rankedFrom + size - freshSlots, ranking.size()); i++) {
+            rankedIds.add(ranking.postIds()[(int) i]);
+        }
+        int remaining = size - freshSlots - rankedIds.size();
+
+        Flux<Post> fresh = freshSlots > 0
+            ? postRepository.findPublicBetween(ranking.rankedAt(), asOf, freshSlots, from)
+            : Flux.empty();
+        Flux<Post> ranked = rankedIds.isEmpty()
+            ? Flux.empty()
+            : postRepository.findAllById(rankedIds)
+                .collectMap(Post::getId)
+                .flatMapIterable(posts -> rankedIds.stream()
+                    .map(posts::get)
+                    // 순위 계산 이후 삭제되거나 공개 범위가 바뀐 게시글 제외
+                    .filter(post -> post != null && !post.isDeleted() && post.getVisibility() == VisibilityType.PUBLIC)
+                    .toList());
+        Mono<List<Post>> rest = Mono.just(List.of());
+        if (remaining > 0) {
+            long restFrom = Math.max(0, from - freshCount - ranking.size());
+            rest = (ranking.size() == 0
+                ? postRepository.findPublicOlderThan(ranking.rankedAt(), remaining, restFrom)
+                : postRepository.findPublicOlderThanExcluding(ranking.rankedAt(),
+                    Arrays.stream(ranking.postIds()).boxed().toList(), remaining, restFrom))
+                .collectList();
+        }
+
+        // 마지막 구간(순위 목록에 없는 게시글)이 요청한 만큼 오지 않으면 끝
+        return Flux.concat(fresh, ranked)
+            .collectList()
+            .zipWith(rest, (head, tail) -> {
+                List<Post> posts = new ArrayList<>(head);
+                posts.addAll(tail);
+                return new FeedSlice(posts, remaining > 0 && tail.size() < remaining);
+            });
     }
 
-    // 팔로잉 사용자들의 게시글을 위한 새로운 메서드 추가
+    // 팔로잉 사용자들의 게시글 (작성 시 배포된 팔로잉 피드에서 조회)
     public Flux<PostDto> getFollowingFeedPosts(Long userId, int page, int size) {
-        return postRepository.findFeedPosts(userId, PageRequest.of(page, size))
-                .filter(post -> !post.isDeleted())
-                .flatMap(post -> enrichPostWithDetails(post, userId));
+        return postHydrationService.hydrate(timelineService.getTimelinePosts(userId, page, size), userId);
+    }
+
+    public Flux<PostDto> streamFollowingFeedPosts(Long userId, int page, int size) {
+        return postHydrationService.hydrateProgressively(timelineService.getTimelinePosts(userId, page, size), userId);
     }
     
     public Flux<PostDto> getUserPosts(Long userId, Long currentUserId, int page, int size) {
-        return postRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(page, size))
-            .filter(post -> !post.isDeleted())
-            .flatMap(post -> enrichPostWithDetails(post, currentUserId));
+        return postHydrationService.hydrate(postRepository.findByUserId(userId, currentUserId, size, (long) page * size),
+            currentUserId);
+    }
+
+    public Flux<PostDto> streamUserPosts(Long userId, Long currentUserId, int page, int size) {
+        return postHydrationService.hydrateProgressively(
+            postRepository.findByUserId(userId, currentUserId, size, (long) page * size), currentUserId);
+    }
+    
+    public Mono<CursorPage<PostDto>> getFollowingFeedPosts(Long userId, PageCursor cursor, int size) {
+        return toCursorPage(timelineService.getTimelinePostsBefore(userId, cursor, size), userId, size);
+    }
+
+    public Mono<CursorPage<PostDto>> getUserPosts(Long userId, Long currentUserId, PageCursor cursor, int size) {
+        PageCursor from = cursor != null ? cursor : PageCursor.LATEST;
+        return toCursorPage(postRepository.findByUserIdBefore(userId, currentUserId, from.getCreatedAt(), from.getId(), size),
+            currentUserId, size);
+    }
+
+    private Mono<CursorPage<PostDto>> toCursorPage(Flux<Post> rows, Long currentUserId, int size) {
+        return rows.collectList()
+            .flatMap(posts -> postHydrationService.hydrate(posts, currentUserId)
+                .collectList()
+                .map(items -> new CursorPage<>(items,
+                    PageCursor.next(posts, size, Post::getCreatedAt, Post::getId))));
     }
     
     public Flux<PostDto> getPostsByHashtag(String hashtag, Long currentUserId, int page, int size) {
-        return postRepository.findByHashtag(hashtag, PageRequest.of(page, size))
-            .filter(post -> !post.isDeleted())
-            .flatMap(post -> enrichPostWithDetails(post, currentUserId));
+        // 해시태그 이름은 사전에서 ID 로 바꾸어 hashtags 테이블 조인 없이 조회한다
+        return hashtagDictionary.idsOf(hashtag)
+            .flatMapMany(hashtagIds -> hashtagIds.isEmpty()
+                ? Flux.empty()
+                : postHydrationService.hydrate(
+                    postRepository.findByHashtagIds(hashtagIds, currentUserId, size, (long) page * size), currentUserId));
     }
     
     public Flux<PostDto> searchPosts(String keyword, Long currentUserId, int page, int size) {
-        return postRepository.searchByKeyword("%" + keyword + "%", PageRequest.of(page, size))
-            .filter(post -> !post.isDeleted())
-            .flatMap(post -> enrichPostWithDetails(post, currentUserId));
+        return searchService.searchPosts(keyword, currentUserId, page, size);
     }
     
     public Mono<PostDto> updatePost(Long postId, Long userId, PostUpdateDto postUpdateDto) {
@@ -128,59 +257,91 @@ public class PostService {
             .switchIfEmpty(Mono.error(new RuntimeException("게시물을 찾을 수 없습니다")))
             .filter(post -> post.getUserId().equals(userId))
             .switchIfEmpty(Mono.error(new RuntimeException("게시물을 수정할 권한이 없습니다")))
-            .flatMap(post -> {
-                post.setContent(postUpdateDto.getContent());
-                post.setLocation(postUpdateDto.getLocation());
-                post.setVisibility(postUpdateDto.getVisibility());
-                post.setUpdatedAt(LocalDateTime.now());
-                
-                return transactionalOperator.transactional(
-                    postRepository.save(post)
-                        .flatMap(savedPost -> {
-                            // 기존 미디어 및 해시태그 삭제
-                            Mono<Void> deleteMedia = mediaRepository.deleteByPostId(savedPost.getId());
-                            Mono<Void> deleteHashtags = postHashtagRepository.deleteByPostId(savedPost.getId());
-                            
-                            return Mono.when(deleteMedia, deleteHashtags)
-                                .then(Mono.just(savedPost));
-                        })
-                        .flatMap(savedPost -> {
-                            // 새 미디어 저장
-                            Flux<Media> mediaFlux = Flux.empty();
-                            if (postUpdateDto.getMediaUrls() != null && !postUpdateDto.getMediaUrls().isEmpty()) {
-                                mediaFlux = Flux.fromIterable(postUpdateDto.getMediaUrls())
-                                    .map(url -> {
-                                        MediaType mediaType = determineMediaType(url);
-                                        return Media.builder()
-                                            .postId(savedPost.getId())
-                                            .mediaType(mediaType)
-                                            .url(url)
-                                            .createdAt(LocalDateTime.now())
-                                            .build();
-                                    })
-                                    .flatMap(mediaRepository::save);
-                            }
-                            
-                            // 새 해시태그 저장
-                            Flux<PostHashtag> hashtagFlux = Flux.empty();
-                            if (postUpdateDto.getHashtags() != null && !postUpdateDto.getHashtags().isEmpty()) {
-                                hashtagFlux = Flux.fromIterable(postUpdateDto.getHashtags())
-                                    .flatMap(tag -> hashtagRepository.findByName(tag)
-                                        .switchIfEmpty(hashtagRepository.save(Hashtag.builder()
-                                            .name(tag)
-                                            .build()))
-                                        .flatMap(hashtag -> postHashtagRepository.save(PostHashtag.builder()
-                                            .postId(savedPost.getId())
-                                            .hashtagId(hashtag.getId())
-                                            .build())));
-                            }
-                            
-                            return Flux.merge(mediaFlux, hashtagFlux)
-                                .then(Mono.just(savedPost));
-                        })
-                        .flatMap(savedPost -> enrichPostWithDetails(savedPost, userId))
-                );
-            });
+            .flatMap(post -> transactionalOperator.transactional(
+                    Mono.zip(mediaRepository.findByPostIdInOrderByIdAsc(List.of(postId)).collectList(),
+                            postAttachmentWriter.findHashtagLinks(postId).collectList())
+                        .flatMap(existing -> applyUpdate(post, postUpdateDto, existing.getT1(), existing.getT2())))
+                .flatMap(addedHashtags -> recordHashtagUsage(post, addedHashtags, false))
+                // 커밋 후 캐시에서 제거해야 수정 전 내용이 다시 캐시에 들어가지 않는다
+                .then(Mono.fromRunnable(() -> postContentCache.invalidate(post.getId(), post.getUpdatedAt())))
+                .then(postSearchIndex.indexPost(post))
+                .then(Mono.defer(() -> enrichPostWithDetails(post, userId))));
+    }
+
+    /**
+     * 바뀐 컬럼만 UPDATE 하고, 미디어/해시태그는 달라진 행만 삭제/추가한다 (새로 추가된 해시태그를 반환)
+     */
+    private Mono<List<String>> applyUpdate(Post post, PostUpdateDto postUpdateDto,
+                                   List<Media> existingMedia, List<PostAttachmentWriter.HashtagLink> existingHashtags) {
+        List<String> mediaUrls = postUpdateDto.getMediaUrls() != null ? postUpdateDto.getMediaUrls() : List.of();
+        List<String> hashtags = postUpdateDto.getHashtags() != null
+            ? postUpdateDto.getHashtags().stream()
+                .map(HashtagDictionary::normalize)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList()
+            : List.of();
+
+        AttachmentDiff mediaDiff = diff(existingMedia, Media::getId, Media::getUrl, mediaUrls);
+        AttachmentDiff hashtagDiff = diff(existingHashtags, PostAttachmentWriter.HashtagLink::id,
+            link -> HashtagDictionary.normalize(link.name()), hashtags);
+
+        Update update = null;
+        if (!Objects.equals(post.getContent(), postUpdateDto.getContent())) {
+            post.setContent(postUpdateDto.getContent());
+            update = set(update, "content", postUpdateDto.getContent());
+        }
+        if (!Objects.equals(post.getLocation(), postUpdateDto.getLocation())) {
+            post.setLocation(postUpdateDto.getLocation());
+            update = set(update, "location", postUpdateDto.getLocation());
+        }
+        if (post.getVisibility() != postUpdateDto.getVisibility()) {
+            post.setVisibility(postUpdateDto.getVisibility());
+            update = set(update, "visibility", postUpdateDto.getVisibility());
+        }
+        if (update == null && mediaDiff.isEmpty() && hashtagDiff.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        post.setUpdatedAt(LocalDateTime.now());
+        update = set(update, "updated_at", post.getUpdatedAt());
+
+        return entityTemplate.update(Post.class)
+            .matching(Query.query(Criteria.where("id").is(post.getId())))
+            .apply(update)
+            .then(postAttachmentWriter.deleteMedia(mediaDiff.removedIds()))
+            .then(postAttachmentWriter.unlinkHashtags(hashtagDiff.removedIds()))
+            .then(saveAttachments(post.getId(), mediaDiff.added(), hashtagDiff.added()))
+            .thenReturn(hashtagDiff.added());
+    }
+
+    private static Update set(Update update, String column, Object value) {
+        return update == null ? Update.update(column, value) : update.set(column, value);
+    }
+
+    private record AttachmentDiff(List<Long> removedIds, List<String> added) {
+
+        boolean isEmpty() {
+            return removedIds.isEmpty() && added.isEmpty();
+        }
+    }
+
+    /**
+     * 기존 행(ID 순)을 요청 목록과 앞에서부터 맞춰 본다
+     * 요청 순서대로 이어지는 기존 행은 그대로 두고 나머지는 삭제하며, 맞춰지지 않은 요청 항목은 뒤에 새로 추가한다
+     * 새 행은 ID 가 커서 뒤에 붙으므로 이렇게 해야 요청한 순서가 그대로 유지된다
+     */
+    private static <T> AttachmentDiff diff(List<T> existing, Function<T, Long> idOf, Function<T, String> valueOf,
+                                           List<String> requested) {
+        List<Long> removedIds = new ArrayList<>();
+        int matched = 0;
+        for (T row : existing) {
+            if (matched < requested.size() && requested.get(matched).equals(valueOf.apply(row))) {
+                matched++;
+            } else {
+                removedIds.add(idOf.apply(row));
+            }
+        }
+        return new AttachmentDiff(removedIds, requested.subList(matched, requested.size()));
     }
     
     public Mono<Void> deletePost(Long postId, Long userId) {
@@ -191,7 +352,10 @@ public class PostService {
             .flatMap(post -> {
                 post.setDeleted(true);
                 post.setUpdatedAt(LocalDateTime.now());
-                return postRepository.save(post);
+                return postRepository.save(post)
+                    .doOnNext(savedPost -> postContentCache.invalidate(savedPost.getId(), savedPost.getUpdatedAt()))
+                    .then(timelineService.removePost(post.getId()))
+                    .then(postSearchIndex.indexPost(post));
             })
             .then();
     }
@@ -201,71 +365,30 @@ public class PostService {
     }
     
     private Mono<PostDto> enrichPostWithDetails(Post post, Long currentUserId) {
-        PostDto.PostDtoBuilder postDtoBuilder = PostDto.builder()
-            .id(post.getId())
-            .userId(post.getUserId())
-            .content(post.getContent())
-            .location(post.getLocation())
-            .visibility(post.getVisibility())
-            .createdAt(post.getCreatedAt())
-            .updatedAt(post.getUpdatedAt());
-        
-        Mono<UserDto> userMono = userRepository.findById(post.getUserId())
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build());
-        
-        Mono<List<MediaDto>> mediaMono = mediaRepository.findByPostId(post.getId())
-            .map(media -> MediaDto.builder()
-                .id(media.getId())
-                .postId(media.getPostId())
-                .mediaType(media.getMediaType())
-                .url(media.getUrl())
-                .createdAt(media.getCreatedAt())
-                .build())
-            .collectList();
-        
-        Mono<List<String>> hashtagsMono = postHashtagRepository.findByPostId(post.getId())
-            .flatMap(postHashtag -> hashtagRepository.findById(postHashtag.getHashtagId()))
-            .map(Hashtag::getName)
-            .collectList();
-        
-        Mono<Integer> likeCountMono = likeRepository.countByTargetIdAndTargetType(post.getId(), LikeTargetType.POST)
-            .map(Long::intValue);
-        
-        Mono<Integer> commentCountMono = commentRepository.countByPostId(post.getId())
-            .map(Long::intValue);
-        
-        Mono<Boolean> isLikedMono = currentUserId != null 
-            ? likeRepository.existsByUserIdAndTargetIdAndTargetType(currentUserId, post.getId(), LikeTargetType.POST)
-            : Mono.just(false);
-        
-        Mono<Boolean> isBookmarkedMono = currentUserId != null
-            ? bookmarkRepository.existsByUserIdAndPostId(currentUserId, post.getId())
-            : Mono.just(false);
-        
-        return Mono.zip(userMono, mediaMono, hashtagsMono, likeCountMono, commentCountMono, isLikedMono, isBookmarkedMono)
-            .map(tuple -> {
-                UserDto user = tuple.getT1();
-                List<MediaDto> media = tuple.getT2();
-                List<String> hashtags = tuple.getT3();
-                Integer likesCount = tuple.getT4();
-                Integer commentsCount = tuple.getT5();
-                Boolean isLiked = tuple.getT6();
-                Boolean isBookmarked = tuple.getT7();
-                
-                return postDtoBuilder
-                    .user(user)
-                    .media(media)
-                    .hashtags(hashtags)
-                    .likesCount(likesCount)
-                    .commentsCount(commentsCount)
-                    .isLiked(isLiked)
-                    .isBookmarked(isBookmarked)
-                    .build();
-            });
+        return postHydrationService.hydrate(post, currentUserId);
+    }
+    
+    // 미디어와 해시태그를 각각 여러 행 INSERT 로 저장한다
+    private Mono<Void> saveAttachments(Long postId, List<String> mediaUrls, List<String> hashtags) {
+        Mono<Void> saveMedia = Mono.empty();
+        if (mediaUrls != null && !mediaUrls.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            saveMedia = postAttachmentWriter.insertMedia(mediaUrls.stream()
+                .map(url -> Media.builder()
+                    .postId(postId)
+                    .mediaType(determineMediaType(url))
+                    .url(url)
+                    .createdAt(now)
+                    .build())
+                .toList());
+        }
+
+        Mono<Void> saveHashtags = Mono.empty();
+        if (hashtags != null && !hashtags.isEmpty()) {
+            saveHashtags = postAttachmentWriter.linkHashtags(postId, hashtags);
+        }
+
+        return saveMedia.then(saveHashtags);
     }
     
     private MediaType determineMediaType(String url) {
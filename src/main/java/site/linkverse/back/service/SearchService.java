@@ -4,15 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
-import site.linkverse.back.dto.MediaDto;
 import site.linkverse.back.dto.PostDto;
 import site.linkverse.back.dto.UserDto;
-import site.linkverse.back.enums.LikeTargetType;
 import site.linkverse.back.model.Hashtag;
+import site.linkverse.back.model.Post;
 import site.linkverse.back.repository.*;
+import site.linkverse.back.search.PostSearchIndex;
+import site.linkverse.back.search.UserSearchIndex;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -20,12 +21,37 @@ public class SearchService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final HashtagRepository hashtagRepository;
-    private final LikeRepository likeRepository;
-    private final CommentRepository commentRepository;
-    private final BookmarkRepository bookmarkRepository;
-    private final MediaRepository mediaRepository;
+    private final PostHydrationService postHydrationService;
+    private final HashtagDictionary hashtagDictionary;
+    private final TrendingHashtagService trendingHashtagService;
+    private final HashtagAutocompleteService hashtagAutocompleteService;
+    private final PostSearchIndex postSearchIndex;
+    private final UserSearchIndex userSearchIndex;
+    private final UserSummaryService userSummaryService;
     
     public Flux<UserDto> searchUsers(String keyword, int page, int size) {
+        return searchUsers(keyword, page, size, false);
+    }
+
+    /**
+     * 사용자 검색 색인에서 순위대로 찾고 (팔로워 수도 색인 값을 쓴다), 색인이 준비되기 전에는 LIKE 검색
+     * fuzzy 면 이름 전체가 검색어와 편집 거리 안에 있는 사용자를 찾는다 (오타 허용)
+     */
+    public Flux<UserDto> searchUsers(String keyword, int page, int size, boolean fuzzy) {
+        if (userSearchIndex.isReady()) {
+            List<Long> userIds = fuzzy
+                ? userSearchIndex.fuzzySearch(keyword, page, size)
+                : userSearchIndex.search(keyword, page, size);
+            return userSummaryService.getProfiles(userIds)
+                .flatMapIterable(users -> userIds.stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .map(user -> {
+                        user.setFollowersCount(userSearchIndex.followersOf(user.getId()));
+                        return user;
+                    })
+                    .toList());
+        }
         return userRepository.searchByKeyword("%" + keyword + "%", PageRequest.of(page, size))
             .map(user -> UserDto.builder()
                 .id(user.getId())
@@ -36,81 +62,62 @@ public class SearchService {
                 .build());
     }
     
+    /**
+     * 전문 검색 색인으로 찾고, 색인이 준비되지 않았거나 색인으로 찾을 수 없는 검색어(한 글자 한글 등)면 LIKE 검색
+     */
     public Flux<PostDto> searchPosts(String keyword, Long currentUserId, int page, int size) {
-        return postRepository.searchByKeyword("%" + keyword + "%", PageRequest.of(page, size))
-            .filter(post -> !post.isDeleted())
-            .flatMap(post -> {
-                PostDto.PostDtoBuilder postDtoBuilder = PostDto.builder()
-                    .id(post.getId())
-                    .userId(post.getUserId())
-                    .content(post.getContent())
-                    .location(post.getLocation())
-                    .visibility(post.getVisibility())
-                    .createdAt(post.getCreatedAt())
-                    .updatedAt(post.getUpdatedAt());
-                
-                Mono<UserDto> userMono = userRepository.findById(post.getUserId())
-                    .map(user -> UserDto.builder()
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .profileImage(user.getProfileImage())
-                        .build());
-                
-                Mono<List<MediaDto>> mediaMono = mediaRepository.findByPostId(post.getId())
-                    .map(media -> MediaDto.builder()
-                        .id(media.getId())
-                        .postId(media.getPostId())
-                        .mediaType(media.getMediaType())
-                        .url(media.getUrl())
-                        .createdAt(media.getCreatedAt())
-                        .build())
-                    .collectList();
-                
-                Mono<Integer> likeCountMono = likeRepository.countByTargetIdAndTargetType(post.getId(), LikeTargetType.POST)
-                    .map(Long::intValue);
-                
-                Mono<Integer> commentCountMono = commentRepository.countByPostId(post.getId())
-                    .map(Long::intValue);
-                
-                Mono<Boolean> isLikedMono = currentUserId != null 
-                    ? likeRepository.existsByUserIdAndTargetIdAndTargetType(currentUserId, post.getId(), LikeTargetType.POST)
-                    : Mono.just(false);
-                
-                Mono<Boolean> isBookmarkedMono = currentUserId != null
-                    ? bookmarkRepository.existsByUserIdAndPostId(currentUserId, post.getId())
-                    : Mono.just(false);
-                
-                return Mono.zip(userMono, mediaMono, likeCountMono, commentCountMono, isLikedMono, isBookmarkedMono)
-                    .map(tuple -> {
-                        UserDto user = tuple.getT1();
-                        List<MediaDto> media = tuple.getT2();
-                        Integer likesCount = tuple.getT3();
-                        Integer commentsCount = tuple.getT4();
-                        Boolean isLiked = tuple.getT5();
-                        Boolean isBookmarked = tuple.getT6();
-                        
-                        return postDtoBuilder
-                            .user(user)
-                            .media(media)
-                            .likesCount(likesCount)
-                            .commentsCount(commentsCount)
-                            .isLiked(isLiked)
-                            .isBookmarked(isBookmarked)
-                            .build();
-                    });
-            });
+        return postSearchIndex.search(keyword, currentUserId, page, size)
+            .map(postIds -> postHydrationService.hydrate(findInOrder(postIds), currentUserId))
+            .defaultIfEmpty(Flux.defer(() -> postHydrationService.hydrate(
+                postRepository.searchByKeyword("%" + keyword + "%", currentUserId, size, (long) page * size), currentUserId)))
+            .flatMapMany(posts -> posts);
+    }
+
+    // 색인 순위 순서 그대로, 색인 반영 전에 삭제된 게시물은 제외
+    private Flux<Post> findInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return postRepository.findAllById(postIds)
+            .collectMap(Post::getId)
+            .flatMapIterable(posts -> postIds.stream()
+                .map(posts::get)
+                .filter(post -> post != null && !post.isDeleted())
+                .toList());
     }
     
-    public Flux<String> searchHashtags(String keyword, int limit) {
-        // 실제 구현에서는 해시태그 테이블을 직접 쿼리하는 방식이 필요
-        return hashtagRepository.findAll()
-            .filter(hashtag -> hashtag.getName().contains(keyword))
-            .map(Hashtag::getName)
-            .take(limit);
+    /**
+     * fuzzy 면 자동완성 색인에서 편집 거리가 가까운 해시태그를 찾는다 (색인이 준비되기 전에는 일반 검색)
+     */
+    public Flux<String> searchHashtags(String keyword, int limit, boolean fuzzy) {
+        if (hashtagAutocompleteService.isReady()) {
+            return Flux.fromIterable(fuzzy
+                ? hashtagAutocompleteService.fuzzy(keyword, limit)
+                : hashtagAutocompleteService.suggest(keyword, limit));
+        }
+        // 자동완성 색인과 사전이 모두 준비되기 전에만 DB 에서 찾는다
+        if (!hashtagDictionary.isLoaded()) {
+            return hashtagRepository.findAll()
+                .filter(hashtag -> HashtagDictionary.normalize(hashtag.getName()).contains(HashtagDictionary.normalize(keyword)))
+                .map(Hashtag::getName)
+                .take(limit);
+        }
+        return Flux.fromIterable(hashtagDictionary.search(keyword, limit));
     }
     
     public Flux<String> getTrendingHashtags(int limit) {
-        return hashtagRepository.findTrendingHashtags(limit)
-            .map(Hashtag::getName);
+        // 기동 직후 재구성이 끝나기 전에만 DB 에서 집계한다
+        if (!trendingHashtagService.isReady()) {
+            return hashtagRepository.findTrendingHashtags(limit)
+                .map(Hashtag::getName);
+        }
+        List<Long> hashtagIds = trendingHashtagService.getTrending(limit);
+        return hashtagDictionary.namesOf(hashtagIds)
+            .flatMapIterable(names -> hashtagIds.stream()
+                .map(names::get)
+                .filter(Objects::nonNull)
+                .map(HashtagDictionary::normalize)
+                .distinct()
+                .toList());
     }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import site.linkverse.back.model.UserBlock;
 import site.linkverse.back.repository.*;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +22,7 @@ public class SecurityService {
     private final UserBlockRepository userBlockRepository;
     private final ReportRepository reportRepository;
     private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     
@@ -29,7 +31,7 @@ public class SecurityService {
             return Mono.error(new RuntimeException("자기 자신을 차단할 수 없습니다"));
         }
         
-        return userRepository.findById(blockUserDto.getBlockedId())
+        return userSummaryService.getUser(blockUserDto.getBlockedId())
             .switchIfEmpty(Mono.error(new RuntimeException("사용자를 찾을 수 없습니다")))
             .flatMap(blockedUser -> {
                 return userBlockRepository.existsByBlockerIdAndBlockedId(blockerId, blockUserDto.getBlockedId())
@@ -62,12 +64,13 @@ public class SecurityService {
     
     public Flux<UserDto> getBlockedUsers(Long blockerId) {
         return userBlockRepository.findByBlockerId(blockerId)
-            .flatMap(userBlock -> userRepository.findById(userBlock.getBlockedId()))
-            .map(user -> UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .profileImage(user.getProfileImage())
-                .build());
+            .map(UserBlock::getBlockedId)
+            .collectList()
+            .flatMapMany(blockedIds -> userSummaryService.getUsers(blockedIds)
+                .flatMapIterable(users -> blockedIds.stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .toList()));
     }
 
     public Mono<Void> reportContent(Long reporterId, ReportDto reportDto) {
@@ -0,0 +1,326 @@
+package site.linkverse.back.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.enums.LikeTargetType;
+import site.linkverse.back.model.CommentStats;
+import site.linkverse.back.model.PostStats;
+import site.linkverse.back.repository.CommentStatsRepository;
+import site.linkverse.back.repository.PostStatsRepository;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * post_stats / comment_stats 집계 카운터 관리
+ *
+ * 좋아요/댓글 작성 시 카운터를 바로 UPDATE 하지 않고 메모리에 증감분을 모아 두었다가
+ * 주기적으로 대상별 증감분을 합쳐 한 번의 multi-row upsert 로 반영한다 (write-behind).
+ * 조회 시에는 DB 값에 아직 반영되지 않은 증감분을 더해서 돌려준다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatsCounterService {
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+    private static final Duration FLUSH_WAIT = Duration.ofMillis(20);
+
+    private final DatabaseClient databaseClient;
+    private final PostStatsRepository postStatsRepository;
+    private final CommentStatsRepository commentStatsRepository;
+
+    // 아직 DB에 반영되지 않은 증감분 (카운터 컬럼 + 대상 ID 별)
+    private final Map<StatKey, LongAdder> pending = new ConcurrentHashMap<>();
+    // 직전 flush 에서 맵에서 제거된 카운터. 제거 직전에 참조를 얻은 쓰레드의 증가분을 다음 flush 에서 회수한다
+    private List<Map.Entry<StatKey, LongAdder>> retired = new ArrayList<>();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    // 좋아요 수는 올렸지만 likes 행은 아직 쓰지 않은 대상 ID (LikeWriteBuffer 가 등록한다)
+    private volatile Function<LikeTargetType, Set<Long>> bufferedLikeTargets = targetType -> Set.of();
+
+    public enum Counter {
+        POST_LIKES("post_stats", "post_id", "likes_count"),
+        POST_COMMENTS("post_stats", "post_id", "comments_count"),
+        COMMENT_LIKES("comment_stats", "comment_id", "likes_count"),
+        COMMENT_REPLIES("comment_stats", "comment_id", "replies_count");
+
+        private final String table;
+        private final String idColumn;
+        private final String countColumn;
+
+        Counter(String table, String idColumn, String countColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.countColumn = countColumn;
+        }
+    }
+
+    private record StatKey(Counter counter, long targetId) {
+    }
+
+    public static Counter likeCounter(LikeTargetType targetType) {
+        return targetType == LikeTargetType.POST ? Counter.POST_LIKES : Counter.COMMENT_LIKES;
+    }
+
+    public void increment(Counter counter, Long targetId) {
+        add(counter, targetId, 1);
+    }
+
+    public void decrement(Counter counter, Long targetId) {
+        add(counter, targetId, -1);
+    }
+
+    public void add(Counter counter, Long targetId, long delta) {
+        pending.computeIfAbsent(new StatKey(counter, targetId), key -> new LongAdder()).add(delta);
+    }
+
+    public void setBufferedLikeTargets(Function<LikeTargetType, Set<Long>> bufferedLikeTargets) {
+        this.bufferedLikeTargets = bufferedLikeTargets;
+    }
+
+    public long pendingDelta(Counter counter, Long targetId) {
+        LongAdder adder = pending.get(new StatKey(counter, targetId));
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * 게시물별 집계값 조회 (반영 대기 중인 증감분 포함). 집계 행이 없는 게시물은 0 으로 채운다
+     */
+    public Mono<Map<Long, PostStats>> getPostStats(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+        return postStatsRepository.findByPostIdIn(postIds)
+            .collectMap(PostStats::getPostId)
+            .map(stored -> {
+                Map<Long, PostStats> result = new HashMap<>();
+                for (Long postId : postIds) {
+                    PostStats stats = stored.get(postId);
+                    result.put(postId, PostStats.builder()
+                        .postId(postId)
+                        .likesCount(Math.max(0, (stats != null ? stats.getLikesCount() : 0)
+                            + pendingDelta(Counter.POST_LIKES, postId)))
+                        .commentsCount(Math.max(0, (stats != null ? stats.getCommentsCount() : 0)
+                            + pendingDelta(Counter.POST_COMMENTS, postId)))
+                        .build());
+                }
+                return result;
+            });
+    }
+
+    /**
+     * 댓글별 집계값 조회 (반영 대기 중인 증감분 포함). 집계 행이 없는 댓글은 0 으로 채운다
+     */
+    public Mono<Map<Long, CommentStats>> getCommentStats(Collection<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+        return commentStatsRepository.findByCommentIdIn(commentIds)
+            .collectMap(CommentStats::getCommentId)
+            .map(stored -> {
+                Map<Long, CommentStats> result = new HashMap<>();
+                for (Long commentId : commentIds) {
+                    CommentStats stats = stored.get(commentId);
+                    result.put(commentId, CommentStats.builder()
+                        .commentId(commentId)
+                        .likesCount(Math.max(0, (stats != null ? stats.getLikesCount() : 0)
+                            + pendingDelta(Counter.COMMENT_LIKES, commentId)))
+                        .repliesCount(Math.max(0, (stats != null ? stats.getRepliesCount() : 0)
+                            + pendingDelta(Counter.COMMENT_REPLIES, commentId)))
+                        .build());
+                }
+                return result;
+            });
+    }
+
+    @Scheduled(fixedDelayString = "${stats.flush-interval-ms:300}")
+    public void scheduledFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flush()
+            .doFinally(signal -> flushing.set(false))
+            .subscribe(null, error -> log.error("집계 카운터 반영 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 모아 둔 증감분을 카운터 컬럼별 multi-row upsert 로 반영
+     */
+    public Mono<Void> flush() {
+        Map<Counter, Map<Long, Long>> deltas = drain();
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Flux.fromIterable(deltas.entrySet())
+            .concatMap(entry -> Flux.fromIterable(partition(new ArrayList<>(entry.getValue().entrySet())))
+                .concatMap(batch -> upsert(entry.getKey(), batch)
+                    .onErrorResume(error -> {
+                        // 실패한 증감분은 다음 flush 에서 다시 시도
+                        log.warn("{} 카운터 반영 실패, 재시도 예정: {}", entry.getKey(), error.getMessage());
+                        batch.forEach(delta -> add(entry.getKey(), delta.getKey(), delta.getValue()));
+                        return Mono.empty();
+                    })))
+            .then();
+    }
+
+    private synchronized Map<Counter, Map<Long, Long>> drain() {
+        Map<Counter, Map<Long, Long>> deltas = new EnumMap<>(Counter.class);
+        List<Map.Entry<StatKey, LongAdder>> nowRetired = new ArrayList<>();
+
+        for (Map.Entry<StatKey, LongAdder> entry : retired) {
+            collect(deltas, entry.getKey(), entry.getValue().sumThenReset());
+        }
+        for (Map.Entry<StatKey, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0 && pending.remove(entry.getKey(), entry.getValue())) {
+                nowRetired.add(entry);
+            }
+            collect(deltas, entry.getKey(), delta);
+        }
+        retired = nowRetired;
+        return deltas;
+    }
+
+    private void collect(Map<Counter, Map<Long, Long>> deltas, StatKey key, long delta) {
+        if (delta != 0) {
+            deltas.computeIfAbsent(key.counter(), counter -> new HashMap<>())
+                .merge(key.targetId(), delta, Long::sum);
+        }
+    }
+
+    private Mono<Void> upsert(Counter counter, List<Map.Entry<Long, Long>> batch) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+            .append(counter.table).append(" (").append(counter.idColumn).append(", ").append(counter.countColumn)
+            .append(") VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:id").append(i).append(", :delta").append(i).append(")");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE ").append(counter.countColumn).append(" = ")
+            .append(counter.countColumn).append(" + VALUES(").append(counter.countColumn).append(")");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            spec = spec.bind("id" + i, batch.get(i).getKey()).bind("delta" + i, batch.get(i).getValue());
+        }
+        return spec.fetch().rowsUpdated().then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile().subscribe(null, error -> log.error("집계 카운터 재계산 실패: {}", error.getMessage()));
+    }
+
+    @Scheduled(initialDelayString = "${stats.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${stats.reconcile-interval-ms:3600000}")
+    public void scheduledReconcile() {
+        reconcileOnStartup();
+    }
+
+    /**
+     * 원본 테이블(likes, comments)에서 집계값을 다시 계산하여 카운터 오차를 바로잡는다
+     * ID 구간 단위로 나누어 flush 와 겹치지 않게 실행한다.
+     * 구간마다 대기 중인 증감분은 반영하지 않고 버린 뒤 같은 잠금 안에서 다시 센다 (센 값에 이미 들어 있다).
+     * LikeWriteBuffer 에 아직 쓰지 않은 좋아요가 있는 대상은 좋아요 수를 건너뛴다 (지금 세면 그만큼 덜 센다)
+     */
+    public Mono<Void> reconcile() {
+        Mono<Void> posts = maxId("posts")
+            .flatMapMany(maxId -> Flux.range(0, (int) (maxId / RECONCILE_BATCH_SIZE) + 1))
+            .concatMap(chunk -> reconcileChunk(Counter.POST_LIKES, Counter.POST_COMMENTS, LikeTargetType.POST,
+                "SELECT p.id, " +
+                "(SELECT COUNT(*) FROM likes l WHERE l.target_type = 'POST' AND l.target_id = p.id), " +
+                "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id AND c.is_deleted = false) " +
+                "FROM posts p WHERE p.id > :fromId AND p.id <= :toId",
+                (long) chunk * RECONCILE_BATCH_SIZE, (long) (chunk + 1) * RECONCILE_BATCH_SIZE))
+            .then();
+
+        Mono<Void> comments = maxId("comments")
+            .flatMapMany(maxId -> Flux.range(0, (int) (maxId / RECONCILE_BATCH_SIZE) + 1))
+            .concatMap(chunk -> reconcileChunk(Counter.COMMENT_LIKES, Counter.COMMENT_REPLIES, LikeTargetType.COMMENT,
+                "SELECT c.id, " +
+                "(SELECT COUNT(*) FROM likes l WHERE l.target_type = 'COMMENT' AND l.target_id = c.id), " +
+                "(SELECT COUNT(*) FROM comments r WHERE r.parent_id = c.id AND r.is_deleted = false) " +
+                "FROM comments c WHERE c.id > :fromId AND c.id <= :toId",
+                (long) chunk * RECONCILE_BATCH_SIZE, (long) (chunk + 1) * RECONCILE_BATCH_SIZE))
+            .then();
+
+        return posts.then(comments)
+            .doOnSuccess(done -> log.info("집계 카운터 재계산 완료"));
+    }
+
+    // select 는 (ID, 좋아요 수, 하위 항목 수) 를 돌려준다. likes / children 은 같은 테이블의 카운터
+    private Mono<Void> reconcileChunk(Counter likes, Counter children, LikeTargetType targetType, String select, long fromId, long toId) {
+        return withoutFlush(Mono.defer(() -> {
+            Set<Long> skipped = discardPending(likes, children, bufferedLikeTargets.apply(targetType), fromId, toId);
+            String likesValue = skipped.isEmpty()
+                ? "VALUES(" + likes.countColumn + ")"
+                : "IF(" + likes.idColumn + " IN (:skipped), " + likes.countColumn + ", VALUES(" + likes.countColumn + "))";
+
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                    "INSERT INTO " + likes.table + " (" + likes.idColumn + ", " + likes.countColumn + ", " + children.countColumn + ") " +
+                    select + " ON DUPLICATE KEY UPDATE " + likes.countColumn + " = " + likesValue + ", " +
+                    children.countColumn + " = VALUES(" + children.countColumn + ")")
+                .bind("fromId", fromId)
+                .bind("toId", toId);
+            if (!skipped.isEmpty()) {
+                spec = spec.bind("skipped", skipped);
+            }
+            return spec.fetch().rowsUpdated().then();
+        }));
+    }
+
+    // (fromId, toId] 구간의 대기 중인 증감분을 버린다. buffered 중 구간에 든 대상은 좋아요 증감분을 남기고 돌려준다
+    private synchronized Set<Long> discardPending(Counter likes, Counter children, Set<Long> buffered, long fromId, long toId) {
+        Set<Long> skipped = new HashSet<>();
+        for (Long targetId : buffered) {
+            if (targetId > fromId && targetId <= toId) {
+                skipped.add(targetId);
+            }
+        }
+        List<Map.Entry<StatKey, LongAdder>> entries = new ArrayList<>(retired);
+        entries.addAll(pending.entrySet());
+        for (Map.Entry<StatKey, LongAdder> entry : entries) {
+            StatKey key = entry.getKey();
+            if (key.targetId() <= fromId || key.targetId() > toId) {
+                continue;
+            }
+            if (key.counter() == children || (key.counter() == likes && !skipped.contains(key.targetId()))) {
+                entry.getValue().reset();
+            }
+        }
+        return skipped;
+    }
+
+    // 진행 중인 flush 가 끝나기를 기다렸다가 flush 와 겹치지 않게 실행한다
+    // (먼저 꺼낸 증감분이 다시 센 값 뒤에 더해지면 두 번 세게 된다)
+    private Mono<Void> withoutFlush(Mono<Void> task) {
+        return Mono.defer(() -> flushing.compareAndSet(false, true)
+            ? task.doFinally(signal -> flushing.set(false))
+            : Mono.delay(FLUSH_WAIT).then(withoutFlush(task)));
+    }
+
+    private Mono<Long> maxId(String table) {
+        return databaseClient.sql("SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table)
+            .map((row, metadata) -> row.get("max_id", Long.class))
+            .one();
+    }
+
+    private static <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += FLUSH_BATCH_SIZE) {
+            batches.add(list.subList(i, Math.min(list.size(), i + FLUSH_BATCH_SIZE)));
+        }
+        return batches;
+    }
+}
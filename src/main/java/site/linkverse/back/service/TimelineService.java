@@ -0,0 +1,406 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import site.linkverse.back.graph.SocialGraph;
+import site.linkverse.back.model.Post;
+import site.linkverse.back.repository.FollowRepository;
+import site.linkverse.back.repository.PostRepository;
+import site.linkverse.back.util.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 팔로잉 피드(timelines) 관리
+ *
+ * 게시물이 작성되면 작성자의 팔로워별 timelines 에 게시물 ID 를 미리 넣어 두고 (fan-out-on-write),
+ * 팔로잉 피드는 timelines 의 범위 조회로 처리한다.
+ * 팔로워 배포는 백그라운드 작업으로 처리하며, 대기 작업 수가 한도를 넘으면 호출한 쪽에서 바로 처리한다.
+ *
+ * 팔로워 수가 기준(timeline.pull-threshold) 이상인 작성자는 배포하지 않고,
+ * 피드 조회 시점에 최근 게시물을 직접 읽어 배포된 피드와 작성일 기준으로 병합한다 (push/pull 혼합).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineService {
+
+    @Value("${timeline.fanout.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${timeline.fanout.concurrency:4}")
+    private int fanOutConcurrency;
+
+    @Value("${timeline.backfill-size:500}")
+    private int backfillSize;
+
+    @Value("${timeline.pull-threshold:10000}")
+    private long pullThreshold;
+
+    @Value("${timeline.pull-backfill-size:50}")
+    private int pullBackfillSize;
+
+    private final DatabaseClient databaseClient;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final SocialGraph socialGraph;
+    private final MeterRegistry meterRegistry;
+
+    // 배포하지 않고 조회 시점에 병합하는 작성자 (팔로워 수 기준 이상)
+    private final Set<Long> pulledAuthors = ConcurrentHashMap.newKeySet();
+
+    private final Sinks.Many<FanOutTask> fanOutQueue = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+
+    private record FanOutTask(Long postId, Long authorId, LocalDateTime createdAt) {
+    }
+
+    private Timer mergeTimer;
+    private DistributionSummary mergeSources;
+    private DistributionSummary mergeCandidates;
+
+    @PostConstruct
+    public void startFanOutWorker() {
+        mergeTimer = Timer.builder("timeline.merge")
+            .description("팔로잉 피드 조회 시 배포 피드와 작성자별 최근 게시물 병합 시간")
+            .register(meterRegistry);
+        mergeSources = DistributionSummary.builder("timeline.merge.sources")
+            .description("피드 조회 1회당 병합한 목록 수")
+            .register(meterRegistry);
+        mergeCandidates = DistributionSummary.builder("timeline.merge.candidates")
+            .description("피드 조회 1회당 병합한 게시물 수")
+            .register(meterRegistry);
+
+        fanOutQueue.asFlux()
+            .flatMap(task -> pushToFollowers(task)
+                .doFinally(signal -> queuedTasks.decrementAndGet()), fanOutConcurrency)
+            .subscribe();
+    }
+
+    /**
+     * 작성자 본인 피드에 게시물 추가 (게시물 저장 트랜잭션 안에서 호출)
+     */
+    public Mono<Void> addToAuthorTimeline(Post post) {
+        return databaseClient.sql(
+                "INSERT IGNORE INTO timelines (user_id, post_id, author_id, created_at) " +
+                "VALUES (:authorId, :postId, :authorId, :createdAt)")
+            .bind("authorId", post.getUserId())
+            .bind("postId", post.getId())
+            .bind("createdAt", post.getCreatedAt())
+            .fetch().rowsUpdated()
+            .then();
+    }
+
+    /**
+     * 팔로워들의 피드에 게시물 배포 요청
+     */
+    public Mono<Void> fanOut(Post post) {
+        Mono<Long> followerCountMono = socialGraph.isReady()
+            ? Mono.just((long) socialGraph.followerCount(post.getUserId()))
+            : followRepository.countByFollowingId(post.getUserId());
+        return followerCountMono
+            .flatMap(followerCount -> {
+                if (updatePullStatus(post.getUserId(), followerCount)) {
+                    // 조회 시점에 병합되므로 배포하지 않는다
+                    return Mono.empty();
+                }
+                return enqueueFanOut(post);
+            });
+    }
+
+    private Mono<Void> enqueueFanOut(Post post) {
+        FanOutTask task = new FanOutTask(post.getId(), post.getUserId(), post.getCreatedAt());
+
+        if (queuedTasks.incrementAndGet() > queueCapacity) {
+            queuedTasks.decrementAndGet();
+            log.warn("팔로워 배포 대기열이 가득 찼습니다. 게시물 {} 을(를) 바로 배포합니다", post.getId());
+            return pushToFollowers(task);
+        }
+
+        Sinks.EmitResult result;
+        synchronized (fanOutQueue) {
+            result = fanOutQueue.tryEmitNext(task);
+        }
+        if (result.isFailure()) {
+            queuedTasks.decrementAndGet();
+            log.warn("팔로워 배포 작업 등록 실패 - 게시물: {}, 결과: {}", post.getId(), result);
+            return pushToFollowers(task);
+        }
+        return Mono.empty();
+    }
+
+    private Mono<Void> pushToFollowers(FanOutTask task) {
+        return databaseClient.sql(
+                "INSERT IGNORE INTO timelines (user_id, post_id, author_id, created_at) " +
+                "SELECT f.follower_id, :postId, :authorId, :createdAt FROM follows f " +
+                "WHERE f.following_id = :authorId")
+            .bind("postId", task.postId())
+            .bind("authorId", task.authorId())
+            .bind("createdAt", task.createdAt())
+            .fetch().rowsUpdated()
+            .doOnNext(count -> log.debug("게시물 {} 을(를) 팔로워 {}명의 피드에 배포", task.postId(), count))
+            .onErrorResume(error -> {
+                log.error("게시물 {} 팔로워 배포 실패: {}", task.postId(), error.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * 팔로잉 피드 조회. 과거 게시물로 채운 적이 없는 사용자는 첫 페이지 조회 시 최근 게시물로 채운다
+     * 팔로우 중인 작성자 중 배포 대상이 아닌 작성자가 있으면 해당 작성자의 최근 게시물과 병합한다
+     */
+    public Flux<Post> getTimelinePosts(Long userId, int page, int size) {
+        Mono<Void> ensureTimeline = page == 0 ? backfillOnce(userId) : Mono.empty();
+        return ensureTimeline
+            .then(followedPulledAuthors(userId))
+            .flatMapMany(authorIds -> authorIds.isEmpty()
+                ? postRepository.findTimelinePosts(userId, size, (long) page * size)
+                : mergeWithPulledAuthors(userId, authorIds, page, size));
+    }
+
+    private Mono<List<Long>> followedPulledAuthors(Long userId) {
+        if (pulledAuthors.isEmpty()) {
+            return Mono.just(Collections.emptyList());
+        }
+        if (socialGraph.isReady()) {
+            return Mono.just(pulledAuthors.stream().filter(authorId -> socialGraph.isFollowing(userId, authorId)).toList());
+        }
+        return databaseClient.sql("SELECT following_id FROM follows " +
+                "WHERE follower_id = :userId AND following_id IN (:authorIds)")
+            .bind("userId", userId)
+            .bind("authorIds", new ArrayList<>(pulledAuthors))
+            .map((row, metadata) -> row.get("following_id", Long.class))
+            .all()
+            .collectList();
+    }
+
+    /**
+     * 커서 이전의 팔로잉 피드 조회 (첫 페이지는 cursor == null)
+     * 배포된 피드와 병합 대상 작성자 목록 모두 커서 이후로만 읽으므로 깊은 페이지도 조회 비용이 같다
+     */
+    public Flux<Post> getTimelinePostsBefore(Long userId, PageCursor cursor, int size) {
+        Mono<Void> ensureTimeline = cursor == null ? backfillOnce(userId) : Mono.empty();
+        PageCursor from = cursor != null ? cursor : PageCursor.LATEST;
+        return ensureTimeline
+            .then(followedPulledAuthors(userId))
+            .flatMapMany(authorIds -> {
+                Flux<Post> inbox = postRepository.findTimelinePostsBefore(
+                    userId, from.getCreatedAt(), from.getId(), size);
+                if (authorIds.isEmpty()) {
+                    return inbox;
+                }
+                Flux<List<Post>> pulled = Flux.fromIterable(authorIds)
+                    .flatMap(authorId -> postRepository.findByUserIdBefore(
+                        authorId, userId, from.getCreatedAt(), from.getId(), size).collectList(), 8);
+                return merge(inbox.collectList(), pulled, 0, size);
+            });
+    }
+
+    /**
+     * 배포된 피드와 작성자별 최근 게시물 목록을 작성일 역순으로 k-way 병합
+     * 각 목록에서 (page + 1) * size 개까지만 읽으면 해당 페이지를 만들 수 있다
+     */
+    private Flux<Post> mergeWithPulledAuthors(Long userId, List<Long> authorIds, int page, int size) {
+        int window = (page + 1) * size;
+
+        Mono<List<Post>> inbox = postRepository.findTimelinePosts(userId, window, 0).collectList();
+        Flux<List<Post>> pulled = Flux.fromIterable(authorIds)
+            .flatMap(authorId -> postRepository.findByUserIdBefore(authorId, userId,
+                PageCursor.LATEST.getCreatedAt(), PageCursor.LATEST.getId(), window).collectList(), 8);
+
+        return merge(inbox, pulled, (long) page * size, size);
+    }
+
+    private Flux<Post> merge(Mono<List<Post>> inbox, Flux<List<Post>> pulled, long skip, int size) {
+        return Flux.concat(inbox, pulled)
+            .collectList()
+            .flatMapIterable(sources -> {
+                long start = System.nanoTime();
+                List<Post> merged = mergeByCreatedAt(sources, skip, size);
+                mergeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                mergeSources.record(sources.size());
+                mergeCandidates.record(sources.stream().mapToInt(List::size).sum());
+                return merged;
+            });
+    }
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator
+        .comparing(Post::getCreatedAt, Comparator.reverseOrder())
+        .thenComparing(Post::getId, Comparator.reverseOrder());
+
+    static List<Post> mergeByCreatedAt(List<List<Post>> sources, long skip, int limit) {
+        // 큐 원소: {목록 번호, 목록 내 위치}
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) ->
+            NEWEST_FIRST.compare(sources.get(a[0]).get(a[1]), sources.get(b[0]).get(b[1])));
+        for (int i = 0; i < sources.size(); i++) {
+            if (!sources.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<Post> result = new ArrayList<>(limit);
+        long skipped = 0;
+        while (!heads.isEmpty() && result.size() < limit) {
+            int[] head = heads.poll();
+            List<Post> source = sources.get(head[0]);
+            Post post = source.get(head[1]);
+            if (head[1] + 1 < source.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+            // 기준을 넘기 전에 배포된 게시물은 양쪽 목록에 모두 있을 수 있다
+            if (!seen.add(post.getId())) {
+                continue;
+            }
+            if (skipped < skip) {
+                skipped++;
+                continue;
+            }
+            result.add(post);
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshPulledAuthorsOnStartup() {
+        refreshPulledAuthors();
+    }
+
+    /**
+     * 배포하지 않을 작성자 목록을 팔로워 수 기준으로 다시 계산
+     */
+    @Scheduled(initialDelayString = "${timeline.pull-refresh-interval-ms:600000}",
+               fixedDelayString = "${timeline.pull-refresh-interval-ms:600000}")
+    public void refreshPulledAuthors() {
+        Mono<Set<Long>> currentMono = socialGraph.isReady()
+            ? Mono.just(socialGraph.usersWithFollowersAtLeast(pullThreshold))
+            : databaseClient.sql("SELECT following_id FROM follows GROUP BY following_id HAVING COUNT(*) >= :threshold")
+                .bind("threshold", pullThreshold)
+                .map((row, metadata) -> row.get("following_id", Long.class))
+                .all()
+                .collect(Collectors.toSet());
+        currentMono
+            .flatMapMany(current -> {
+                List<Long> demoted = pulledAuthors.stream().filter(id -> !current.contains(id)).toList();
+                pulledAuthors.addAll(current);
+                pulledAuthors.retainAll(current);
+                return Flux.fromIterable(demoted);
+            })
+            .concatMap(this::pushRecentPostsToFollowers)
+            .doOnComplete(() -> log.info("피드 병합 대상 작성자 {}명", pulledAuthors.size()))
+            .subscribe(null, error -> log.error("피드 병합 대상 작성자 갱신 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * @return 배포하지 않고 조회 시점에 병합해야 하는 작성자인지 여부
+     */
+    private boolean updatePullStatus(Long authorId, long followerCount) {
+        if (followerCount >= pullThreshold) {
+            pulledAuthors.add(authorId);
+            return true;
+        }
+        if (pulledAuthors.remove(authorId)) {
+            // 기준 아래로 내려온 작성자는 병합 대상 기간에 작성한 게시물을 팔로워 피드에 채운다
+            pushRecentPostsToFollowers(authorId).subscribe();
+        }
+        return false;
+    }
+
+    private Mono<Void> pushRecentPostsToFollowers(Long authorId) {
+        return databaseClient.sql(
+                "INSERT IGNORE INTO timelines (user_id, post_id, author_id, created_at) " +
+                "SELECT f.follower_id, p.id, p.user_id, p.created_at FROM follows f " +
+                "JOIN (SELECT id, user_id, created_at FROM posts " +
+                "      WHERE user_id = :authorId AND is_deleted = false " +
+                "      ORDER BY created_at DESC LIMIT :limit) p ON p.user_id = f.following_id " +
+                "WHERE f.following_id = :authorId")
+            .bind("authorId", authorId)
+            .bind("limit", pullBackfillSize)
+            .fetch().rowsUpdated()
+            .onErrorResume(error -> {
+                log.error("작성자 {} 최근 게시물 배포 실패: {}", authorId, error.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    // 피드가 비어 있는지로 판단하면 기존 사용자는 배포된 게시물이 하나라도 들어온 뒤에는 과거 게시물을 받지 못하므로
+    // 채운 사용자를 timeline_backfills 에 기록한다 (동시에 채워도 INSERT IGNORE 라 결과가 같다)
+    private Mono<Void> backfillOnce(Long userId) {
+        return databaseClient.sql("SELECT 1 FROM timeline_backfills WHERE user_id = :userId")
+            .bind("userId", userId)
+            .map((row, metadata) -> true)
+            .first()
+            .hasElement()
+            .flatMap(backfilled -> backfilled ? Mono.empty() : databaseClient.sql(
+                    "INSERT IGNORE INTO timelines (user_id, post_id, author_id, created_at) " +
+                    "SELECT :userId, p.id, p.user_id, p.created_at FROM posts p " +
+                    "WHERE p.is_deleted = false AND (p.user_id = :userId OR p.user_id IN " +
+                    "(SELECT f.following_id FROM follows f WHERE f.follower_id = :userId)) " +
+                    "ORDER BY p.created_at DESC LIMIT :limit")
+                .bind("userId", userId)
+                .bind("limit", backfillSize)
+                .fetch().rowsUpdated()
+                .then(databaseClient.sql("INSERT IGNORE INTO timeline_backfills (user_id, backfilled_at) VALUES (:userId, :now)")
+                    .bind("userId", userId)
+                    .bind("now", LocalDateTime.now())
+                    .fetch().rowsUpdated())
+                .then());
+    }
+
+    /**
+     * 팔로우 시작 시 상대방의 최근 게시물을 내 피드에 채운다
+     */
+    public Mono<Void> backfillAuthor(Long followerId, Long authorId) {
+        return databaseClient.sql(
+                "INSERT IGNORE INTO timelines (user_id, post_id, author_id, created_at) " +
+                "SELECT :followerId, p.id, p.user_id, p.created_at FROM posts p " +
+                "WHERE p.user_id = :authorId AND p.is_deleted = false " +
+                "ORDER BY p.created_at DESC LIMIT :limit")
+            .bind("followerId", followerId)
+            .bind("authorId", authorId)
+            .bind("limit", backfillSize)
+            .fetch().rowsUpdated()
+            .then();
+    }
+
+    /**
+     * 언팔로우 시 상대방 게시물을 내 피드에서 제거
+     */
+    public Mono<Void> removeAuthor(Long followerId, Long authorId) {
+        return databaseClient.sql("DELETE FROM timelines WHERE user_id = :followerId AND author_id = :authorId")
+            .bind("followerId", followerId)
+            .bind("authorId", authorId)
+            .fetch().rowsUpdated()
+            .then();
+    }
+
+    /**
+     * 게시물 삭제 시 모든 피드에서 제거
+     */
+    public Mono<Void> removePost(Long postId) {
+        return databaseClient.sql("DELETE FROM timelines WHERE post_id = :postId")
+            .bind("postId", postId)
+            .fetch().rowsUpdated()
+            .then();
+    }
+}
@@ -0,0 +1,301 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 실시간 인기 해시태그
+ *
+ * 게시물 작성 시 해시태그 사용을 시간 버킷(trending.bucket-seconds)별로 기록하고,
+ * 최근 trending.window-hours 동안의 사용량을 반감기(trending.half-life-hours)로 감쇠시킨 점수로 순위를 매긴다.
+ *
+ * - 버킷마다 Count-Min sketch 로 해시태그별 사용 횟수를 센다 (해시태그 수와 무관하게 메모리 고정)
+ * - 전체 점수는 감쇠 가중치를 곱한 sketch 하나에 누적한다. 가중치는 기준 시각(landmark) 기준으로
+ *   exp(λ(버킷 시작 - landmark)) 를 곱하는 forward decay 방식이라 시간이 지나도 기존 값을 다시 계산할 필요가 없다
+ * - 기간이 지난 버킷은 같은 가중치로 누적 sketch 에서 빼고 버린다
+ * - 상위 후보(trending.candidates 개)만 최소 힙으로 유지하며, 조회 시에는 후보만 정렬한다
+ *
+ * 기동 시 post_hashtags 에서 최근 기간의 공개 게시물 해시태그를 읽어 다시 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingHashtagService {
+
+    @Value("${trending.bucket-seconds:300}")
+    private long bucketSeconds;
+
+    @Value("${trending.window-hours:24}")
+    private int windowHours;
+
+    @Value("${trending.half-life-hours:6}")
+    private double halfLifeHours;
+
+    @Value("${trending.sketch-depth:4}")
+    private int depth;
+
+    @Value("${trending.sketch-width:1024}")
+    private int width;
+
+    @Value("${trending.candidates:200}")
+    private int candidateCapacity;
+
+    // landmark 이후 가중치가 이 값(지수)을 넘으면 기준 시각을 옮겨 값이 너무 커지지 않게 한다
+    private static final double MAX_EXPONENT = 30;
+
+    private final DatabaseClient databaseClient;
+    private final MeterRegistry meterRegistry;
+
+    private double lambda;
+    private int bucketCount;
+    // 버킷별 sketch (depth * width, 사용된 버킷만 할당)와 해당 버킷 번호 (epochSeconds / bucketSeconds)
+    private int[][] bucketSketches;
+    private long[] bucketIndexes;
+    private long currentBucket = Long.MIN_VALUE;
+    // 감쇠 가중치를 곱해 누적한 sketch
+    private double[] decayed;
+    private long landmarkSeconds;
+
+    // 상위 후보: 해시태그 ID -> landmark 기준 점수, 최소 힙은 지연 삭제 (점수가 다르면 오래된 항목)
+    private final Map<Long, Double> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+
+    private volatile long[] snapshot = new long[0];
+    private volatile boolean dirty;
+    private volatile long snapshotBucket = Long.MIN_VALUE;
+    private volatile boolean ready;
+
+    private record Candidate(long hashtagId, double score) {
+    }
+
+    @PostConstruct
+    public void init() {
+        lambda = Math.log(2) / (halfLifeHours * 3600);
+        bucketCount = (int) Math.max(1, windowHours * 3600L / bucketSeconds);
+        bucketSketches = new int[bucketCount][];
+        bucketIndexes = new long[bucketCount];
+        Arrays.fill(bucketIndexes, Long.MIN_VALUE);
+        decayed = new double[depth * width];
+        landmarkSeconds = nowSeconds();
+
+        Gauge.builder("hashtags.trending.candidates", this, service -> service.snapshot.length)
+            .description("인기 해시태그 후보 수")
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        long startedAt = nowSeconds();
+        LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+        databaseClient.sql(
+                "SELECT ph.hashtag_id, p.created_at FROM posts p " +
+                "JOIN post_hashtags ph ON ph.post_id = p.id " +
+                "WHERE p.visibility = 'PUBLIC' AND p.is_deleted = false AND p.created_at >= :since")
+            .bind("since", since)
+            .map((row, metadata) -> {
+                record(row.get("hashtag_id", Long.class), toSeconds(row.get("created_at", LocalDateTime.class)));
+                return Boolean.TRUE;
+            })
+            .all()
+            .then()
+            .doOnSuccess(ignored -> {
+                ready = true;
+                log.info("인기 해시태그 재구성 완료: {}초", nowSeconds() - startedAt);
+            })
+            .subscribe(null, error -> log.error("인기 해시태그 재구성 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 게시물 작성 시 해시태그 사용 기록
+     */
+    public void record(Collection<Long> hashtagIds, LocalDateTime createdAt) {
+        long seconds = toSeconds(createdAt);
+        for (Long hashtagId : new HashSet<>(hashtagIds)) {
+            record(hashtagId, seconds);
+        }
+    }
+
+    /**
+     * 현재 점수가 높은 순서의 해시태그 ID
+     */
+    public List<Long> getTrending(int limit) {
+        if (dirty || snapshotBucket < nowSeconds() / bucketSeconds) {
+            refreshSnapshot();
+        }
+        long[] top = snapshot;
+        List<Long> result = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && i < limit; i++) {
+            result.add(top[i]);
+        }
+        return result;
+    }
+
+    private synchronized void record(long hashtagId, long epochSeconds) {
+        long bucket = epochSeconds / bucketSeconds;
+        advance(Math.max(bucket, nowSeconds() / bucketSeconds));
+        if (bucket <= currentBucket - bucketCount || bucket > currentBucket) {
+            // 기간 밖 (재구성 중 경계에 걸친 게시물 또는 시계 오차)
+            return;
+        }
+
+        int slot = (int) Math.floorMod(bucket, (long) bucketCount);
+        if (bucketIndexes[slot] != bucket) {
+            bucketIndexes[slot] = bucket;
+            bucketSketches[slot] = new int[depth * width];
+        }
+        int[] sketch = bucketSketches[slot];
+        double weight = weight(bucket);
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, hashtagId);
+            sketch[cell]++;
+            decayed[cell] += weight;
+            estimate = Math.min(estimate, decayed[cell]);
+        }
+        offer(hashtagId, estimate);
+    }
+
+    // 현재 버킷을 옮기면서 기간이 지난 버킷을 누적 sketch 에서 뺀다
+    private void advance(long bucket) {
+        if (bucket <= currentBucket) {
+            return;
+        }
+        boolean expired = false;
+        for (int slot = 0; slot < bucketCount; slot++) {
+            if (bucketSketches[slot] != null && bucketIndexes[slot] <= bucket - bucketCount) {
+                int[] sketch = bucketSketches[slot];
+                double weight = weight(bucketIndexes[slot]);
+                for (int cell = 0; cell < sketch.length; cell++) {
+                    if (sketch[cell] != 0) {
+                        decayed[cell] = Math.max(0, decayed[cell] - sketch[cell] * weight);
+                    }
+                }
+                bucketSketches[slot] = null;
+                bucketIndexes[slot] = Long.MIN_VALUE;
+                expired = true;
+            }
+        }
+        currentBucket = bucket;
+
+        if (lambda * (bucket * bucketSeconds - landmarkSeconds) > MAX_EXPONENT) {
+            rebaseLandmark(bucket * bucketSeconds);
+            expired = true;
+        }
+        if (expired) {
+            rescoreCandidates();
+        }
+    }
+
+    // 모든 누적값에 같은 비율을 곱하므로 순위는 바뀌지 않는다
+    private void rebaseLandmark(long newLandmark) {
+        double factor = Math.exp(-lambda * (newLandmark - landmarkSeconds));
+        for (int cell = 0; cell < decayed.length; cell++) {
+            decayed[cell] *= factor;
+        }
+        landmarkSeconds = newLandmark;
+    }
+
+    private void rescoreCandidates() {
+        heap.clear();
+        Iterator<Map.Entry<Long, Double>> iterator = candidates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Double> entry = iterator.next();
+            double score = estimate(entry.getKey());
+            if (score <= 0) {
+                iterator.remove();
+                continue;
+            }
+            entry.setValue(score);
+            heap.add(new Candidate(entry.getKey(), score));
+        }
+        dirty = true;
+    }
+
+    private void offer(long hashtagId, double score) {
+        if (candidates.containsKey(hashtagId) || candidates.size() < candidateCapacity) {
+            candidates.put(hashtagId, score);
+            heap.add(new Candidate(hashtagId, score));
+        } else {
+            Candidate min = peekMin();
+            if (min == null || score <= min.score()) {
+                return;
+            }
+            heap.poll();
+            candidates.remove(min.hashtagId());
+            candidates.put(hashtagId, score);
+            heap.add(new Candidate(hashtagId, score));
+        }
+        dirty = true;
+        // 지연 삭제로 쌓인 오래된 항목 정리
+        if (heap.size() > candidateCapacity * 4) {
+            heap.clear();
+            candidates.forEach((id, value) -> heap.add(new Candidate(id, value)));
+        }
+    }
+
+    private Candidate peekMin() {
+        Candidate min = heap.peek();
+        while (min != null && !Objects.equals(candidates.get(min.hashtagId()), min.score())) {
+            heap.poll();
+            min = heap.peek();
+        }
+        return min;
+    }
+
+    private synchronized void refreshSnapshot() {
+        advance(nowSeconds() / bucketSeconds);
+        snapshot = candidates.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+            .mapToLong(Map.Entry::getKey)
+            .toArray();
+        snapshotBucket = currentBucket;
+        dirty = false;
+    }
+
+    private double estimate(long hashtagId) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, decayed[cell(row, hashtagId)]);
+        }
+        return estimate;
+    }
+
+    private double weight(long bucket) {
+        return Math.exp(lambda * (bucket * bucketSeconds - landmarkSeconds));
+    }
+
+    // 행마다 다른 시드로 섞은 해시 (murmur3 finalizer)
+    private int cell(int row, long hashtagId) {
+        long hash = hashtagId * 0x9E3779B97F4A7C15L + row * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return row * width + (int) Math.floorMod(hash, (long) width);
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
\ No newline at end of file
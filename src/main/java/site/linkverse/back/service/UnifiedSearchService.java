@@ -0,0 +1,127 @@
+package site.linkverse.back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.dto.PostDto;
+import site.linkverse.back.dto.SearchResultDto;
+import site.linkverse.back.dto.UserDto;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 통합 검색 (사용자/게시물/해시태그를 한 번에)
+ *
+ * 세 섹션을 동시에 검색하고 search.unified.timeout-ms 안에 끝난 섹션만 채워서 돌려준다.
+ * 끝나지 않은 섹션은 결과의 timedOut 에 이름을 넣는다 (섹션이 동시에 시작하므로 요청 단위 마감 시간과 같다).
+ * 사용자/해시태그 섹션은 조회하는 사용자와 무관하므로 정규화한 검색어 기준으로 search.unified.cache-ttl-seconds 동안 캐시하고,
+ * 게시물 섹션은 공개 범위와 좋아요/북마크 여부가 사용자마다 달라 매번 검색한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class UnifiedSearchService {
+
+    @Value("${search.unified.timeout-ms:800}")
+    private long timeoutMs;
+
+    @Value("${search.unified.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${search.unified.cache-maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    private final SearchService searchService;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<CacheKey, SharedSections> cache;
+
+    private record CacheKey(String query, int size, boolean fuzzy) {
+    }
+
+    // 캐시한 목록은 응답 직렬화에만 쓰고 수정하지 않는다
+    private record SharedSections(List<UserDto> users, List<String> hashtags) {
+    }
+
+    @PostConstruct
+    public void initCache() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "search.unified");
+    }
+
+    public Mono<SearchResultDto> search(String keyword, Long currentUserId, int size, boolean fuzzy) {
+        Duration deadline = Duration.ofMillis(timeoutMs);
+        CacheKey key = new CacheKey(normalize(keyword), size, fuzzy);
+        SharedSections cached = cache.getIfPresent(key);
+
+        Mono<Optional<List<UserDto>>> usersMono = cached != null
+            ? Mono.just(Optional.of(cached.users()))
+            : section("users", Flux.defer(() -> searchService.searchUsers(keyword, 0, size, fuzzy)), deadline);
+        Mono<Optional<List<String>>> hashtagsMono = cached != null
+            ? Mono.just(Optional.of(cached.hashtags()))
+            : section("hashtags", Flux.defer(() -> searchService.searchHashtags(keyword, size, fuzzy)), deadline);
+        Mono<Optional<List<PostDto>>> postsMono =
+            section("posts", Flux.defer(() -> searchService.searchPosts(keyword, currentUserId, 0, size)), deadline);
+
+        return Mono.zip(usersMono, postsMono, hashtagsMono)
+            .map(tuple -> {
+                Optional<List<UserDto>> users = tuple.getT1();
+                Optional<List<PostDto>> posts = tuple.getT2();
+                Optional<List<String>> hashtags = tuple.getT3();
+
+                List<String> timedOut = new ArrayList<>();
+                if (users.isEmpty()) {
+                    timedOut.add("users");
+                }
+                if (posts.isEmpty()) {
+                    timedOut.add("posts");
+                }
+                if (hashtags.isEmpty()) {
+                    timedOut.add("hashtags");
+                }
+                if (cached == null && users.isPresent() && hashtags.isPresent()) {
+                    cache.put(key, new SharedSections(users.get(), hashtags.get()));
+                }
+
+                return SearchResultDto.builder()
+                    .users(users.orElse(null))
+                    .posts(posts.orElse(null))
+                    .hashtags(hashtags.orElse(null))
+                    .timedOut(timedOut.isEmpty() ? null : timedOut)
+                    .build();
+            });
+    }
+
+    // 마감 시간 안에 끝나지 않으면 empty (다른 오류는 그대로 전달)
+    private <T> Mono<Optional<List<T>>> section(String name, Flux<T> results, Duration deadline) {
+        return results.collectList()
+            .timeout(deadline)
+            .map(Optional::of)
+            .onErrorResume(TimeoutException.class, error -> {
+                meterRegistry.counter("search.unified.timeout", "section", name).increment();
+                return Mono.just(Optional.empty());
+            });
+    }
+
+    private static String normalize(String keyword) {
+        return Normalizer.normalize(keyword.strip(), Normalizer.Form.NFKC)
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("\\s+", " ");
+    }
+}
\ No newline at end of file
@@ -2,7 +2,6 @@ package site.linkverse.back.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.reactive.TransactionalOperator;
@@ -12,8 +11,8 @@ import site.linkverse.back.config.JwtUtil;
 import site.linkverse.back.dto.*;
 import site.linkverse.back.enums.VisibilityType;
 import site.linkverse.back.model.User;
-import site.linkverse.back.repository.FollowRepository;
 import site.linkverse.back.repository.UserRepository;
+import site.linkverse.back.search.UserSearchIndex;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,7 +22,9 @@ import java.util.List;
 @Slf4j
 public class UserService {
     private final UserRepository userRepository;
-    private final FollowRepository followRepository;
+    private final UserSummaryService userSummaryService;
+    private final UserSearchIndex userSearchIndex;
+    private final SearchService searchService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final TransactionalOperator transactionalOperator;
@@ -48,6 +49,7 @@ public class UserService {
                             .build();
 
                     return userRepository.save(user)
+                            .doOnNext(savedUser -> userSearchIndex.put(savedUser.getId(), savedUser.getUsername()))
                             .map(this::convertToDto);
                 });
     }
@@ -88,6 +90,10 @@ public class UserService {
                     user.setUpdatedAt(LocalDateTime.now());
 
                     return userRepository.save(user)
+                            .doOnNext(savedUser -> {
+                                userSummaryService.invalidate(savedUser.getId());
+                                userSearchIndex.put(savedUser.getId(), savedUser.getUsername());
+                            })
                             .map(this::convertToDto);
                 });
     }
@@ -112,13 +118,7 @@ public class UserService {
     }
 
     public Flux<UserDto> searchUsers(String keyword, int page, int size) {
-        return userRepository.searchByKeyword("%" + keyword + "%", PageRequest.of(page, size))
-                .flatMap(user -> followRepository.countByFollowingId(user.getId())
-                        .map(followersCount -> {
-                            UserDto dto = convertToDto(user);
-                            dto.setFollowersCount(followersCount.intValue());
-                            return dto;
-                        }));
+        return searchService.searchUsers(keyword, page, size);
     }
 
     private UserDto convertToDto(User user) {
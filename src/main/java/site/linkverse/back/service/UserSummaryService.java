@@ -0,0 +1,128 @@
+package site.linkverse.back.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.dto.UserDto;
+import site.linkverse.back.enums.VisibilityType;
+import site.linkverse.back.model.User;
+import site.linkverse.back.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 게시물/댓글/메시지/알림 등에 함께 내려주는 사용자 요약 정보(아이디, 이름, 프로필 이미지) 캐시
+ *
+ * 같은 사용자를 동시에 여러 번 요청해도 DB 조회는 한 번만 하고 (single-flight),
+ * 여러 사용자는 캐시에 없는 사용자만 모아 IN 쿼리 한 번으로 읽는다.
+ * 사용자 정보가 수정되면 UserService 에서 invalidate 를 호출한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSummaryService {
+
+    @Value("${user-cache.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${user-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    private AsyncCache<Long, UserSummary> cache;
+
+    private record UserSummary(Long id, String username, String profileImage,
+                               String bio, VisibilityType profileVisibility) {
+
+        static UserSummary from(User user) {
+            return new UserSummary(user.getId(), user.getUsername(), user.getProfileImage(),
+                user.getBio(), user.getProfileVisibility());
+        }
+    }
+
+    @PostConstruct
+    public void initCache() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.summary");
+    }
+
+    /**
+     * 사용자 요약 정보 (없는 사용자는 empty)
+     */
+    public Mono<UserDto> getUser(Long userId) {
+        return load(userId).map(this::toSummaryDto);
+    }
+
+    /**
+     * 여러 사용자의 요약 정보 (없는 사용자는 결과에서 빠진다)
+     */
+    public Mono<Map<Long, UserDto>> getUsers(Collection<Long> userIds) {
+        return loadAll(userIds).map(summaries -> toDtoMap(summaries, false));
+    }
+
+    /**
+     * 요약 정보 + 소개/프로필 공개 범위 (팔로워/팔로잉 목록용)
+     */
+    public Mono<Map<Long, UserDto>> getProfiles(Collection<Long> userIds) {
+        return loadAll(userIds).map(summaries -> toDtoMap(summaries, true));
+    }
+
+    public void invalidate(Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    private Mono<UserSummary> load(Long userId) {
+        // 같은 사용자를 기다리는 다른 요청이 있으므로 구독 취소가 공유 future 를 취소하지 않게 한다
+        return Mono.fromFuture(cache.get(userId, (id, executor) -> userRepository.findById(id)
+            .map(UserSummary::from)
+            .toFuture()), true);
+    }
+
+    private Mono<Map<Long, UserSummary>> loadAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+        Set<Long> distinctIds = new HashSet<>(userIds);
+        distinctIds.remove(null);
+        return Mono.fromFuture(cache.getAll(distinctIds, (ids, executor) -> userRepository.findAllById(new ArrayList<Long>(ids))
+            .collectMap(User::getId, UserSummary::from)
+            .toFuture()), true);
+    }
+
+    private Map<Long, UserDto> toDtoMap(Map<Long, UserSummary> summaries, boolean withProfile) {
+        Map<Long, UserDto> result = new HashMap<>(summaries.size() * 2);
+        summaries.forEach((id, summary) -> result.put(id, withProfile ? toProfileDto(summary) : toSummaryDto(summary)));
+        return result;
+    }
+
+    // 캐시 값은 공유되므로 호출할 때마다 새 DTO 를 만든다
+    private UserDto toSummaryDto(UserSummary summary) {
+        return UserDto.builder()
+            .id(summary.id())
+            .username(summary.username())
+            .profileImage(summary.profileImage())
+            .build();
+    }
+
+    private UserDto toProfileDto(UserSummary summary) {
+        return UserDto.builder()
+            .id(summary.id())
+            .username(summary.username())
+            .profileImage(summary.profileImage())
+            .bio(summary.bio())
+            .profileVisibility(summary.profileVisibility())
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package site.linkverse.back.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Recommend 피드 커서 (snapshot, 순위 목록에서의 위치)
+ * 순위 목록은 (created_at, id) 순서가 아니므로 PageCursor 대신 첫 페이지를 조회한 시각과 지금까지 넘긴 위치를 넘긴다.
+ * 같은 snapshot 으로 조회하면 그 사이 순위가 다시 계산되어도 같은 순서로 이어진다
+ */
+@Getter
+@RequiredArgsConstructor
+public class FeedCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private final long snapshot;
+    private final long position;
+
+    public String encode() {
+        String raw = snapshot + SEPARATOR + position;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 비어 있는 커서는 첫 페이지를 뜻하므로 null
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            FeedCursor result = new FeedCursor(Long.parseLong(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+            if (result.position < 0) {
+                throw new IllegalArgumentException();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("잘못된 커서입니다");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package site.linkverse.back.util;
+
+/**
+ * 한글 자모 분해 (검색어 자동완성/오타 허용 검색용)
+ *
+ * 완성형 음절과 조합형 자모(NFKC 정규화 결과)를 모두 호환 자모(ㄱ, ㅏ ...)로 바꾸고,
+ * 겹받침(ㄺ → ㄹㄱ)과 이중 모음(ㅘ → ㅗㅏ)은 두 글자로 나눈다.
+ * 그래서 입력 중인 "닭" 처럼 다음 글자의 초성이 받침으로 붙은 검색어도 "달기" 같은 단어의 접두어로 비교할 수 있다.
+ */
+public final class HangulUtils {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    // 첫 글자는 받침 없음
+    private static final String JONGSEONG = " ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+    private static final char COMPAT_VOWEL_BASE = 0x314F;
+
+    private static final String COMPOUND = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_PARTS = {
+        "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+        "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"
+    };
+
+    private HangulUtils() {
+    }
+
+    /**
+     * 자모 단위로 분해한 문자열 (한글이 아닌 글자는 그대로)
+     */
+    public static String decompose(String text) {
+        StringBuilder result = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c)) {
+                int index = c - SYLLABLE_BASE;
+                appendJamo(result, CHOSEONG.charAt(index / (JUNGSEONG_COUNT * JONGSEONG_COUNT)));
+                appendJamo(result, (char) (COMPAT_VOWEL_BASE + (index % (JUNGSEONG_COUNT * JONGSEONG_COUNT)) / JONGSEONG_COUNT));
+                int jong = index % JONGSEONG_COUNT;
+                if (jong != 0) {
+                    appendJamo(result, JONGSEONG.charAt(jong));
+                }
+            } else {
+                appendJamo(result, toCompatibilityJamo(c));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 음절을 초성으로 바꾼 문자열 (예: "자바" → "ㅈㅂ", 한글 음절이 아닌 글자는 그대로)
+     */
+    public static String choseong(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c)) {
+                result.append(CHOSEONG.charAt((c - SYLLABLE_BASE) / (JUNGSEONG_COUNT * JONGSEONG_COUNT)));
+            } else {
+                result.append(toCompatibilityJamo(c));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 초성(자음)만으로 이루어진 검색어인지 (예: "ㅈㅂ")
+     */
+    public static boolean isChoseongOnly(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (CHOSEONG.indexOf(toCompatibilityJamo(text.charAt(i))) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    // 조합형 자모(U+1100 ~ U+11C2)를 호환 자모로 바꾼다
+    private static char toCompatibilityJamo(char c) {
+        if (c >= 0x1100 && c <= 0x1112) {
+            return CHOSEONG.charAt(c - 0x1100);
+        }
+        if (c >= 0x1161 && c <= 0x1175) {
+            return (char) (COMPAT_VOWEL_BASE + (c - 0x1161));
+        }
+        if (c >= 0x11A8 && c <= 0x11C2) {
+            return JONGSEONG.charAt(c - 0x11A7);
+        }
+        return c;
+    }
+
+    private static void appendJamo(StringBuilder result, char jamo) {
+        int compound = COMPOUND.indexOf(jamo);
+        if (compound >= 0) {
+            result.append(COMPOUND_PARTS[compound]);
+        } else {
+            result.append(jamo);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package site.linkverse.back.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 조회 위치 (created_at, id)
+ * 클라이언트에는 내용을 알 수 없는 문자열(Base64 URL)로 전달한다
+ */
+@Getter
+@RequiredArgsConstructor
+public class PageCursor {
+
+    // 첫 페이지 조회 시작 위치 (최신순 / 오래된순)
+    public static final PageCursor LATEST = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    public static final PageCursor EARLIEST = new PageCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 비어 있는 커서는 첫 페이지를 뜻하므로 null
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("잘못된 커서입니다");
+        }
+    }
+
+    /**
+     * 조회한 행이 요청한 개수만큼 있으면 마지막 행 위치를 다음 커서로, 아니면 null (마지막 페이지)
+     */
+    public static <T> String next(List<T> rows, int size,
+                                  Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        if (rows.size() < size || rows.isEmpty()) {
+            return null;
+        }
+        T last = rows.get(rows.size() - 1);
+        return new PageCursor(createdAt.apply(last), id.apply(last)).encode();
+    }
+}
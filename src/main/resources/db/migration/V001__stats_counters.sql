@@ -0,0 +1,12 @@
+-- 게시물/댓글 집계 카운터 (좋아요, 댓글, 답글 수)
+CREATE TABLE IF NOT EXISTS post_stats (
+    post_id        BIGINT NOT NULL PRIMARY KEY,
+    likes_count    BIGINT NOT NULL DEFAULT 0,
+    comments_count BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS comment_stats (
+    comment_id    BIGINT NOT NULL PRIMARY KEY,
+    likes_count   BIGINT NOT NULL DEFAULT 0,
+    replies_count BIGINT NOT NULL DEFAULT 0
+);
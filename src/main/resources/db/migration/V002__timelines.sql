@@ -0,0 +1,11 @@
+-- 사용자별 팔로잉 피드 (게시물 작성 시 팔로워들에게 미리 배포)
+CREATE TABLE IF NOT EXISTS timelines (
+    user_id    BIGINT   NOT NULL,
+    post_id    BIGINT   NOT NULL,
+    author_id  BIGINT   NOT NULL,
+    created_at DATETIME NOT NULL,
+    PRIMARY KEY (user_id, post_id),
+    KEY idx_timelines_user_created (user_id, created_at, post_id),
+    KEY idx_timelines_user_author (user_id, author_id),
+    KEY idx_timelines_post (post_id)
+);
@@ -0,0 +1,12 @@
+-- 게시글 목록 조회용 복합 인덱스 (삭제 여부/공개 범위 조건을 SQL 에서 처리)
+-- 전체 공개 피드: visibility = 'PUBLIC' AND is_deleted = false ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_posts_visibility_created ON posts (visibility, is_deleted, created_at, id);
+
+-- 작성자별 게시글 (프로필 목록, 팔로워 수가 많은 작성자의 피드 병합)
+CREATE INDEX IF NOT EXISTS idx_posts_user_created ON posts (user_id, is_deleted, created_at, id);
+
+-- 해시태그별 게시글
+CREATE INDEX IF NOT EXISTS idx_post_hashtags_hashtag_post ON post_hashtags (hashtag_id, post_id);
+
+-- 친구 공개 게시글의 팔로우 여부 확인 (EXISTS 서브쿼리)
+CREATE INDEX IF NOT EXISTS idx_follows_follower_following ON follows (follower_id, following_id);
\ No newline at end of file
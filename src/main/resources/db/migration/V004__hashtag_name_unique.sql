@@ -0,0 +1,12 @@
+-- 해시태그 이름 중복 제거 후 UNIQUE 인덱스 추가 (INSERT ... ON DUPLICATE KEY 로 한 번에 저장하기 위함)
+-- 같은 이름의 해시태그가 여러 개면 가장 작은 ID 로 게시물 연결을 옮긴 뒤 나머지를 삭제한다
+UPDATE post_hashtags ph
+    JOIN hashtags h ON h.id = ph.hashtag_id
+    JOIN (SELECT name, MIN(id) AS keep_id FROM hashtags GROUP BY name HAVING COUNT(*) > 1) d ON d.name = h.name
+SET ph.hashtag_id = d.keep_id
+WHERE h.id <> d.keep_id;
+
+DELETE h FROM hashtags h
+    JOIN hashtags k ON k.name = h.name AND k.id < h.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_hashtags_name ON hashtags (name);
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- 좋아요 중복 제거 후 (user_id, target_id, target_type) UNIQUE 인덱스 추가 (INSERT IGNORE / DELETE 의 영향 행 수로 상태를 판단하기 위함)
+-- 같은 좋아요가 여러 행이면 가장 작은 ID 만 남긴다 (집계 카운터는 기동 시 reconcile 에서 다시 계산된다)
+DELETE l FROM likes l
+    JOIN likes k ON k.user_id = l.user_id AND k.target_id = l.target_id AND k.target_type = l.target_type AND k.id < l.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_likes_user_target ON likes (user_id, target_id, target_type);
\ No newline at end of file
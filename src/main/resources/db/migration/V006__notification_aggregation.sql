@@ -0,0 +1,9 @@
+-- 알림 묶기: 같은 대상에 대한 알림을 한 행으로 합치고 모인 사용자 수와 최근 사용자 ID 를 함께 저장한다
+-- reference_type 은 reference_id 가 가리키는 대상 (POST, COMMENT, USER). 게시물 좋아요와 댓글 좋아요는 둘 다 LIKE 라서 ID 만으로는 구분되지 않는다
+ALTER TABLE notifications
+    ADD COLUMN IF NOT EXISTS actor_count INT NOT NULL DEFAULT 1,
+    ADD COLUMN IF NOT EXISTS recent_actor_ids VARCHAR(255) NULL,
+    ADD COLUMN IF NOT EXISTS reference_type VARCHAR(20) NULL;
+
+-- 합칠 알림 행 찾기: user_id = ? AND notification_type = ? AND reference_type = ? AND reference_id = ? ORDER BY created_at DESC LIMIT 1
+CREATE INDEX IF NOT EXISTS idx_notifications_user_type_reference ON notifications (user_id, notification_type, reference_type, reference_id, created_at);
\ No newline at end of file
@@ -0,0 +1,3 @@
+-- 좋아요한 사용자 목록 (커서 기반): target_type = ? AND target_id = ? ORDER BY created_at DESC, id DESC
+-- user_id 까지 포함해 인덱스만 읽고 끝낸다
+CREATE INDEX IF NOT EXISTS idx_likes_target_created ON likes (target_type, target_id, created_at, id, user_id);
\ No newline at end of file
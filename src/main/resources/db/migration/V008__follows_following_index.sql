@@ -0,0 +1,2 @@
+-- 팔로워 목록 (SocialGraph 로드 시 following_id 순 정렬, 팔로워 배포/팔로워 수 조회)
+CREATE INDEX IF NOT EXISTS idx_follows_following_follower ON follows (following_id, follower_id);
\ No newline at end of file
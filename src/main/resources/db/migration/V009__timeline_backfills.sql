@@ -0,0 +1,5 @@
+-- 팔로잉 피드를 과거 게시물로 채운 사용자 (timelines 가 비어 있는지 대신 이 기록으로 한 번만 채운다)
+CREATE TABLE IF NOT EXISTS timeline_backfills (
+    user_id       BIGINT   NOT NULL PRIMARY KEY,
+    backfilled_at DATETIME NOT NULL
+);
\ No newline at end of file
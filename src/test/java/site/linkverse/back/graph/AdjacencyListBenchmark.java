@@ -0,0 +1,82 @@
+package site.linkverse.back.graph;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+/**
+ * 팔로우 그래프 목록 벤치마크 (./gradlew benchmark)
+ *
+ * 목록 1000개 x ID 1000개 (1000만 명 중 무작위) 를 압축 목록, long[], HashSet<Long> 으로 만들어
+ * 관계 100만 개당 메모리와 contains / intersect 시간을 비교한다.
+ */
+@Tag("benchmark")
+class AdjacencyListBenchmark {
+    private static final int LISTS = 1_000;
+    private static final int IDS_PER_LIST = 1_000;
+    private static final long USERS = 10_000_000;
+    private static final int ROUNDS = 5;
+
+    private static long sink;
+
+    @Test
+    void 메모리와_조회_시간() {
+        Random random = new Random(2024);
+        long[][] raw = new long[LISTS][];
+        AdjacencyList[] packed = new AdjacencyList[LISTS];
+        List<Set<Long>> hashed = new ArrayList<>();
+        long packedBytes = 0;
+        for (int i = 0; i < LISTS; i++) {
+            TreeSet<Long> ids = new TreeSet<>();
+            while (ids.size() < IDS_PER_LIST) {
+                ids.add(1 + (long) (random.nextDouble() * USERS));
+            }
+            raw[i] = ids.stream().mapToLong(Long::longValue).toArray();
+            packed[i] = AdjacencyList.of(raw[i]);
+            hashed.add(new HashSet<>(ids));
+            packedBytes += packed[i].bytes();
+        }
+        long edges = (long) LISTS * IDS_PER_LIST;
+        System.out.printf("메모리 (관계 100만 개당): 압축 %.2fMB, long[] %.2fMB%n",
+            packedBytes * 1_000_000.0 / edges / 1_000_000, (16 + 8.0 * IDS_PER_LIST) * LISTS * 1_000_000 / edges / 1_000_000);
+
+        // 절반은 있는 ID, 절반은 없는 ID
+        long[] probes = new long[1_000_000];
+        for (int i = 0; i < probes.length; i++) {
+            long[] list = raw[random.nextInt(LISTS)];
+            probes[i] = i % 2 == 0 ? list[random.nextInt(list.length)] : 1 + (long) (random.nextDouble() * USERS);
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            for (int i = 0; i < probes.length; i++) {
+                sink += packed[i % LISTS].contains(probes[i]) ? 1 : 0;
+            }
+            long packedNanos = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            for (int i = 0; i < probes.length; i++) {
+                sink += Arrays.binarySearch(raw[i % LISTS], probes[i]) >= 0 ? 1 : 0;
+            }
+            long rawNanos = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            for (int i = 0; i < probes.length; i++) {
+                sink += hashed.get(i % LISTS).contains(probes[i]) ? 1 : 0;
+            }
+            long hashNanos = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            for (int i = 0; i + 1 < LISTS; i++) {
+                sink += packed[i].intersect(packed[i + 1]).length;
+            }
+            long intersectNanos = System.nanoTime() - started;
+
+            System.out.printf("%d회차 contains: 압축 %.0fns, long[] %.0fns, HashSet %.0fns / intersect(1000 x 1000): %.1fus%n",
+                round + 1, (double) packedNanos / probes.length, (double) rawNanos / probes.length,
+                (double) hashNanos / probes.length, intersectNanos / 1000.0 / (LISTS - 1));
+        }
+        System.out.println("(" + sink + ")");
+    }
+}
@@ -0,0 +1,248 @@
+package site.linkverse.back.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdjacencyListTest {
+
+    private static long[] toArray(Collection<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] randomIds(Random random, int count, long bound) {
+        TreeSet<Long> ids = new TreeSet<>();
+        while (ids.size() < count) {
+            ids.add(1 + (long) (random.nextDouble() * bound));
+        }
+        return toArray(ids);
+    }
+
+    @Test
+    void 작은_목록은_압축하지_않는다() {
+        AdjacencyList list = AdjacencyList.of(new long[]{1, 5, 9});
+
+        assertFalse(list.isPacked());
+        assertEquals(3, list.size());
+        assertTrue(list.contains(5));
+        assertFalse(list.contains(6));
+        assertArrayEquals(new long[]{1, 5, 9}, list.toArray());
+        assertSame(AdjacencyList.EMPTY, AdjacencyList.of(new long[0]));
+    }
+
+    @Test
+    void 차이가_큰_ID_도_varint_로_그대로_복원한다() {
+        // 1바이트(< 2^7) 부터 9바이트(>= 2^56) varint 까지 섞는다
+        long[] ids = new long[AdjacencyList.PACK_THRESHOLD * 2];
+        long value = 1;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = value;
+            int bits = (i * 7) % 57;
+            value += (1L << bits) + i;
+        }
+        AdjacencyList list = AdjacencyList.of(ids);
+
+        assertTrue(list.isPacked());
+        assertEquals(ids.length, list.size());
+        assertArrayEquals(ids, list.toArray());
+        for (long id : ids) {
+            assertTrue(list.contains(id), "contains " + id);
+            assertEquals(Arrays.binarySearch(ids, id + 1) >= 0, list.contains(id + 1), "contains " + (id + 1));
+        }
+        assertFalse(list.contains(0));
+        assertFalse(list.contains(Long.MAX_VALUE));
+    }
+
+    @Test
+    void 블록_경계의_ID_를_찾는다() {
+        long[] ids = new long[AdjacencyList.BLOCK_SIZE * 3 + 1];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 10L * (i + 1);
+        }
+        AdjacencyList list = AdjacencyList.of(ids);
+
+        for (int block = 0; block <= 3; block++) {
+            int first = block * AdjacencyList.BLOCK_SIZE;
+            assertTrue(list.contains(ids[first]));
+            assertFalse(list.contains(ids[first] - 1));
+            if (first > 0) {
+                assertTrue(list.contains(ids[first - 1]));
+            }
+        }
+    }
+
+    @Test
+    void range_는_블록을_넘어가도_순서대로_잘라_준다() {
+        long[] ids = randomIds(new Random(1), AdjacencyList.BLOCK_SIZE * 5 + 17, 1_000_000);
+        AdjacencyList list = AdjacencyList.of(ids);
+        assertTrue(list.isPacked());
+
+        int[][] ranges = {
+            {0, 1}, {0, AdjacencyList.BLOCK_SIZE}, {AdjacencyList.BLOCK_SIZE - 1, AdjacencyList.BLOCK_SIZE + 1},
+            {AdjacencyList.BLOCK_SIZE, AdjacencyList.BLOCK_SIZE * 3}, {100, 600}, {ids.length - 5, ids.length + 10},
+            {ids.length, ids.length + 1}, {5, 5}
+        };
+        for (int[] range : ranges) {
+            long[] expected = Arrays.copyOfRange(ids, Math.min(range[0], ids.length), Math.min(range[1], ids.length));
+            assertArrayEquals(expected, list.range(range[0], range[1]), range[0] + ".." + range[1]);
+        }
+
+        // 추가/삭제분이 있는 목록
+        AdjacencyList changed = list.with(3).without(ids[AdjacencyList.BLOCK_SIZE]);
+        long[] changedIds = changed.toArray();
+        assertArrayEquals(Arrays.copyOfRange(changedIds, 120, 260), changed.range(120, 260));
+    }
+
+    @Test
+    void 추가_삭제는_overlay_에_모았다가_다시_압축한다() {
+        long[] ids = new long[AdjacencyList.PACK_THRESHOLD];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 2L * i;
+        }
+        AdjacencyList list = AdjacencyList.of(ids);
+        TreeSet<Long> expected = new TreeSet<>();
+        for (long id : ids) {
+            expected.add(id);
+        }
+
+        for (int i = 0; i <= AdjacencyList.MAX_OVERLAY; i++) {
+            AdjacencyList next = list.with(2L * i + 1);
+            assertNotSame(list, next);
+            list = next;
+            expected.add(2L * i + 1);
+            assertTrue(list.isPacked());
+        }
+        assertArrayEquals(toArray(expected), list.toArray());
+
+        // 다시 압축한 목록은 이전 overlay 를 들고 있지 않는다
+        AdjacencyList repacked = AdjacencyList.of(list.toArray());
+        assertEquals(repacked.bytes(), list.bytes());
+
+        // 이미 있는 ID 추가, 없는 ID 삭제는 같은 목록을 돌려준다
+        assertSame(list, list.with(0));
+        assertSame(list, list.without(1_000_000));
+
+        // 삭제한 ID 를 다시 추가하면 removed 에서만 빠진다
+        AdjacencyList removed = list.without(4);
+        assertFalse(removed.contains(4));
+        assertTrue(removed.with(4).contains(4));
+        assertEquals(list.size(), removed.with(4).size());
+    }
+
+    @Test
+    void 크게_줄어든_목록은_압축을_푼다() {
+        long[] ids = new long[AdjacencyList.PACK_THRESHOLD];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        AdjacencyList list = AdjacencyList.of(ids);
+        for (int i = 0; i < ids.length; i++) {
+            list = list.without(ids[i]);
+            if (list.size() < AdjacencyList.PACK_THRESHOLD / 2) {
+                assertFalse(list.isPacked());
+            }
+        }
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    void 무작위_변경을_TreeSet_과_비교한다() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            long bound = trial % 2 == 0 ? 2_000 : 10_000_000;
+            int initial = random.nextInt(600);
+            long[] ids = randomIds(random, initial, bound);
+            TreeSet<Long> expected = new TreeSet<>();
+            for (long id : ids) {
+                expected.add(id);
+            }
+            AdjacencyList list = AdjacencyList.of(ids);
+
+            for (int op = 0; op < 1_000; op++) {
+                long id = 1 + (long) (random.nextDouble() * bound);
+                if (random.nextInt(3) > 0) {
+                    list = list.with(id);
+                    expected.add(id);
+                } else {
+                    // 절반은 있는 ID 를 지운다
+                    if (!expected.isEmpty() && random.nextBoolean()) {
+                        id = expected.ceiling(id) != null ? expected.ceiling(id) : expected.first();
+                    }
+                    list = list.without(id);
+                    expected.remove(id);
+                }
+                assertEquals(expected.size(), list.size());
+                assertEquals(expected.contains(id), list.contains(id));
+            }
+
+            long[] expectedIds = toArray(expected);
+            assertArrayEquals(expectedIds, list.toArray(), "trial " + trial);
+            for (int probe = 0; probe < 200; probe++) {
+                long id = 1 + (long) (random.nextDouble() * bound);
+                assertEquals(expected.contains(id), list.contains(id));
+            }
+
+            int from = expectedIds.length == 0 ? 0 : random.nextInt(expectedIds.length);
+            int to = from + random.nextInt(300);
+            assertArrayEquals(Arrays.copyOfRange(expectedIds, from, Math.min(to, expectedIds.length)), list.range(from, to));
+            AdjacencyList fresh = AdjacencyList.of(expectedIds);
+            assertArrayEquals(Arrays.copyOfRange(expectedIds, from, Math.min(to, expectedIds.length)), fresh.range(from, to));
+        }
+    }
+
+    @Test
+    void intersect_는_크기와_상관없이_교집합을_돌려준다() {
+        Random random = new Random(7);
+        int[][] sizes = {{0, 100}, {10, 5_000}, {300, 400}, {1_000, 1_000}, {3, 200}, {5_000, 120}};
+        for (int[] size : sizes) {
+            long[] a = randomIds(random, size[0], 20_000);
+            long[] b = randomIds(random, size[1], 20_000);
+            AdjacencyList left = AdjacencyList.of(a).with(7).without(a.length > 0 ? a[0] : 0);
+            AdjacencyList right = AdjacencyList.of(b).with(7);
+
+            TreeSet<Long> expected = new TreeSet<>();
+            for (long id : left.toArray()) {
+                expected.add(id);
+            }
+            Set<Long> other = new HashSet<>();
+            for (long id : right.toArray()) {
+                other.add(id);
+            }
+            expected.retainAll(other);
+
+            assertArrayEquals(toArray(expected), left.intersect(right), size[0] + " x " + size[1]);
+            assertArrayEquals(toArray(expected), right.intersect(left), size[1] + " x " + size[0]);
+        }
+    }
+
+    @Test
+    void retain_은_후보_순서를_유지한다() {
+        AdjacencyList list = AdjacencyList.of(new long[]{2, 4, 6, 8});
+
+        assertArrayEquals(new long[]{8, 2, 6}, list.retain(new long[]{8, 3, 2, 6, 7}));
+    }
+
+    @Test
+    void 압축한_목록은_관계_하나당_약_2_4바이트() {
+        // 목록 1000개 x ID 1000개 (1000만 명 중 무작위, 평균 차이 약 1만 -> varint 2바이트)
+        Random random = new Random(2024);
+        long packedBytes = 0;
+        long plainBytes = 0;
+        long edges = 0;
+        for (int i = 0; i < 1_000; i++) {
+            long[] ids = randomIds(random, 1_000, 10_000_000);
+            AdjacencyList list = AdjacencyList.of(ids);
+            assertTrue(list.isPacked());
+            packedBytes += list.bytes();
+            plainBytes += 16 + 8L * ids.length;
+            edges += ids.length;
+        }
+        double packedPerEdge = (double) packedBytes / edges;
+        double plainPerEdge = (double) plainBytes / edges;
+
+        assertTrue(packedPerEdge > 2.2 && packedPerEdge < 2.5, "packed " + packedPerEdge);
+        assertTrue(plainPerEdge > 3 * packedPerEdge, "plain " + plainPerEdge);
+    }
+}
@@ -0,0 +1,118 @@
+package site.linkverse.back.graph;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocialGraphTest {
+    private SocialGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new SocialGraph(null, new SimpleMeterRegistry());
+    }
+
+    private static Map<Long, AdjacencyList> lists(long[][] edges, boolean reverse) {
+        Map<Long, TreeSet<Long>> grouped = new TreeMap<>();
+        for (long[] edge : edges) {
+            long owner = reverse ? edge[1] : edge[0];
+            long member = reverse ? edge[0] : edge[1];
+            grouped.computeIfAbsent(owner, key -> new TreeSet<>()).add(member);
+        }
+        Map<Long, AdjacencyList> result = new HashMap<>();
+        grouped.forEach((owner, members) ->
+            result.put(owner, AdjacencyList.of(members.stream().mapToLong(Long::longValue).toArray())));
+        return result;
+    }
+
+    @Test
+    void 로드_중에_들어온_변경을_로드_결과에_다시_적용한다() {
+        graph.follow(1L, 2L);
+        graph.unfollow(3L, 4L);
+        graph.follow(5L, 6L);
+        graph.unfollow(5L, 6L);
+        assertFalse(graph.isReady());
+
+        // 3 -> 4 는 언팔로우 전에 읽혔고, 1 -> 2 는 팔로우 전에 읽혔다
+        long[][] snapshot = {{3, 4}, {3, 7}, {8, 1}};
+        graph.loaded(lists(snapshot, false), lists(snapshot, true));
+
+        assertTrue(graph.isReady());
+        assertTrue(graph.isFollowing(1L, 2L));
+        assertFalse(graph.isFollowing(3L, 4L));
+        assertTrue(graph.isFollowing(3L, 7L));
+        assertFalse(graph.isFollowing(5L, 6L));
+        assertEquals(1, graph.followerCount(2L));
+        assertEquals(0, graph.followerCount(4L));
+        assertEquals(0, graph.followerCount(6L));
+        assertEquals(3, graph.memoryReport().edges());
+    }
+
+    @Test
+    void 두_방향을_다른_시점에_읽어도_변경을_적용하면_맞춰진다() {
+        graph.follow(1L, 2L);
+        graph.unfollow(3L, 4L);
+
+        // 정방향은 두 변경 뒤에, 역방향은 두 변경 전에 읽혔다
+        graph.loaded(lists(new long[][]{{1, 2}}, false), lists(new long[][]{{3, 4}}, true));
+
+        assertArrayEquals(new long[]{1}, graph.followersOf(2L));
+        assertArrayEquals(new long[0], graph.followersOf(4L));
+        assertEquals(1, graph.memoryReport().edges());
+    }
+
+    @Test
+    void 로드_후_변경은_양방향에_반영한다() {
+        graph.loaded(new HashMap<>(), new HashMap<>());
+
+        graph.follow(1L, 2L);
+        graph.follow(1L, 3L);
+        graph.follow(4L, 3L);
+        graph.follow(2L, 3L);
+        graph.follow(1L, 2L);
+
+        assertEquals(2, graph.followingCount(1L));
+        assertArrayEquals(new long[]{1, 2, 4}, graph.followersOf(3L));
+        assertArrayEquals(new long[]{3}, graph.commonFollowing(1L, 4L));
+        assertArrayEquals(new long[]{2}, graph.followingWhoFollow(1L, 3L));
+        assertEquals(Set.of(3L), graph.usersWithFollowersAtLeast(2L));
+        assertEquals(Set.of(2L), graph.followedAmong(1L, List.of(2L, 4L, 5L)));
+
+        graph.unfollow(1L, 3L);
+        assertFalse(graph.isFollowing(1L, 3L));
+        assertArrayEquals(new long[]{2, 4}, graph.followersOf(3L));
+        assertEquals(3, graph.memoryReport().edges());
+    }
+
+    @Test
+    void 메모리_보고는_압축한_목록_기준_관계_100만_개당_수치와_맞는다() {
+        // 사용자 1000명이 1000만 명 중 무작위 1000명을 팔로우 (정방향만 압축 목록)
+        Random random = new Random(2024);
+        Map<Long, AdjacencyList> forward = new HashMap<>();
+        long listBytes = 0;
+        for (long user = 1; user <= 1_000; user++) {
+            TreeSet<Long> ids = new TreeSet<>();
+            while (ids.size() < 1_000) {
+                ids.add(1 + (long) (random.nextDouble() * 10_000_000));
+            }
+            AdjacencyList list = AdjacencyList.of(ids.stream().mapToLong(Long::longValue).toArray());
+            forward.put(user, list);
+            listBytes += list.bytes();
+        }
+        graph.loaded(forward, new HashMap<>());
+
+        SocialGraph.MemoryReport report = graph.memoryReport();
+
+        assertEquals(1_000_000, report.edges());
+        assertEquals(1_000, report.packedLists());
+        // 목록 2.2~2.5바이트/관계 + 사용자당 맵 항목
+        double expected = (listBytes + 1_000 * 48) * 1_000_000.0 / report.edges() / (1024 * 1024);
+        assertEquals(expected, report.megabytesPerMillionEdges(), 0.001);
+        assertTrue(report.megabytesPerMillionEdges() > 2.1 && report.megabytesPerMillionEdges() < 2.5,
+            "MB per million edges " + report.megabytesPerMillionEdges());
+    }
+}
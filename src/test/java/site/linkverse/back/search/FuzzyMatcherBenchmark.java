@@ -0,0 +1,136 @@
+package site.linkverse.back.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import site.linkverse.back.util.HangulUtils;
+
+import java.util.*;
+
+/**
+ * 오타 허용 검색 벤치마크 (./gradlew benchmark)
+ *
+ * 자모 분해한 사용자 이름 100만 개(영문, 한글 각각)에서 한 글자 틀린 검색어로 FuzzyMatcher.match 응답 시간 p50 / p99 를 잰다.
+ * 설정은 서비스와 같다 (prefixLength 1, 거리는 allowedDistance(길이, 2)). 비교용으로 모든 키와 distance 를 하나씩 구한 시간도 출력한다.
+ */
+@Tag("benchmark")
+class FuzzyMatcherBenchmark {
+    private static final int KEYS = 1_000_000;
+    private static final int QUERIES = 2_000;
+    private static final int WARMUP_QUERIES = 500;
+    private static final int SCAN_QUERIES = 20;
+    private static final int MAX_DISTANCE = 2;
+    private static final int PREFIX_LENGTH = 1;
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String[] SYLLABLES_EN = {"al", "an", "ar", "be", "ca", "da", "el", "en", "ja", "jo", "ka", "ki",
+        "la", "le", "li", "ma", "mi", "na", "ni", "ol", "ra", "ri", "sa", "se", "so", "ta", "th", "va", "yo", "zo"};
+    private static final String SURNAMES_KO = "김이박최정강조윤장임한오서신권황안송류전홍고문양손배백허유남심노하곽성차주우구민";
+    private static final String GIVEN_KO = "민서지현수영준호우진하윤은재성예도연시아채원유빈건태주희승혜다경";
+
+    private static long sink;
+
+    @Test
+    void 영문_사용자_이름() {
+        Random random = new Random(7);
+        Set<String> names = new HashSet<>();
+        while (names.size() < KEYS) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int i = 0; i < syllables; i++) {
+                name.append(SYLLABLES_EN[random.nextInt(SYLLABLES_EN.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                name.append(random.nextInt(100));
+            }
+            names.add(name.toString());
+        }
+        run("영문", names, random);
+    }
+
+    @Test
+    void 한글_사용자_이름() {
+        Random random = new Random(7);
+        Set<String> names = new HashSet<>();
+        while (names.size() < KEYS) {
+            StringBuilder name = new StringBuilder().append(SURNAMES_KO.charAt(random.nextInt(SURNAMES_KO.length())));
+            int given = 1 + random.nextInt(3);
+            for (int i = 0; i < given; i++) {
+                name.append(GIVEN_KO.charAt(random.nextInt(GIVEN_KO.length())));
+            }
+            // 같은 이름이 많아 뒤에 글자를 붙여 구분한다
+            if (random.nextBoolean()) {
+                name.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            names.add(HangulUtils.decompose(name.toString()));
+        }
+        run("한글", names, random);
+    }
+
+    private static void run(String label, Set<String> names, Random random) {
+        String[] keys = names.toArray(String[]::new);
+        Arrays.sort(keys);
+
+        String[] queries = new String[WARMUP_QUERIES + QUERIES];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = typo(random, keys[random.nextInt(keys.length)]);
+        }
+
+        long[] nanos = new long[QUERIES];
+        long matches = 0;
+        for (int i = 0; i < queries.length; i++) {
+            String query = queries[i];
+            long started = System.nanoTime();
+            List<FuzzyMatcher.Match> result = FuzzyMatcher.match(keys, query,
+                FuzzyMatcher.allowedDistance(query.length(), MAX_DISTANCE), PREFIX_LENGTH);
+            long elapsed = System.nanoTime() - started;
+            if (i >= WARMUP_QUERIES) {
+                nanos[i - WARMUP_QUERIES] = elapsed;
+                matches += result.size();
+            }
+        }
+        Arrays.sort(nanos);
+
+        long scanStarted = System.nanoTime();
+        for (int i = 0; i < SCAN_QUERIES; i++) {
+            String query = queries[WARMUP_QUERIES + i];
+            int maxDistance = FuzzyMatcher.allowedDistance(query.length(), MAX_DISTANCE);
+            for (String key : keys) {
+                sink += FuzzyMatcher.distance(query, key, maxDistance) <= maxDistance ? 1 : 0;
+            }
+        }
+        long scanNanos = (System.nanoTime() - scanStarted) / SCAN_QUERIES;
+
+        System.out.printf("%s 키 %d개: p50 %.2fms, p99 %.2fms, 최대 %.2fms, 평균 결과 %.1f개 / 전체 비교 %.1fms%n",
+            label, keys.length, nanos[QUERIES / 2] / 1e6, nanos[QUERIES * 99 / 100] / 1e6, nanos[QUERIES - 1] / 1e6,
+            (double) matches / QUERIES, scanNanos / 1e6);
+        System.out.println("(" + sink + ")");
+    }
+
+    // 첫 글자(prefixLength)를 제외한 위치에 삽입/삭제/치환/이웃 바꿈 중 하나
+    private static String typo(Random random, String key) {
+        StringBuilder result = new StringBuilder(key);
+        int at = PREFIX_LENGTH + random.nextInt(Math.max(1, key.length() - PREFIX_LENGTH));
+        char c = key.charAt(random.nextInt(key.length()));
+        switch (random.nextInt(4)) {
+            case 0 -> result.insert(Math.min(at, result.length()), c);
+            case 1 -> {
+                if (at < result.length()) {
+                    result.deleteCharAt(at);
+                }
+            }
+            case 2 -> {
+                if (at < result.length()) {
+                    result.setCharAt(at, c);
+                }
+            }
+            default -> {
+                if (at + 1 < result.length()) {
+                    char first = result.charAt(at);
+                    result.setCharAt(at, result.charAt(at + 1));
+                    result.setCharAt(at + 1, first);
+                }
+            }
+        }
+        return result.toString();
+    }
+}
\ No newline at end of file
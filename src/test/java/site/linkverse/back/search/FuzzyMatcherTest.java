@@ -0,0 +1,181 @@
+package site.linkverse.back.search;
+
+import org.junit.jupiter.api.Test;
+import site.linkverse.back.util.HangulUtils;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyMatcherTest {
+
+    private static String[] sorted(String... keys) {
+        String[] result = keys.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static Map<String, Integer> matches(String[] keys, String query, int maxDistance, int prefixLength) {
+        Map<String, Integer> result = new TreeMap<>();
+        for (FuzzyMatcher.Match match : FuzzyMatcher.match(keys, query, maxDistance, prefixLength)) {
+            result.put(keys[match.position()], match.distance());
+        }
+        return result;
+    }
+
+    // 모든 키와 하나씩 비교한 결과 (match 와 같아야 한다)
+    private static Map<String, Integer> bruteForce(String[] keys, String query, int maxDistance, int prefixLength) {
+        String prefix = query.substring(0, Math.min(prefixLength, query.length()));
+        Map<String, Integer> result = new TreeMap<>();
+        for (String key : keys) {
+            int distance = FuzzyMatcher.distance(query, key, maxDistance);
+            if (key.startsWith(prefix) && distance <= maxDistance) {
+                result.put(key, distance);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void 편집_거리는_삽입_삭제_치환_이웃_바꿈을_한_번으로_센다() {
+        assertEquals(0, FuzzyMatcher.distance("alice", "alice", 2));
+        assertEquals(1, FuzzyMatcher.distance("alice", "alicee", 2));
+        assertEquals(1, FuzzyMatcher.distance("alice", "alce", 2));
+        assertEquals(1, FuzzyMatcher.distance("alice", "alize", 2));
+        assertEquals(1, FuzzyMatcher.distance("alice", "alcie", 2));
+        assertEquals(2, FuzzyMatcher.distance("alice", "lacie", 2));
+        assertEquals(1, FuzzyMatcher.distance("ab", "ba", 2));
+    }
+
+    @Test
+    void 최대_거리를_넘으면_최대_거리_더하기_1() {
+        assertEquals(3, FuzzyMatcher.distance("kitten", "sitting", 2));
+        assertEquals(2, FuzzyMatcher.distance("kitten", "sitting", 1));
+        assertEquals(2, FuzzyMatcher.distance("a", "abcdef", 1));
+        assertEquals(1, FuzzyMatcher.distance("", "a", 0));
+        assertEquals(0, FuzzyMatcher.distance("", "", 0));
+    }
+
+    @Test
+    void 검색어가_짧을수록_허용_거리가_작다() {
+        assertEquals(0, FuzzyMatcher.allowedDistance(2, 2));
+        assertEquals(1, FuzzyMatcher.allowedDistance(3, 2));
+        assertEquals(1, FuzzyMatcher.allowedDistance(7, 2));
+        assertEquals(2, FuzzyMatcher.allowedDistance(8, 2));
+        assertEquals(1, FuzzyMatcher.allowedDistance(8, 1));
+        assertEquals(0, FuzzyMatcher.allowedDistance(8, 0));
+    }
+
+    @Test
+    void 정렬_배열에서_가까운_키와_위치를_찾는다() {
+        String[] keys = sorted("alice", "alicia", "alcie", "alex", "bob", "malice", "al", "alice_kim");
+
+        assertEquals(Map.of("alice", 0, "alcie", 1, "malice", 1), matches(keys, "alice", 1, 0));
+        assertEquals(Map.of("alcie", 0, "alice", 1, "alicia", 2, "malice", 2), matches(keys, "alcie", 2, 0));
+        for (FuzzyMatcher.Match match : FuzzyMatcher.match(keys, "alice", 1, 0)) {
+            assertEquals(match.distance(), FuzzyMatcher.distance("alice", keys[match.position()], 1));
+        }
+    }
+
+    @Test
+    void 접두어_길이만큼은_오타를_허용하지_않는다() {
+        String[] keys = sorted("alice", "malice", "blice", "alise");
+
+        assertEquals(Map.of("alice", 1, "blice", 2, "alise", 0, "malice", 2), matches(keys, "alise", 2, 0));
+        assertEquals(Map.of("alice", 1, "alise", 0), matches(keys, "alise", 2, 1));
+        assertEquals(Map.of(), matches(keys, "zlise", 2, 1));
+    }
+
+    @Test
+    void 한글은_자모로_나누어_한_글자_오타를_찾는다() {
+        String[] keys = new String[]{"김철수", "김철스", "김찰수", "박철수", "김철", "김철수진"};
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = HangulUtils.decompose(keys[i]);
+        }
+        Arrays.sort(keys);
+        String query = HangulUtils.decompose("김철수");
+
+        Map<String, Integer> result = matches(keys, query, 1, 1);
+        assertEquals(Set.of(HangulUtils.decompose("김철수"), HangulUtils.decompose("김철스"), HangulUtils.decompose("김찰수")),
+            result.keySet());
+        assertEquals(0, result.get(query));
+    }
+
+    @Test
+    void 빈_배열과_빈_검색어() {
+        assertEquals(List.of(), FuzzyMatcher.match(new String[0], "alice", 1, 1));
+        assertEquals(Map.of("", 0, "a", 1), matches(sorted("", "a", "ab"), "", 1, 0));
+    }
+
+    @Test
+    void 무작위_키에서_모든_키와_비교한_결과와_같다() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            // 적은 글자로 만들어 공통 접두어와 가까운 키가 많이 생기도록 한다
+            String alphabet = trial % 2 == 0 ? "abc" : "abcdefgh";
+            Set<String> unique = new HashSet<>();
+            int count = 1 + random.nextInt(300);
+            while (unique.size() < count) {
+                unique.add(randomString(random, alphabet, random.nextInt(9)));
+            }
+            String[] keys = unique.toArray(String[]::new);
+            Arrays.sort(keys);
+
+            for (int q = 0; q < 20; q++) {
+                String query = random.nextBoolean()
+                    ? typo(random, keys[random.nextInt(keys.length)], alphabet)
+                    : randomString(random, alphabet, random.nextInt(9));
+                int maxDistance = random.nextInt(3);
+                int prefixLength = random.nextInt(3);
+                assertEquals(bruteForce(keys, query, maxDistance, prefixLength), matches(keys, query, maxDistance, prefixLength),
+                    "query=" + query + ", maxDistance=" + maxDistance + ", prefixLength=" + prefixLength);
+            }
+        }
+    }
+
+    // 길이가 DP 행 배열 초기 크기(16)보다 긴 키
+    @Test
+    void 긴_키도_찾는다() {
+        String longKey = "abcdefghijklmnopqrstuvwxyz0123456789";
+        String[] keys = sorted(longKey, longKey + "x", "abcdefghijklmnopqrstuvwxyz012345678", "abc");
+
+        assertEquals(bruteForce(keys, longKey.replace('q', 'Q'), 2, 1), matches(keys, longKey.replace('q', 'Q'), 2, 1));
+        assertEquals(3, matches(keys, longKey.replace('q', 'Q'), 2, 1).size());
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return result.toString();
+    }
+
+    // 삽입/삭제/치환/이웃 바꿈 중 하나
+    private static String typo(Random random, String key, String alphabet) {
+        StringBuilder result = new StringBuilder(key);
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+        int at = random.nextInt(key.length() + 1);
+        switch (random.nextInt(4)) {
+            case 0 -> result.insert(at, c);
+            case 1 -> {
+                if (at < result.length()) {
+                    result.deleteCharAt(at);
+                }
+            }
+            case 2 -> {
+                if (at < result.length()) {
+                    result.setCharAt(at, c);
+                }
+            }
+            default -> {
+                if (at + 1 < result.length()) {
+                    char first = result.charAt(at);
+                    result.setCharAt(at, result.charAt(at + 1));
+                    result.setCharAt(at + 1, first);
+                }
+            }
+        }
+        return result.toString();
+    }
+}
\ No newline at end of file
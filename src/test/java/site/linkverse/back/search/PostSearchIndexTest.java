@@ -0,0 +1,220 @@
+package site.linkverse.back.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.linkverse.back.enums.VisibilityType;
+import site.linkverse.back.graph.SocialGraph;
+import site.linkverse.back.model.Post;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PostSearchIndexTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.now().minusDays(30);
+
+    @TempDir
+    Path indexDir;
+
+    private final SocialGraph socialGraph = mock(SocialGraph.class);
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex(null, new SimpleMeterRegistry(), socialGraph);
+        ReflectionTestUtils.setField(index, "indexDir", indexDir.toString());
+        ReflectionTestUtils.setField(index, "flushDocs", 1000);
+        ReflectionTestUtils.setField(index, "maxSegments", 10);
+        ReflectionTestUtils.setField(index, "mergeMaxDocs", 500000);
+        ReflectionTestUtils.setField(index, "k1", 1.2);
+        ReflectionTestUtils.setField(index, "b", 0.75);
+        ReflectionTestUtils.setField(index, "recencyWeight", 0.5);
+        ReflectionTestUtils.setField(index, "recencyHalfLifeHours", 72.0);
+        index.init();
+        ReflectionTestUtils.setField(index, "ready", true);
+        when(socialGraph.isReady()).thenReturn(true);
+    }
+
+    private void index(long id, String content) {
+        index(id, content, VisibilityType.PUBLIC, CREATED_AT, false);
+    }
+
+    private void index(long id, String content, VisibilityType visibility, LocalDateTime createdAt, boolean deleted) {
+        index.indexPost(Post.builder()
+            .id(id)
+            .userId(id * 10)
+            .content(content)
+            .visibility(visibility)
+            .createdAt(createdAt)
+            .updatedAt(createdAt)
+            .isDeleted(deleted)
+            .build()).block(Duration.ofSeconds(5));
+    }
+
+    private List<Long> search(String query) {
+        return search(query, null);
+    }
+
+    private List<Long> search(String query, Long viewerId) {
+        return index.search(query, viewerId, 0, 20).block(Duration.ofSeconds(5));
+    }
+
+    // 버퍼를 세그먼트 파일로 쓴다
+    private void flush() {
+        ReflectionTestUtils.invokeMethod(index, "flush");
+    }
+
+    @Test
+    void 용어가_더_자주_나오는_문서가_먼저_나온다() {
+        index(1, "spring boot webflux");
+        index(2, "spring spring boot");
+        index(3, "reactor netty");
+
+        assertEquals(List.of(2L, 1L), search("spring"));
+    }
+
+    @Test
+    void 같은_빈도면_짧은_문서가_먼저_나온다() {
+        index(1, "spring with a long list of other words in the same post");
+        index(2, "spring boot");
+
+        assertEquals(List.of(2L, 1L), search("spring"));
+    }
+
+    @Test
+    void 드문_용어가_점수에_더_크게_반영된다() {
+        // kotlin 은 한 문서에만, java 는 거의 모든 문서에 있다
+        index(1, "java java java kotlin");
+        index(2, "java kotlin kotlin kotlin");
+        for (long id = 10; id < 30; id++) {
+            index(id, "java post " + id);
+        }
+
+        assertEquals(List.of(2L, 1L), search("java kotlin"));
+    }
+
+    @Test
+    void 최근_게시물일수록_점수가_높다() {
+        index(1, "spring boot", VisibilityType.PUBLIC, LocalDateTime.now().minusDays(10), false);
+        index(2, "spring boot", VisibilityType.PUBLIC, LocalDateTime.now().minusHours(1), false);
+
+        assertEquals(List.of(2L, 1L), search("spring"));
+    }
+
+    @Test
+    void 모든_용어가_들어간_문서만_찾는다() {
+        index(1, "spring boot");
+        index(2, "spring webflux");
+        index(3, "boot camp");
+
+        assertEquals(List.of(1L), search("spring boot"));
+        assertEquals(List.of(), search("spring reactor"));
+    }
+
+    @Test
+    void 따옴표로_묶은_구절은_연속된_위치만_찾는다() {
+        index(1, "spring boot guide");
+        index(2, "boot for spring guide");
+        index(3, "spring and boot");
+
+        assertEquals(List.of(1L), search("\"spring boot\""));
+        assertEquals(3, search("spring boot").size());
+        assertEquals(List.of(2L), search("\"boot for spring\" guide"));
+    }
+
+    @Test
+    void 구절은_같은_문서에서_여러_번_나와도_한_곳만_맞으면_된다() {
+        index(1, "boot spring then spring boot");
+        index(2, "boot spring then boot spring");
+
+        assertEquals(List.of(1L), search("\"spring boot\""));
+    }
+
+    @Test
+    void 한글_단어는_bigram_이_이어진_문서만_찾는다() {
+        index(1, "스프링부트 입문");
+        index(2, "부트스프링 입문");
+        index(3, "스프링 부트 입문");
+
+        assertEquals(List.of(1L), search("스프링부트"));
+        assertEquals(3, search("스프링").size());
+    }
+
+    @Test
+    void 한_글자_한글은_색인으로_찾지_않는다() {
+        index(1, "봄 스프링");
+
+        assertNull(search("봄"));
+        assertNull(search("   "));
+    }
+
+    @Test
+    void 세그먼트로_쓴_뒤에도_같은_순서로_찾는다() {
+        index(1, "spring boot webflux");
+        index(2, "spring spring boot");
+        flush();
+        index(3, "spring spring spring");
+
+        assertEquals(List.of(3L, 2L, 1L), search("spring"));
+        assertEquals(List.of(2L, 1L), search("\"spring boot\""));
+    }
+
+    @Test
+    void 수정하거나_삭제한_게시물은_이전_내용으로_찾지_않는다() {
+        index(1, "spring boot");
+        index(2, "spring webflux");
+        flush();
+
+        index(1, "reactor netty", VisibilityType.PUBLIC, CREATED_AT, false);
+        index(2, "spring webflux", VisibilityType.PUBLIC, CREATED_AT, true);
+
+        assertEquals(List.of(), search("spring"));
+        assertEquals(List.of(1L), search("reactor"));
+    }
+
+    @Test
+    void 세그먼트를_합쳐도_지우지_않은_게시물은_그대로_찾는다() {
+        ReflectionTestUtils.setField(index, "maxSegments", 2);
+        for (long id = 1; id <= 5; id++) {
+            index(id, "spring " + "boot ".repeat((int) id));
+            flush();
+        }
+        index(3, "spring boot", VisibilityType.PUBLIC, CREATED_AT, true);
+        flush();
+
+        assertEquals(2, ((List<?>) ReflectionTestUtils.getField(index, "segments")).size());
+        assertEquals(List.of(1L, 2L, 4L, 5L), search("spring").stream().sorted().toList());
+    }
+
+    @Test
+    void 공개_범위는_검색하는_사용자_기준으로_거른다() {
+        index(1, "spring public", VisibilityType.PUBLIC, CREATED_AT, false);
+        index(2, "spring friends", VisibilityType.FRIENDS, CREATED_AT, false);
+        index(3, "spring private", VisibilityType.PRIVATE, CREATED_AT, false);
+        when(socialGraph.isFollowing(100L, 20L)).thenReturn(true);
+
+        assertEquals(List.of(1L), search("spring"));
+        assertEquals(List.of(1L, 2L), search("spring", 100L).stream().sorted().toList());
+        // 작성자 본인은 비공개 게시물도 찾는다
+        assertEquals(List.of(1L, 3L), search("spring", 30L).stream().sorted().toList());
+    }
+
+    @Test
+    void 페이지_구간만_돌려준다() {
+        for (long id = 1; id <= 5; id++) {
+            index(id, "spring " + "boot ".repeat((int) id));
+        }
+
+        List<Long> all = search("spring");
+        assertEquals(5, all.size());
+        assertEquals(all.subList(2, 4), index.search("spring", null, 1, 2).block(Duration.ofSeconds(5)));
+        assertEquals(List.of(), index.search("spring", null, 3, 2).block(Duration.ofSeconds(5)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package site.linkverse.back.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import site.linkverse.back.search.IndexedPost.DocInfo;
+import site.linkverse.back.search.Segment.PostingList;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private static IndexedPost post(long postId, String content) {
+        List<String> tokens = SearchTokenizer.tokenize(content);
+        return new IndexedPost(new DocInfo(postId, postId * 10, 1_700_000_000L + postId, tokens.size(), IndexedPost.PUBLIC), tokens);
+    }
+
+    private static byte[] term(String term) {
+        return term.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void 문서_표는_게시물_ID_순으로_저장한다() {
+        Segment segment = new Segment(1, SegmentWriter.encode(List.of(
+            post(30, "c"), post(10, "a b"), post(20, "b c d"))));
+
+        assertEquals(3, segment.docCount());
+        assertEquals(10, segment.postId(0));
+        assertEquals(20, segment.postId(1));
+        assertEquals(30, segment.postId(2));
+        assertEquals(200, segment.authorId(1));
+        assertEquals(1_700_000_020L, segment.createdAtSeconds(1));
+        assertEquals(3, segment.length(1));
+        assertEquals(IndexedPost.PUBLIC, segment.visibility(1));
+        assertEquals(1, segment.findDoc(20));
+        assertEquals(-1, segment.findDoc(15));
+        assertEquals(6, segment.liveLength());
+    }
+
+    @Test
+    void 용어별_문서와_빈도와_위치를_그대로_읽는다() {
+        Segment segment = new Segment(1, SegmentWriter.encode(List.of(
+            post(1, "spring boot spring"), post(2, "boot"), post(3, "spring webflux"))));
+
+        int spring = segment.findTerm(term("spring"));
+        assertTrue(spring >= 0);
+        assertEquals(2, segment.docFreq(spring));
+        assertArrayEquals(term("spring"), segment.term(spring));
+
+        PostingList postings = segment.postings(spring);
+        assertArrayEquals(new int[]{0, 2}, postings.docs());
+        assertArrayEquals(new int[]{2, 1}, postings.freqs());
+        assertTrue(postings.hasPosition(0, 0));
+        assertTrue(postings.hasPosition(0, 2));
+        assertFalse(postings.hasPosition(0, 1));
+        assertTrue(postings.hasPosition(1, 0));
+        assertEquals(-1, segment.findTerm(term("reactor")));
+    }
+
+    @Test
+    void 용어는_UTF8_바이트_순으로_이진_탐색한다() {
+        Segment segment = new Segment(1, SegmentWriter.encode(List.of(
+            post(1, "zeta alpha 스프링부트 Ünïcode 123"))));
+
+        List<byte[]> terms = new ArrayList<>();
+        for (int i = 0; i < segment.termCount(); i++) {
+            terms.add(segment.term(i));
+        }
+        for (int i = 1; i < terms.size(); i++) {
+            assertTrue(SegmentWriter.TERM_ORDER.compare(terms.get(i - 1), terms.get(i)) < 0);
+        }
+        for (String token : SearchTokenizer.tokenize("zeta alpha 스프링부트 Ünïcode 123")) {
+            assertTrue(segment.findTerm(term(token)) >= 0, token);
+        }
+    }
+
+    @Test
+    void 큰_문서_번호_차이와_위치_차이도_여러_바이트로_읽는다() {
+        List<IndexedPost> posts = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            posts.add(post(id, id == 1 || id == 20_000 ? "needle" : "hay"));
+        }
+        // 위치 차이가 1바이트를 넘는 문서
+        List<String> tokens = new ArrayList<>(Collections.nCopies(70_000, "hay"));
+        tokens.set(5, "needle");
+        tokens.set(69_999, "needle");
+        posts.add(new IndexedPost(new DocInfo(30_000, 1, 0, tokens.size(), IndexedPost.PUBLIC), tokens));
+
+        Segment segment = new Segment(1, SegmentWriter.encode(posts));
+        PostingList postings = segment.postings(segment.findTerm(term("needle")));
+
+        assertArrayEquals(new int[]{0, 19_999, 20_000}, postings.docs());
+        assertArrayEquals(new int[]{1, 1, 2}, postings.freqs());
+        assertTrue(postings.hasPosition(2, 5));
+        assertTrue(postings.hasPosition(2, 69_999));
+        assertEquals(19_999, segment.docFreq(segment.findTerm(term("hay"))));
+    }
+
+    @Test
+    void 용어를_오름차순으로_넣지_않으면_실패한다() {
+        SegmentWriter writer = new SegmentWriter(List.of(new DocInfo(1, 1, 0, 2, IndexedPost.PUBLIC)));
+        writer.addTerm(term("b"), new int[]{0}, new int[]{1}, new int[]{0});
+
+        assertThrows(IllegalStateException.class,
+            () -> writer.addTerm(term("a"), new int[]{0}, new int[]{1}, new int[]{1}));
+    }
+
+    @Test
+    void 삭제_표시를_저장하고_다시_읽는다() throws Exception {
+        List<IndexedPost> posts = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            posts.add(post(id, "word " + id));
+        }
+        Segment segment = new Segment(1, SegmentWriter.encode(posts));
+        assertTrue(segment.liveDocs().delete(3, segment.length(3)));
+        assertTrue(segment.liveDocs().delete(130, segment.length(130)));
+        assertFalse(segment.liveDocs().delete(3, segment.length(3)));
+        assertEquals(198, segment.liveDocCount());
+        assertEquals(396, segment.liveLength());
+        assertTrue(segment.liveDocs().isDirty());
+
+        Path deletes = directory.resolve("1.del");
+        segment.liveDocs().save(deletes);
+        assertFalse(segment.liveDocs().isDirty());
+
+        Segment reopened = new Segment(1, SegmentWriter.encode(posts));
+        reopened.loadDeletes(deletes);
+        assertFalse(reopened.isLive(3));
+        assertFalse(reopened.isLive(130));
+        assertTrue(reopened.isLive(4));
+        assertEquals(198, reopened.liveDocCount());
+        assertEquals(396, reopened.liveLength());
+        assertFalse(reopened.liveDocs().isDirty());
+    }
+
+    @Test
+    void 형식이_다른_버퍼는_열지_않는다() {
+        assertThrows(IllegalStateException.class, () -> new Segment(1, ByteBuffer.allocate(64)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Recommend 피드 순위 계산 벤치마크 (./gradlew benchmark)
+ *
+ * 최근 72시간 후보 100만 개(작성자 5만 명)를 FeedRankingService.rescore 로 점수를 매기고 상위 5000 개를 고르는 시간을 잰다.
+ * 직전 계산 결과가 있는 경우(후보의 90% 가 직전 후보에 있다)와 없는 경우를 나누고,
+ * 비교용으로 같은 점수 배열을 전체 정렬해서 상위 N 개를 고른 시간도 출력한다.
+ */
+@Tag("benchmark")
+class FeedRankingBenchmark {
+    private static final int CANDIDATES = 1_000_000;
+    private static final int AUTHORS = 50_000;
+    private static final int TOP_N = 5_000;
+    private static final int WINDOW_HOURS = 72;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    private static long sink;
+
+    @Test
+    void 후보_100만_개_점수_계산() {
+        DecayFeedScorer scorer = new DecayFeedScorer();
+        ReflectionTestUtils.setField(scorer, "halfLifeHours", 12.0);
+        ReflectionTestUtils.setField(scorer, "likeWeight", 1.0);
+        ReflectionTestUtils.setField(scorer, "commentWeight", 2.0);
+        ReflectionTestUtils.setField(scorer, "affinityWeight", 0.5);
+        FeedRankingService service = new FeedRankingService(null, scorer, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "topN", TOP_N);
+        service.registerMetrics();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowStart = now.minusHours(WINDOW_HOURS);
+        Random random = new Random(10);
+
+        // 직전 후보: 앞쪽 10% 는 이번에 기간 밖으로 빠지고, 이번 후보는 뒤에 새 게시물 10% 가 붙는다
+        int dropped = CANDIDATES / 10;
+        FeedRankingService.Candidates previous = new FeedRankingService.Candidates(windowStart.minusMinutes(1));
+        FeedRankingService.Candidates current = new FeedRankingService.Candidates(windowStart);
+        long windowSeconds = WINDOW_HOURS * 3600L;
+        for (int i = 0; i < CANDIDATES + dropped; i++) {
+            long postId = 1_000_000L + i;
+            Long authorId = 1 + (long) random.nextInt(AUTHORS);
+            LocalDateTime createdAt = windowStart.plusSeconds(windowSeconds * i / (CANDIDATES + dropped));
+            // 반응 수는 대부분 적고 일부만 많다
+            long likes = (long) (Math.pow(random.nextDouble(), 4) * 500);
+            long comments = likes / 5 + random.nextInt(3);
+            if (i < CANDIDATES) {
+                previous.add(postId, authorId, createdAt, likes, comments);
+            }
+            if (i >= dropped) {
+                current.add(postId, authorId, createdAt, likes + random.nextInt(10), comments + random.nextInt(2));
+            }
+        }
+
+        run("직전 후보 있음", () -> service.rescore(current, previous, now));
+        run("직전 후보 없음", () -> service.rescore(current, null, now));
+
+        // 비교: 점수 배열 전체를 정렬해서 상위 N 개
+        FeedRankingService.Ranking ranking = service.rescore(current, previous, now);
+        double[] scores = new double[CANDIDATES];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextDouble() * ranking.scores()[0];
+        }
+        long[] heapNanos = new long[ROUNDS];
+        long[] sortNanos = new long[ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long started = System.nanoTime();
+            int[] top = FeedRankingService.selectTop(scores, TOP_N);
+            long heap = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            Integer[] order = new Integer[scores.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            long sort = System.nanoTime() - started;
+
+            sink += top[0] + order[0];
+            if (round >= WARMUP_ROUNDS) {
+                heapNanos[round - WARMUP_ROUNDS] = heap;
+                sortNanos[round - WARMUP_ROUNDS] = sort;
+            }
+        }
+        Arrays.sort(heapNanos);
+        Arrays.sort(sortNanos);
+        System.out.printf("상위 %d개 선택: 힙 p50 %.1fms / 전체 정렬 p50 %.1fms%n",
+            TOP_N, heapNanos[ROUNDS / 2] / 1e6, sortNanos[ROUNDS / 2] / 1e6);
+        System.out.println("(" + sink + ")");
+    }
+
+    private static void run(String label, Supplier<FeedRankingService.Ranking> rescore) {
+        long[] nanos = new long[ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long started = System.nanoTime();
+            FeedRankingService.Ranking ranking = rescore.get();
+            long elapsed = System.nanoTime() - started;
+            sink += ranking.postIds()[0];
+            if (round >= WARMUP_ROUNDS) {
+                nanos[round - WARMUP_ROUNDS] = elapsed;
+            }
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%s, 후보 %d개 -> 상위 %d개: p50 %.1fms, 최대 %.1fms%n",
+            label, CANDIDATES, TOP_N, nanos[ROUNDS / 2] / 1e6, nanos[ROUNDS - 1] / 1e6);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.enums.LikeTargetType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LikeWriteBufferTest {
+    private static final LikeWriteBuffer.LikeKey POST_1 = new LikeWriteBuffer.LikeKey(1L, LikeTargetType.POST, 10L);
+    private static final LikeWriteBuffer.LikeKey POST_2 = new LikeWriteBuffer.LikeKey(1L, LikeTargetType.POST, 20L);
+    private static final LikeWriteBuffer.LikeKey COMMENT_1 = new LikeWriteBuffer.LikeKey(2L, LikeTargetType.COMMENT, 30L);
+
+    @TempDir
+    Path journalDir;
+
+    private final EngagementIndexService engagementIndexService = mock(EngagementIndexService.class);
+    private final StatsCounterService statsCounterService = mock(StatsCounterService.class);
+    private final List<RecordingBuffer> buffers = new ArrayList<>();
+
+    // DB 대신 반영한 묶음을 기록한다
+    private class RecordingBuffer extends LikeWriteBuffer {
+        final List<Map<LikeKey, PendingLike>> written = new ArrayList<>();
+        final CompletableFuture<Map<LikeKey, PendingLike>> firstWrite = new CompletableFuture<>();
+        RuntimeException failure;
+        Set<LikeKey> dropped = Set.of();
+
+        RecordingBuffer(String journalDir) {
+            super(null, null, engagementIndexService, statsCounterService, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(this, "capacity", 100);
+            ReflectionTestUtils.setField(this, "journalDir", journalDir);
+            init();
+            buffers.add(this);
+        }
+
+        @Override
+        Mono<Set<LikeKey>> write(Map<LikeKey, PendingLike> batch) {
+            if (failure != null) {
+                return Mono.error(failure);
+            }
+            written.add(new HashMap<>(batch));
+            firstWrite.complete(batch);
+            return Mono.just(dropped);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffers.forEach(LikeWriteBuffer::close);
+    }
+
+    private static LikeWriteBuffer.Transition submit(LikeWriteBuffer buffer, LikeWriteBuffer.LikeKey key, Boolean liked, boolean stored) {
+        return buffer.submit(key, liked, stored).block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void 토글은_대기_중인_상태를_기준으로_뒤집는다() {
+        RecordingBuffer buffer = new RecordingBuffer("");
+
+        // 호출하는 쪽이 읽은 반영 상태(stored)는 둘 다 false 지만 두 번째 토글은 대기 중인 좋아요를 취소한다
+        LikeWriteBuffer.Transition first = submit(buffer, POST_1, null, false);
+        LikeWriteBuffer.Transition second = submit(buffer, POST_1, null, false);
+
+        assertTrue(first.changed());
+        assertTrue(first.after());
+        assertTrue(second.changed());
+        assertFalse(second.after());
+        assertEquals(Optional.of(false), buffer.state(POST_1));
+    }
+
+    @Test
+    void 같은_상태_요청은_바뀐_것이_없다() {
+        RecordingBuffer buffer = new RecordingBuffer("");
+
+        submit(buffer, POST_1, true, false);
+        LikeWriteBuffer.Transition again = submit(buffer, POST_1, true, false);
+
+        assertFalse(again.changed());
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    void 가득_차면_새_대상은_받지_않는다() {
+        RecordingBuffer buffer = new RecordingBuffer("");
+        ReflectionTestUtils.setField(buffer, "capacity", 1);
+
+        assertNotNull(submit(buffer, POST_1, true, false));
+        assertNull(submit(buffer, POST_2, true, false));
+        // 이미 대기 중인 대상은 받는다
+        assertNotNull(submit(buffer, POST_1, false, false));
+    }
+
+    @Test
+    void flush_는_대상별_마지막_상태만_쓰고_좋아요_목록에_맞춘다() {
+        RecordingBuffer buffer = new RecordingBuffer("");
+        submit(buffer, POST_1, true, false);
+        submit(buffer, POST_1, false, false);
+        submit(buffer, POST_1, true, false);
+        submit(buffer, POST_2, false, true);
+
+        buffer.flush().block(Duration.ofSeconds(5));
+
+        assertEquals(1, buffer.written.size());
+        Map<LikeWriteBuffer.LikeKey, LikeWriteBuffer.PendingLike> batch = buffer.written.get(0);
+        assertEquals(2, batch.size());
+        assertTrue(batch.get(POST_1).liked());
+        assertFalse(batch.get(POST_2).liked());
+        assertEquals(0, buffer.size());
+        assertEquals(Optional.empty(), buffer.state(POST_1));
+        verify(engagementIndexService).added(1L, EngagementIndexService.Kind.LIKED_POSTS, 10L);
+        verify(engagementIndexService).removed(1L, EngagementIndexService.Kind.LIKED_POSTS, 20L);
+    }
+
+    @Test
+    void 삭제된_대상의_좋아요는_카운터와_좋아요_목록을_되돌린다() {
+        RecordingBuffer buffer = new RecordingBuffer("");
+        buffer.dropped = Set.of(COMMENT_1);
+        submit(buffer, COMMENT_1, true, false);
+
+        buffer.flush().block(Duration.ofSeconds(5));
+
+        verify(statsCounterService).decrement(StatsCounterService.Counter.COMMENT_LIKES, 30L);
+        verify(engagementIndexService).removed(2L, EngagementIndexService.Kind.LIKED_COMMENTS, 30L);
+        verify(engagementIndexService, never()).added(anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void 반영에_실패하면_그_사이_바뀌지_않은_상태만_다시_대기한다() {
+        RecordingBuffer buffer = new RecordingBuffer("");
+        submit(buffer, POST_1, true, false);
+        submit(buffer, POST_2, true, false);
+        buffer.failure = new RuntimeException("DB 오류");
+
+        buffer.flush().block(Duration.ofSeconds(5));
+
+        assertEquals(2, buffer.size());
+        assertEquals(Optional.of(true), buffer.state(POST_1));
+
+        buffer.failure = null;
+        buffer.flush().block(Duration.ofSeconds(5));
+        assertEquals(Set.of(POST_1, POST_2), buffer.written.get(0).keySet());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void 반영하지_못한_저널은_다음_기동_때_다시_반영한다() throws Exception {
+        when(statsCounterService.reconcile()).thenReturn(Mono.empty());
+
+        // 종료할 때도 반영에 실패한 실행
+        RecordingBuffer crashed = new RecordingBuffer(journalDir.toString());
+        crashed.failure = new RuntimeException("DB 오류");
+        submit(crashed, POST_1, true, false);
+        submit(crashed, POST_1, false, false);
+        submit(crashed, POST_2, true, false);
+        submit(crashed, COMMENT_1, true, false);
+        crashed.close();
+        buffers.remove(crashed);
+        try (var files = Files.list(journalDir)) {
+            assertFalse(files.toList().isEmpty());
+        }
+
+        RecordingBuffer restarted = new RecordingBuffer(journalDir.toString());
+        // 기동 후 새로 받은 상태가 저널보다 우선한다
+        submit(restarted, COMMENT_1, false, true);
+        restarted.replayJournal();
+
+        Map<LikeWriteBuffer.LikeKey, LikeWriteBuffer.PendingLike> replayed = restarted.firstWrite.get(5, TimeUnit.SECONDS);
+        assertEquals(Set.of(POST_1, POST_2), replayed.keySet());
+        assertFalse(replayed.get(POST_1).liked());
+        assertTrue(replayed.get(POST_2).liked());
+        verify(statsCounterService, timeout(5_000)).reconcile();
+        // 좋아요 목록도 flush 와 같이 맞춘다
+        verify(engagementIndexService).added(1L, EngagementIndexService.Kind.LIKED_POSTS, 20L);
+        verify(engagementIndexService).removed(1L, EngagementIndexService.Kind.LIKED_POSTS, 10L);
+        verify(engagementIndexService, never()).removed(2L, EngagementIndexService.Kind.LIKED_COMMENTS, 30L);
+    }
+}
@@ -0,0 +1,197 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.enums.MediaType;
+import site.linkverse.back.model.Media;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 게시물 미디어/해시태그 저장 벤치마크 (./gradlew benchmark)
+ *
+ * 이미지 10개 + 해시태그 10개인 게시물을 항목별 저장(예전 save() / findByName 방식)과 PostAttachmentWriter 로 저장해
+ * 게시물당 문장 수와 응답 시간을 비교한다. 해시태그가 모두 있는 경우와 모두 새 해시태그인 경우를 나눈다.
+ * DB 없이 문장마다 왕복 시간(ROUND_TRIP)을 더하고, 트랜잭션 안의 문장은 한 커넥션에서 차례로 실행되므로 순서대로 보낸다.
+ */
+@Tag("benchmark")
+class PostAttachmentWriterBenchmark {
+    private static final int MEDIA = 10;
+    private static final int HASHTAGS = 10;
+    private static final int POSTS = 200;
+    private static final int WARMUP_POSTS = 50;
+    private static final Duration ROUND_TRIP = Duration.ofNanos(300_000);
+
+    private static long sink;
+
+    // 실행한 문장 수를 세고, hashtags 테이블만 메모리에 두는 DatabaseClient (문장마다 ROUND_TRIP 뒤에 결과를 돌려준다)
+    private static class FakeDatabase {
+        final Map<String, Long> hashtags = new HashMap<>();
+        final DatabaseClient client = proxy(DatabaseClient.class, (method, args) -> statement((String) args[0]));
+        long statements;
+
+        @SuppressWarnings("unchecked")
+        private DatabaseClient.GenericExecuteSpec statement(String sql) {
+            Map<String, Object> bindings = new HashMap<>();
+            FetchSpec<?> fetch = proxy(FetchSpec.class, (method, args) -> execute(() -> update(sql, bindings)));
+            DatabaseClient.GenericExecuteSpec[] spec = new DatabaseClient.GenericExecuteSpec[1];
+            spec[0] = proxy(DatabaseClient.GenericExecuteSpec.class, (method, args) -> switch (method) {
+                case "bind" -> {
+                    bindings.put((String) args[0], args[1]);
+                    yield spec[0];
+                }
+                case "fetch" -> fetch;
+                case "map" -> {
+                    BiFunction<Row, RowMetadata, ?> mapper = (BiFunction<Row, RowMetadata, ?>) args[0];
+                    yield proxy(RowsFetchSpec.class, (rowsMethod, rowsArgs) -> execute(() -> select(bindings))
+                        .flatMapIterable(result -> result)
+                        .map(entry -> mapper.apply(row(entry), null)));
+                }
+                default -> throw new UnsupportedOperationException(method);
+            });
+            return spec[0];
+        }
+
+        // hashtags 의 한 행 (id, name)
+        private static Row row(Map.Entry<Long, String> entry) {
+            return proxy(Row.class, (method, args) -> "id".equals(args[0]) ? entry.getKey() : entry.getValue());
+        }
+
+        private <T> Mono<T> execute(Callable<T> result) {
+            return Mono.delay(ROUND_TRIP)
+                .then(Mono.fromCallable(() -> {
+                    statements++;
+                    return result.call();
+                }));
+        }
+
+        private long update(String sql, Map<String, Object> bindings) {
+            if (sql.startsWith("INSERT INTO hashtags")) {
+                bindings.values().forEach(name -> hashtags.putIfAbsent((String) name, hashtags.size() + 1L));
+            }
+            return bindings.size();
+        }
+
+        private List<Map.Entry<Long, String>> select(Map<String, Object> bindings) {
+            Collection<?> names = bindings.containsKey("names")
+                ? (Collection<?>) bindings.get("names")
+                : List.of(bindings.get("name"));
+            List<Map.Entry<Long, String>> result = new ArrayList<>();
+            for (Object name : names) {
+                Long id = hashtags.get((String) name);
+                if (id != null) {
+                    result.add(Map.entry(id, (String) name));
+                }
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, BiFunction<String, Object[], Object> handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (instance, method, args) -> handler.apply(method.getName(), args));
+        }
+    }
+
+    @Test
+    void 항목별_저장과_일괄_저장() {
+        for (boolean newHashtags : new boolean[]{false, true}) {
+            String label = newHashtags ? "새 해시태그" : "있는 해시태그";
+
+            FakeDatabase individual = new FakeDatabase();
+            run(label + ", 항목별 저장", individual, newHashtags, post -> saveIndividually(individual, post));
+
+            FakeDatabase batched = new FakeDatabase();
+            PostAttachmentWriter writer = new PostAttachmentWriter(batched.client,
+                new HashtagDictionary(batched.client, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+            writer.registerMetrics();
+            run(label + ", 일괄 저장", batched, newHashtags, post ->
+                writer.insertMedia(post.media()).then(writer.linkHashtags(post.postId(), post.hashtags())));
+        }
+        System.out.println("(" + sink + ")");
+    }
+
+    private record PostAttachments(Long postId, List<Media> media, List<String> hashtags) {
+    }
+
+    private static void run(String label, FakeDatabase database, boolean newHashtags,
+                            Function<PostAttachments, Mono<Void>> save) {
+        long[] nanos = new long[POSTS];
+        long statements = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < WARMUP_POSTS + POSTS; i++) {
+            long postId = i + 1;
+            List<Media> media = new ArrayList<>();
+            List<String> hashtags = new ArrayList<>();
+            for (int j = 0; j < MEDIA; j++) {
+                media.add(Media.builder().postId(postId).mediaType(MediaType.IMAGE)
+                    .url("https://cdn.linkverse.site/" + postId + "/" + j + ".jpg").createdAt(now).build());
+            }
+            for (int j = 0; j < HASHTAGS; j++) {
+                // 있는 해시태그는 워밍업 동안 만들어진 20개 중에서 고른다
+                hashtags.add(newHashtags ? "tag" + postId + "_" + j : "tag" + (i + j) % 20);
+            }
+
+            long statementsBefore = database.statements;
+            long started = System.nanoTime();
+            save.apply(new PostAttachments(postId, media, hashtags)).block(Duration.ofSeconds(10));
+            long elapsed = System.nanoTime() - started;
+            if (i >= WARMUP_POSTS) {
+                nanos[i - WARMUP_POSTS] = elapsed;
+                statements += database.statements - statementsBefore;
+            }
+        }
+        Arrays.sort(nanos);
+        sink += database.hashtags.size();
+        System.out.printf("%s (미디어 %d개, 해시태그 %d개, 왕복 %.1fms): 게시물당 문장 %.1f개, p50 %.2fms, p99 %.2fms%n",
+            label, MEDIA, HASHTAGS, ROUND_TRIP.toNanos() / 1e6, (double) statements / POSTS,
+            nanos[POSTS / 2] / 1e6, nanos[POSTS * 99 / 100] / 1e6);
+    }
+
+    // 예전 방식: 미디어마다 INSERT, 해시태그마다 이름 조회 + (없으면) INSERT + post_hashtags INSERT
+    private static Mono<Void> saveIndividually(FakeDatabase database, PostAttachments post) {
+        DatabaseClient client = database.client;
+        Mono<Void> media = Flux.fromIterable(post.media())
+            .concatMap(item -> client.sql("INSERT INTO media (post_id, media_type, url, created_at) " +
+                    "VALUES (:postId, :mediaType, :url, :createdAt)")
+                .bind("postId", item.getPostId())
+                .bind("mediaType", item.getMediaType().name())
+                .bind("url", item.getUrl())
+                .bind("createdAt", item.getCreatedAt())
+                .fetch().rowsUpdated())
+            .then();
+
+        Mono<Void> hashtags = Flux.fromIterable(post.hashtags())
+            .concatMap(name -> client.sql("SELECT id, name FROM hashtags WHERE name = :name")
+                .bind("name", name)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .all()
+                .next()
+                // save() 는 생성된 키를 INSERT 응답으로 받으므로 ID 를 얻는 데 문장이 더 들지 않는다
+                .switchIfEmpty(Mono.defer(() -> client.sql("INSERT INTO hashtags (name) VALUES (:name)")
+                    .bind("name", name)
+                    .fetch().rowsUpdated()
+                    .then(Mono.fromCallable(() -> database.hashtags.get(name)))))
+                .flatMap(hashtagId -> client.sql("INSERT INTO post_hashtags (post_id, hashtag_id) VALUES (:postId, :hashtagId)")
+                    .bind("postId", post.postId())
+                    .bind("hashtagId", hashtagId)
+                    .fetch().rowsUpdated()))
+            .then();
+
+        return media.then(hashtags);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package site.linkverse.back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.linkverse.back.enums.VisibilityType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostContentCacheTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private PostContentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PostContentCache(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maximumBytes", 1_000_000L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        cache.initCache();
+    }
+
+    private static PostContentCache.CachedPost post(String content, LocalDateTime updatedAt) {
+        return new PostContentCache.CachedPost(1L, 10L, content, null, VisibilityType.PUBLIC,
+            CREATED_AT, updatedAt, List.of(), List.of());
+    }
+
+    @Test
+    void 수정_전에_읽은_내용은_무효화한_뒤에_넣어도_들어가지_않는다() {
+        LocalDateTime editedAt = CREATED_AT.plusMinutes(5);
+        cache.put(post("수정 전", CREATED_AT));
+
+        cache.invalidate(1L, editedAt);
+        // 수정 전에 읽기 시작한 요청이 늦게 넣는 경우
+        cache.put(post("수정 전", CREATED_AT));
+
+        assertEquals(Optional.empty(), cache.get(1L));
+    }
+
+    @Test
+    void 수정한_버전은_DB_가_초_단위로_잘라도_넣는다() {
+        LocalDateTime editedAt = CREATED_AT.plusMinutes(5).plusNanos(123_456_789);
+        cache.invalidate(1L, editedAt);
+
+        cache.put(post("수정 후", editedAt.withNano(0)));
+
+        assertEquals("수정 후", cache.get(1L).map(PostContentCache.CachedPost::content).orElse(null));
+    }
+
+    @Test
+    void 더_오래된_버전으로_무효화해도_최신_버전을_유지한다() {
+        cache.invalidate(1L, CREATED_AT.plusMinutes(10));
+        cache.invalidate(1L, CREATED_AT.plusMinutes(5));
+
+        cache.put(post("중간 수정", CREATED_AT.plusMinutes(5)));
+
+        assertFalse(cache.contains(1L));
+    }
+}
\ No newline at end of file
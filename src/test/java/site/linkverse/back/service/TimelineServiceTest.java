@@ -0,0 +1,206 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.linkverse.back.graph.SocialGraph;
+import site.linkverse.back.model.Post;
+import site.linkverse.back.repository.FollowRepository;
+import site.linkverse.back.repository.PostRepository;
+import site.linkverse.back.util.PageCursor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TimelineServiceTest {
+    private static final long USER = 1L;
+    private static final long PULLED_A = 100L;
+    private static final long PULLED_B = 200L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final Comparator<Post> NEWEST_FIRST = Comparator
+        .comparing(Post::getCreatedAt, Comparator.reverseOrder())
+        .thenComparing(Post::getId, Comparator.reverseOrder());
+
+    private final DatabaseClient databaseClient = mock(DatabaseClient.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final SocialGraph socialGraph = mock(SocialGraph.class);
+    private TimelineService timelineService;
+
+    // 배포된 피드 (timelines) 와 병합 대상 작성자의 게시물
+    private final List<Post> inbox = new ArrayList<>();
+    private final Map<Long, List<Post>> authored = new HashMap<>();
+
+    private static Post post(long id, long authorId, int seconds) {
+        return Post.builder().id(id).userId(authorId).content("post " + id).createdAt(BASE.plusSeconds(seconds)).build();
+    }
+
+    private static List<Long> ids(List<Post> posts) {
+        return posts.stream().map(Post::getId).toList();
+    }
+
+    // 저장소 쿼리와 같은 조건: 커서 이전을 최신순으로 limit 개
+    private static Flux<Post> before(List<Post> posts, LocalDateTime createdAt, Long id, int limit) {
+        return Flux.fromIterable(posts.stream()
+            .filter(post -> post.getCreatedAt().isBefore(createdAt)
+                || (post.getCreatedAt().equals(createdAt) && post.getId() < id))
+            .sorted(NEWEST_FIRST)
+            .limit(limit)
+            .toList());
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        timelineService = new TimelineService(databaseClient, postRepository, mock(FollowRepository.class), socialGraph,
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(timelineService, "fanOutConcurrency", 1);
+        timelineService.startFanOutWorker();
+
+        // 이미 과거 게시물로 채운 사용자
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Object> rows = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(anyString())).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(BiFunction.class))).thenReturn(rows);
+        when(rows.first()).thenReturn(Mono.just(true));
+
+        when(socialGraph.isReady()).thenReturn(true);
+        when(socialGraph.isFollowing(eq(USER), anyLong())).thenReturn(true);
+
+        when(postRepository.findTimelinePosts(eq(USER), anyInt(), anyLong())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(1);
+            long offset = invocation.getArgument(2);
+            return Flux.fromIterable(inbox.stream().sorted(NEWEST_FIRST).skip(offset).limit(limit).toList());
+        });
+        when(postRepository.findTimelinePostsBefore(eq(USER), any(), anyLong(), anyInt())).thenAnswer(invocation ->
+            before(inbox, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        when(postRepository.findByUserIdBefore(anyLong(), eq(USER), any(), anyLong(), anyInt())).thenAnswer(invocation ->
+            before(authored.getOrDefault(invocation.<Long>getArgument(0), List.of()),
+                invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pull(Long... authorIds) {
+        Set<Long> pulledAuthors = (Set<Long>) ReflectionTestUtils.getField(timelineService, "pulledAuthors");
+        pulledAuthors.addAll(List.of(authorIds));
+    }
+
+    // 배포된 게시물 60개 + 병합 대상 작성자 두 명의 게시물 (시각이 겹치고, 일부는 병합 대상이 되기 전에 배포되어 양쪽에 있다)
+    private List<Post> mixedTimeline() {
+        Random random = new Random(3);
+        Map<Long, Post> expected = new HashMap<>();
+        for (long id = 1; id <= 60; id++) {
+            Post post = post(id, 2 + id % 5, random.nextInt(40));
+            inbox.add(post);
+            expected.put(id, post);
+        }
+        for (long id = 61; id <= 100; id++) {
+            long authorId = id % 2 == 0 ? PULLED_A : PULLED_B;
+            Post post = post(id, authorId, random.nextInt(40));
+            authored.computeIfAbsent(authorId, key -> new ArrayList<>()).add(post);
+            if (id % 5 == 0) {
+                inbox.add(post);
+            }
+            expected.put(id, post);
+        }
+        pull(PULLED_A, PULLED_B);
+        return expected.values().stream().sorted(NEWEST_FIRST).toList();
+    }
+
+    @Test
+    void 여러_목록을_최신순으로_병합하고_같은_시각은_id_역순() {
+        List<Post> a = List.of(post(5, 2, 30), post(3, 2, 20), post(1, 2, 10));
+        List<Post> b = List.of(post(6, 3, 30), post(4, 3, 20), post(2, 3, 5));
+        List<Post> c = List.of(post(7, 4, 20));
+
+        assertEquals(List.of(6L, 5L, 7L, 4L, 3L, 1L, 2L), ids(TimelineService.mergeByCreatedAt(List.of(a, b, c), 0, 10)));
+    }
+
+    @Test
+    void 양쪽_목록에_있는_게시물은_한_번만_넣는다() {
+        List<Post> inboxPosts = List.of(post(3, 2, 30), post(2, 100, 20), post(1, 2, 10));
+        List<Post> pulled = List.of(post(4, 100, 40), post(2, 100, 20));
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(TimelineService.mergeByCreatedAt(List.of(inboxPosts, pulled), 0, 10)));
+    }
+
+    @Test
+    void 건너뛸_개수와_최대_개수만큼_자른다() {
+        List<Post> a = List.of(post(6, 2, 60), post(4, 2, 40), post(2, 2, 20));
+        List<Post> b = List.of(post(5, 3, 50), post(4, 2, 40), post(3, 3, 30), post(1, 3, 10));
+
+        assertEquals(List.of(4L, 3L), ids(TimelineService.mergeByCreatedAt(List.of(a, b), 2, 2)));
+        assertEquals(List.of(1L), ids(TimelineService.mergeByCreatedAt(List.of(a, b), 5, 10)));
+        assertEquals(List.of(), ids(TimelineService.mergeByCreatedAt(List.of(a, b), 6, 10)));
+        assertEquals(List.of(), ids(TimelineService.mergeByCreatedAt(List.of(List.of(), List.of()), 0, 10)));
+    }
+
+    @Test
+    void 커서로_끝까지_넘기면_빠지거나_겹치는_게시물이_없다() {
+        List<Post> expected = mixedTimeline();
+
+        for (int size : new int[]{1, 7, 20, 100}) {
+            List<Post> seen = new ArrayList<>();
+            PageCursor cursor = null;
+            while (true) {
+                List<Post> page = timelineService.getTimelinePostsBefore(USER, cursor, size)
+                    .collectList().block(Duration.ofSeconds(5));
+                seen.addAll(page);
+                String next = PageCursor.next(page, size, Post::getCreatedAt, Post::getId);
+                if (next == null) {
+                    break;
+                }
+                cursor = PageCursor.decode(next);
+            }
+            assertEquals(ids(expected), ids(seen), "size=" + size);
+        }
+    }
+
+    @Test
+    void 페이지_번호로_조회해도_같은_순서() {
+        List<Post> expected = mixedTimeline();
+
+        int size = 9;
+        List<Post> seen = new ArrayList<>();
+        for (int page = 0; page * size < expected.size() + size; page++) {
+            seen.addAll(timelineService.getTimelinePosts(USER, page, size).collectList().block(Duration.ofSeconds(5)));
+        }
+        assertEquals(ids(expected), ids(seen));
+    }
+
+    @Test
+    void 팔로우하지_않는_병합_대상_작성자의_게시물은_넣지_않는다() {
+        List<Post> expected = mixedTimeline();
+        when(socialGraph.isFollowing(USER, PULLED_B)).thenReturn(false);
+
+        List<Post> page = timelineService.getTimelinePostsBefore(USER, null, 200).collectList().block(Duration.ofSeconds(5));
+
+        // B 의 게시물은 배포된 것만 남는다
+        List<Long> withoutB = expected.stream()
+            .filter(post -> post.getUserId() != PULLED_B || inbox.contains(post))
+            .map(Post::getId)
+            .toList();
+        assertEquals(withoutB, ids(page));
+    }
+
+    @Test
+    void 병합_대상_작성자가_없으면_배포된_피드만_읽는다() {
+        inbox.add(post(1, 2, 10));
+        inbox.add(post(2, 3, 10));
+
+        assertEquals(List.of(2L, 1L), ids(timelineService.getTimelinePosts(USER, 0, 10).collectList().block(Duration.ofSeconds(5))));
+        verify(postRepository).findTimelinePosts(USER, 10, 0L);
+        verify(postRepository, never()).findByUserIdBefore(anyLong(), anyLong(), any(), anyLong(), anyInt());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package site.linkverse.back.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingHashtagServiceTest {
+
+    private static TrendingHashtagService service(int candidates) {
+        TrendingHashtagService service = new TrendingHashtagService(null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "bucketSeconds", 300L);
+        ReflectionTestUtils.setField(service, "windowHours", 24);
+        ReflectionTestUtils.setField(service, "halfLifeHours", 6.0);
+        ReflectionTestUtils.setField(service, "depth", 4);
+        ReflectionTestUtils.setField(service, "width", 1024);
+        ReflectionTestUtils.setField(service, "candidateCapacity", candidates);
+        service.init();
+        return service;
+    }
+
+    private static void use(TrendingHashtagService service, long hashtagId, int times, LocalDateTime createdAt) {
+        for (int i = 0; i < times; i++) {
+            service.record(List.of(hashtagId), createdAt);
+        }
+    }
+
+    @Test
+    void 사용_횟수가_많은_순서로_돌려준다() {
+        TrendingHashtagService service = service(200);
+        LocalDateTime now = LocalDateTime.now();
+        use(service, 1, 3, now);
+        use(service, 2, 10, now);
+        use(service, 3, 5, now);
+
+        assertEquals(List.of(2L, 3L, 1L), service.getTrending(10));
+        assertEquals(List.of(2L, 3L), service.getTrending(2));
+    }
+
+    @Test
+    void 오래된_사용은_반감기만큼_줄어든다() {
+        TrendingHashtagService service = service(200);
+        LocalDateTime now = LocalDateTime.now();
+        // 12시간 전 10번 (반감기 6시간이라 약 2.5) < 지금 4번
+        use(service, 1, 10, now.minusHours(12));
+        use(service, 2, 4, now);
+        // 3시간 전 10번 (약 7.1) > 지금 4번
+        use(service, 3, 10, now.minusHours(3));
+
+        assertEquals(List.of(3L, 2L, 1L), service.getTrending(10));
+    }
+
+    @Test
+    void 기간_밖의_사용은_세지_않는다() {
+        TrendingHashtagService service = service(200);
+        LocalDateTime now = LocalDateTime.now();
+        use(service, 1, 100, now.minusHours(25));
+        use(service, 2, 1, now);
+
+        assertEquals(List.of(2L), service.getTrending(10));
+    }
+
+    @Test
+    void 한_게시물의_같은_해시태그는_한_번만_센다() {
+        TrendingHashtagService service = service(200);
+        LocalDateTime now = LocalDateTime.now();
+        service.record(List.of(1L, 1L, 1L), now);
+        use(service, 2, 2, now);
+
+        assertEquals(List.of(2L, 1L), service.getTrending(10));
+    }
+
+    @Test
+    void 후보_수를_넘으면_점수가_가장_낮은_후보를_뺀다() {
+        TrendingHashtagService service = service(3);
+        LocalDateTime now = LocalDateTime.now();
+        use(service, 1, 50, now);
+        use(service, 2, 40, now);
+        use(service, 3, 30, now);
+        for (long id = 100; id < 200; id++) {
+            use(service, id, 1, now);
+        }
+        assertEquals(List.of(1L, 2L, 3L), service.getTrending(10));
+
+        // 나중에 많이 쓰인 해시태그는 후보에 들어간다
+        use(service, 4, 45, now);
+        assertEquals(List.of(1L, 4L, 2L), service.getTrending(10));
+    }
+
+    @Test
+    void 해시태그가_sketch_너비보다_많아도_상위_해시태그를_찾는다() {
+        TrendingHashtagService service = service(200);
+        LocalDateTime now = LocalDateTime.now();
+        Random random = new Random(11);
+
+        // 해시태그 2만 개가 1~5번씩 (sketch 한 행 1024칸에 약 20개씩 겹친다)
+        List<Long> uses = new ArrayList<>();
+        for (long id = 1_000; id < 21_000; id++) {
+            for (int i = 1 + random.nextInt(5); i > 0; i--) {
+                uses.add(id);
+            }
+        }
+        // 상위 10개는 1000, 900, ... 100번
+        for (long id = 1; id <= 10; id++) {
+            for (int i = 0; i < 1100 - id * 100; i++) {
+                uses.add(id);
+            }
+        }
+        Collections.shuffle(uses, random);
+        for (Long id : uses) {
+            service.record(List.of(id), now);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), service.getTrending(10));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package site.linkverse.back.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCursorTest {
+
+    @Test
+    void 인코딩한_커서를_그대로_되돌린다() {
+        for (long position : new long[]{0, 20, Long.MAX_VALUE}) {
+            FeedCursor decoded = FeedCursor.decode(new FeedCursor(1_709_294_400_000L, position).encode());
+
+            assertEquals(1_709_294_400_000L, decoded.getSnapshot());
+            assertEquals(position, decoded.getPosition());
+        }
+        assertTrue(new FeedCursor(Long.MAX_VALUE, Long.MAX_VALUE).encode().matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void 빈_커서는_첫_페이지() {
+        assertNull(FeedCursor.decode(null));
+        assertNull(FeedCursor.decode(""));
+    }
+
+    @Test
+    void 잘못된_커서는_거부한다() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("1709294400000".getBytes());
+        String negative = Base64.getUrlEncoder().encodeToString("1709294400000_-20".getBytes());
+        String pageCursor = new PageCursor(PageCursor.LATEST.getCreatedAt(), 1L).encode();
+
+        for (String cursor : List.of("not base64!", noSeparator, negative, pageCursor)) {
+            RuntimeException error = assertThrows(RuntimeException.class, () -> FeedCursor.decode(cursor));
+            assertEquals("잘못된 커서입니다", error.getMessage());
+        }
+    }
+}
\ No newline at end of file
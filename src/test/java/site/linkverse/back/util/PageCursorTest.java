@@ -0,0 +1,153 @@
+package site.linkverse.back.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+    private static final Comparator<Row> NEWEST_FIRST =
+        Comparator.comparing(Row::createdAt).thenComparingLong(Row::id).reversed();
+
+    private record Row(LocalDateTime createdAt, long id) {
+    }
+
+    @Test
+    void 인코딩한_커서를_그대로_되돌린다() {
+        for (LocalDateTime createdAt : List.of(
+                LocalDateTime.of(2024, 3, 1, 12, 0),
+                LocalDateTime.of(2024, 3, 1, 12, 0, 5),
+                LocalDateTime.of(2024, 3, 1, 12, 0, 5, 123_000_000),
+                LocalDateTime.of(2024, 3, 1, 12, 0, 5, 123_456_789))) {
+            PageCursor decoded = PageCursor.decode(new PageCursor(createdAt, 42L).encode());
+
+            assertEquals(createdAt, decoded.getCreatedAt());
+            assertEquals(42L, decoded.getId());
+        }
+
+        PageCursor latest = PageCursor.decode(PageCursor.LATEST.encode());
+        assertEquals(PageCursor.LATEST.getCreatedAt(), latest.getCreatedAt());
+        assertEquals(Long.MAX_VALUE, latest.getId());
+        assertEquals(0L, PageCursor.decode(PageCursor.EARLIEST.encode()).getId());
+    }
+
+    @Test
+    void 커서는_URL_에_그대로_쓸_수_있는_문자만_쓴다() {
+        String cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 12, 0, 5, 999_999_999), Long.MAX_VALUE).encode();
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    void 빈_커서는_첫_페이지() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+        assertNull(PageCursor.decode("  "));
+    }
+
+    @Test
+    void 잘못된_커서는_거부한다() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2024-03-01T12:00".getBytes());
+        String badId = Base64.getUrlEncoder().encodeToString("2024-03-01T12:00_abc".getBytes());
+
+        for (String cursor : List.of("not base64!", noSeparator, badId)) {
+            RuntimeException error = assertThrows(RuntimeException.class, () -> PageCursor.decode(cursor));
+            assertEquals("잘못된 커서입니다", error.getMessage());
+        }
+    }
+
+    @Test
+    void 요청한_개수보다_적게_오면_마지막_페이지() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Row> rows = List.of(new Row(createdAt, 3), new Row(createdAt, 2));
+
+        assertNull(PageCursor.next(rows, 3, Row::createdAt, Row::id));
+        assertNull(PageCursor.next(List.of(), 0, Row::createdAt, Row::id));
+
+        PageCursor next = PageCursor.decode(PageCursor.next(rows, 2, Row::createdAt, Row::id));
+        assertEquals(createdAt, next.getCreatedAt());
+        assertEquals(2L, next.getId());
+    }
+
+    // 저장소의 seek 조건과 같다: created_at < :createdAt OR (created_at = :createdAt AND id < :id)
+    private static List<Row> seekNewest(List<Row> table, PageCursor cursor, int size) {
+        return table.stream()
+            .filter(row -> row.createdAt().isBefore(cursor.getCreatedAt())
+                || (row.createdAt().equals(cursor.getCreatedAt()) && row.id() < cursor.getId()))
+            .sorted(NEWEST_FIRST)
+            .limit(size)
+            .toList();
+    }
+
+    // 오래된순 (댓글): created_at > :createdAt OR (created_at = :createdAt AND id > :id)
+    private static List<Row> seekOldest(List<Row> table, PageCursor cursor, int size) {
+        return table.stream()
+            .filter(row -> row.createdAt().isAfter(cursor.getCreatedAt())
+                || (row.createdAt().equals(cursor.getCreatedAt()) && row.id() > cursor.getId()))
+            .sorted(NEWEST_FIRST.reversed())
+            .limit(size)
+            .toList();
+    }
+
+    @Test
+    void 같은_시각의_행이_페이지_경계에_걸쳐도_빠지거나_겹치지_않는다() {
+        Random random = new Random(5);
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Row> table = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            // 시각이 10가지뿐이라 같은 시각의 행이 많고, id 순서와 시각 순서가 다르다
+            table.add(new Row(base.plusSeconds(random.nextInt(10)), id));
+        }
+
+        for (int size : new int[]{1, 7, 50, 499, 500, 501}) {
+            List<Row> newest = new ArrayList<>();
+            PageCursor cursor = PageCursor.LATEST;
+            while (true) {
+                List<Row> page = seekNewest(table, cursor, size);
+                newest.addAll(page);
+                String next = PageCursor.next(page, size, Row::createdAt, Row::id);
+                if (next == null) {
+                    break;
+                }
+                cursor = PageCursor.decode(next);
+            }
+            assertEquals(table.stream().sorted(NEWEST_FIRST).toList(), newest, "size=" + size);
+
+            List<Row> oldest = new ArrayList<>();
+            cursor = PageCursor.EARLIEST;
+            while (true) {
+                List<Row> page = seekOldest(table, cursor, size);
+                oldest.addAll(page);
+                String next = PageCursor.next(page, size, Row::createdAt, Row::id);
+                if (next == null) {
+                    break;
+                }
+                cursor = PageCursor.decode(next);
+            }
+            assertEquals(table.stream().sorted(NEWEST_FIRST.reversed()).toList(), oldest, "size=" + size);
+        }
+    }
+
+    @Test
+    void 페이지_사이에_새_행이_생겨도_이미_본_행은_다시_나오지_않는다() {
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Row> table = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            table.add(new Row(base.plusSeconds(id / 3), id));
+        }
+
+        List<Row> first = seekNewest(table, PageCursor.LATEST, 5);
+        PageCursor cursor = PageCursor.decode(PageCursor.next(first, 5, Row::createdAt, Row::id));
+        // 첫 페이지를 본 뒤 더 최신 행이 추가된다 (OFFSET 이었다면 5번째 행이 다시 나온다)
+        table.add(new Row(base.plusSeconds(100), 21));
+        table.add(new Row(base.plusSeconds(100), 22));
+        List<Row> second = seekNewest(table, cursor, 5);
+
+        Set<Long> seen = new HashSet<>();
+        first.forEach(row -> seen.add(row.id()));
+        second.forEach(row -> assertTrue(seen.add(row.id()), "중복: " + row.id()));
+        assertEquals(List.of(15L, 14L, 13L, 12L, 11L), second.stream().map(Row::id).toList());
+    }
+}
\ No newline at end of file